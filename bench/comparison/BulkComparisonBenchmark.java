@@ -0,0 +1,75 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.index.OpenHashIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link BulkComparisonTest}. The hash index variants include building the index, since that's what a bulk comparison costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class BulkComparisonBenchmark {
+
+    /**
+     * How many items each compared list has, the biggest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+    public int size;
+
+    /**
+     * Which class to use for list elements, see {@link LevelOneClass} and {@link LevelTwoClass}.
+     */
+    @Param({ "LevelOneClass", "LevelTwoClass" })
+    public String type;
+
+    private List<LevelOneClass> list1;
+    private List<LevelOneClass> list2;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        Class<? extends LevelOneClass> clazz = "LevelTwoClass".equals(type) ? LevelTwoClass.class : LevelOneClass.class;
+        list1 = ListGenerator.createCloneables(size, clazz, 42L);
+        list2 = BulkComparisonTest.createShuffledMatches(list1, clazz);
+    }
+
+    @Benchmark
+    public void positional(Blackhole blackhole) {
+        blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_EQUALS));
+    }
+
+    @Benchmark
+    public void hashSet(Blackhole blackhole) {
+        blackhole.consume(BulkComparisonTest.countContained(list1, new HashSet<>(list2)));
+    }
+
+    @Benchmark
+    public void openAddressing(Blackhole blackhole) {
+        blackhole.consume(BulkComparisonTest.countContained(list1, new OpenHashIndex<>(list2)));
+    }
+
+}
@@ -0,0 +1,79 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link ClassComparisonTest}. Both lists are prepared once per trial exactly as the test does it, and the equality count of
+ * each comparison method is consumed by a {@link Blackhole}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ClassComparisonBenchmark {
+
+    /**
+     * How many items each compared list has, the biggest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+    public int size;
+
+    private List<? extends LevelOneClass> list1;
+    private List<? extends LevelOneClass> list2;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        list1 = ClassComparisonTest.createMixedList(size);
+        list2 = new ArrayList<>(list1);
+        Collections.shuffle(list2.subList(0, (int) Math.floor(0.4f * list2.size())));
+    }
+
+    @Benchmark
+    public void identical(Blackhole blackhole) {
+        blackhole.consume(ClassComparisonTest.compareClassesInList(list1, list2, ClassComparisonTest.METHOD_IDENTICAL));
+    }
+
+    @Benchmark
+    public void equals(Blackhole blackhole) {
+        blackhole.consume(ClassComparisonTest.compareClassesInList(list1, list2, ClassComparisonTest.METHOD_EQUALS));
+    }
+
+    @Benchmark
+    public void equalsName(Blackhole blackhole) {
+        blackhole.consume(ClassComparisonTest.compareClassesInList(list1, list2, ClassComparisonTest.METHOD_EQUALS_NAME));
+    }
+
+    @Benchmark
+    public void instanceOf(Blackhole blackhole) {
+        blackhole.consume(ClassComparisonTest.compareClassesInList(list1, list2, ClassComparisonTest.METHOD_INSTANCE_OF));
+    }
+
+    @Benchmark
+    public void assignableFrom(Blackhole blackhole) {
+        blackhole.consume(ClassComparisonTest.compareClassesInList(list1, list2, ClassComparisonTest.METHOD_ASSIGNABLE_FROM));
+    }
+
+}
@@ -0,0 +1,121 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares three ways of dispatching to the same comparison in {@link ClassComparisonTest}: the original loop switching over the method
+ * for each element ({@code switch}), the strategy's own loop from {@link ComparisonStrategy#compareList(List, List)} where the call is
+ * monomorphic ({@code monomorphic}), and the one loop shared by all strategies in
+ * {@link ComparisonStrategies#compareListShared(List, List, ComparisonStrategy)} which is first run with every strategy from
+ * {@link ComparisonStrategies#CLASS_COMPARISONS} so that the call becomes megamorphic ({@code megamorphic}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ClassComparisonDispatchBenchmark {
+
+    /**
+     * How many items each compared list has, the biggest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+    public int size;
+
+    /**
+     * Key of the comparison in {@link ComparisonStrategies#CLASS_COMPARISONS}.
+     */
+    @Param({ "identical", "equals", "equalsName", "instanceOf", "assignableFrom" })
+    public String comparison;
+
+    /**
+     * How the comparison is dispatched, see the class description.
+     */
+    @Param({ "switch", "monomorphic", "megamorphic" })
+    public String dispatch;
+
+    private List<? extends LevelOneClass> list1;
+    private List<? extends LevelOneClass> list2;
+    private ComparisonStrategy<LevelOneClass> strategy;
+    private int method;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        list1 = ClassComparisonTest.createMixedList(size);
+        list2 = new ArrayList<>(list1);
+        Collections.shuffle(list2.subList(0, (int) Math.floor(0.4f * list2.size())));
+        Map<String, ComparisonStrategy<LevelOneClass>> strategies = ComparisonStrategies.CLASS_COMPARISONS;
+        strategy = strategies.get(comparison);
+        method = getMethod(comparison);
+        if ("megamorphic".equals(dispatch)) {
+            // pollute the profile of the shared loop with all strategies, a few times so that it gets compiled that way
+            for (int i = 0; i < 10; i++) {
+                for (ComparisonStrategy<LevelOneClass> other : strategies.values()) {
+                    ComparisonStrategies.compareListShared(list1, list2, other);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void compare(Blackhole blackhole) {
+        switch (dispatch) {
+            case "switch":
+                blackhole.consume(ClassComparisonTest.compareClassesInList(list1, list2, method));
+                break;
+            case "monomorphic":
+                blackhole.consume(strategy.compareList(list1, list2));
+                break;
+            default:
+                blackhole.consume(ComparisonStrategies.compareListShared(list1, list2, strategy));
+                break;
+        }
+    }
+
+    /**
+     * Finds the method {@link ClassComparisonTest#compareClassesInList(List, List, int)} switches to for the given comparison.
+     *
+     * @param comparison Key of the comparison in {@link ComparisonStrategies#CLASS_COMPARISONS}
+     * @return One of the {@code METHOD_*} constants of {@link ClassComparisonTest}
+     */
+    private static int getMethod(String comparison) {
+        switch (comparison) {
+            case "identical":
+                return ClassComparisonTest.METHOD_IDENTICAL;
+            case "equals":
+                return ClassComparisonTest.METHOD_EQUALS;
+            case "equalsName":
+                return ClassComparisonTest.METHOD_EQUALS_NAME;
+            case "instanceOf":
+                return ClassComparisonTest.METHOD_INSTANCE_OF;
+            case "assignableFrom":
+                return ClassComparisonTest.METHOD_ASSIGNABLE_FROM;
+            default:
+                throw new IllegalArgumentException("Unknown comparison: " + comparison);
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+
+import helpers.ListGenerator;
+import helpers.cloning.CloneStrategy;
+import helpers.cloning.Cloner;
+import helpers.cloning.CopyConstructorCloneStrategy;
+import helpers.cloning.LambdaCloneStrategy;
+import helpers.cloning.MethodHandleCloneStrategy;
+import helpers.cloning.ReflectionCloneStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link CloneStrategy} implementations, sequential and parallel, with the reflective
+ * {@link ListGenerator#deepCloneList(List)}. The mixed dataset is the shuffled {@code LevelOneClass}/{@code LevelTwoClass} list from
+ * {@link ClassComparisonTest}, which {@link ListGenerator#deepCloneList(List)} can't handle, so the baseline only runs on the homogeneous
+ * dataset.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class CloneBenchmark {
+
+    /**
+     * A list of {@link LevelOneClass} objects only.
+     */
+    @State(Scope.Benchmark)
+    public static class Homogeneous {
+
+        @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+        public int size;
+
+        List<LevelOneClass> list;
+
+        @Setup
+        public void setUp() throws InstantiationException, IllegalAccessException {
+            list = ListGenerator.createCloneables(size, LevelOneClass.class, 42L);
+        }
+
+    }
+
+    /**
+     * A homogeneous or a mixed list, cloned with one of the strategies.
+     */
+    @State(Scope.Benchmark)
+    public static class Strategy {
+
+        @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+        public int size;
+
+        @Param({ "homogeneous", "mixed" })
+        public String dataset;
+
+        @Param({ "reflection", "methodHandle", "lambda", "copyConstructor" })
+        public String strategy;
+
+        List<LevelOneClass> list;
+        CloneStrategy cloneStrategy;
+
+        @Setup
+        public void setUp() throws InstantiationException, IllegalAccessException {
+            list = "mixed".equals(dataset) ? ClassComparisonTest.createMixedList(size)
+                    : ListGenerator.createCloneables(size, LevelOneClass.class, 42L);
+            switch (strategy) {
+                case "reflection":
+                    cloneStrategy = new ReflectionCloneStrategy();
+                    break;
+                case "methodHandle":
+                    cloneStrategy = new MethodHandleCloneStrategy();
+                    break;
+                case "lambda":
+                    cloneStrategy = new LambdaCloneStrategy();
+                    break;
+                case "copyConstructor":
+                    cloneStrategy = new CopyConstructorCloneStrategy();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown strategy " + strategy);
+            }
+        }
+
+    }
+
+    @Benchmark
+    public List<LevelOneClass> deepCloneList(Homogeneous state) {
+        return ListGenerator.deepCloneList(state.list);
+    }
+
+    @Benchmark
+    public List<LevelOneClass> cloneList(Strategy state) {
+        return Cloner.cloneList(state.list, state.cloneStrategy);
+    }
+
+    @Benchmark
+    public List<LevelOneClass> cloneListParallel(Strategy state) {
+        return Cloner.cloneListParallel(state.list, state.cloneStrategy);
+    }
+
+}
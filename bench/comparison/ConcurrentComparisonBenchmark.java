@@ -0,0 +1,107 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.counters.SharedTallies;
+import helpers.counters.SharedTally;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link ConcurrentComparisonTest}. Each tally, thread count and dataset runs in its own fork, so the recorder calls in the
+ * worker loop stay monomorphic. Speedup is the score of {@link #localCounter(Blackhole)} divided by the score of
+ * {@link #sharedTally(Blackhole)} with the same dataset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ConcurrentComparisonBenchmark {
+
+    /**
+     * Which tally to count into, a key of {@link SharedTallies#all(int)}.
+     */
+    @Param({ "atomicInteger", "longAdder", "packedSlots", "paddedSlots", "workerLocal" })
+    public String tally;
+
+    /**
+     * How many threads compare. Override with {@code -p threads=...} to match the machine.
+     */
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    /**
+     * Whether to compare classes (like {@link ClassComparisonTest}) or objects (like {@link InheritanceObjectsComparisonTest}).
+     */
+    @Param({ "classes", "objects" })
+    public String dataset;
+
+    private List<LevelOneClass> list1;
+    private List<LevelOneClass> list2;
+    private ComparisonStrategy<LevelOneClass> strategy;
+    private SharedTally sharedTally;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        if ("classes".equals(dataset)) {
+            list1 = ClassComparisonTest.createMixedList(ListGenerator.DEFAULT_LIST_SIZE);
+            list2 = new ArrayList<>(list1);
+            Collections.shuffle(list2.subList(0, (int) Math.floor(0.4f * list2.size())));
+            strategy = ComparisonStrategies.CLASS_COMPARISONS.get("identical");
+        } else {
+            list1 = ListGenerator.createCloneables(ListGenerator.DEFAULT_LIST_SIZE, LevelTwoClass.class);
+            list2 = ListGenerator.deepCloneList(list1);
+            Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+            strategy = ComparisonStrategies.OBJECT_COMPARISONS.get("equals");
+        }
+        sharedTally = SharedTallies.all(threads).get(tally);
+        if (sharedTally == null) {
+            throw new IllegalArgumentException("Unknown tally: " + tally);
+        }
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public void localCounter(Blackhole blackhole) {
+        blackhole.consume(strategy.compareList(list1, list2));
+    }
+
+    @Benchmark
+    public void sharedTally(Blackhole blackhole) throws InterruptedException, ExecutionException {
+        sharedTally.reset();
+        ConcurrentComparison.run(executor, threads, list1, list2, strategy, sharedTally);
+        blackhole.consume(sharedTally.getHits());
+    }
+
+}
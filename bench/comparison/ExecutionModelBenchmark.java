@@ -0,0 +1,87 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link ExecutionModelTest}: the comparison of {@link ListGenerator#DEFAULT_LIST_SIZE} pairs is split into batches and run on
+ * each {@link ExecutionModel}, for all batch sizes and {@link BatchComparison.Blocking} modes. Virtual threads need Java 21 or newer, on
+ * older JVMs their setup fails and JMH skips them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ExecutionModelBenchmark {
+
+    /**
+     * Name of the {@link ExecutionModel} to run the batches on.
+     */
+    @Param({ "PLATFORM", "FORK_JOIN", "VIRTUAL" })
+    public String model;
+
+    /**
+     * How many pairs each batch compares.
+     */
+    @Param({ "256", "4096", "65536" })
+    public int batchSize;
+
+    /**
+     * Name of the {@link BatchComparison.Blocking} mode, what each batch does besides comparing.
+     */
+    @Param({ "NONE", "SLEEP", "SYNCHRONIZED_SLEEP" })
+    public String blocking;
+
+    private BatchComparison.Blocking blockingMode;
+    private List<LevelOneClass> list1;
+    private List<LevelOneClass> list2;
+    private ComparisonStrategy<LevelOneClass> strategy;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        list1 = ListGenerator.createCloneables(ListGenerator.DEFAULT_LIST_SIZE, LevelTwoClass.class);
+        list2 = ListGenerator.deepCloneList(list1);
+        Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+        strategy = ComparisonStrategies.OBJECT_COMPARISONS.get("equals");
+        blockingMode = BatchComparison.Blocking.valueOf(blocking);
+        executor = ExecutionModel.valueOf(model).create(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public void compareInBatches(Blackhole blackhole) throws InterruptedException, ExecutionException {
+        BatchComparison run = BatchComparison.run(executor, list1, list2, strategy, batchSize, blockingMode);
+        blackhole.consume(run.getEqualities());
+    }
+
+}
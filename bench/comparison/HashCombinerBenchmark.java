@@ -0,0 +1,90 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.hashing.HashCombiner;
+import helpers.hashing.HashCombiners;
+import helpers.hashing.HashedKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of the measured part of {@link HashQualityTest}: hashing throughput of each {@link HashCombiner} against the speed of
+ * {@link HashMap} lookups with keys hashed by it. Each combiner runs in its own fork, so {@link LevelOneClass#hashWith(HashCombiner)} only
+ * ever sees one combiner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class HashCombinerBenchmark {
+
+    /**
+     * Which combiner to use, a key of {@link HashCombiners#ALL}.
+     */
+    @Param({ "product", "multiply31", "objectsHash", "murmur3", "xxHash32" })
+    public String combiner;
+
+    /**
+     * Which class to use for list elements, see {@link LevelOneClass} and {@link LevelTwoClass}.
+     */
+    @Param({ "LevelOneClass", "LevelTwoClass" })
+    public String type;
+
+    private List<LevelOneClass> list1;
+    private List<LevelOneClass> list2;
+    private HashCombiner hashCombiner;
+    private Map<HashedKey<LevelOneClass>, Boolean> map;
+    private List<HashedKey<LevelOneClass>> keys;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        hashCombiner = HashCombiners.ALL.get(combiner);
+        if (hashCombiner == null) {
+            throw new IllegalArgumentException("Unknown combiner: " + combiner);
+        }
+        Class<? extends LevelOneClass> clazz = "LevelTwoClass".equals(type) ? LevelTwoClass.class : LevelOneClass.class;
+        list1 = ListGenerator.createCloneables(ListGenerator.DEFAULT_LIST_SIZE, clazz);
+        list2 = ListGenerator.deepCloneList(list1);
+        Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+
+        map = new HashMap<>();
+        for (HashedKey<LevelOneClass> key : HashQualityTest.createKeys(list1, hashCombiner)) {
+            map.put(key, Boolean.TRUE);
+        }
+        keys = HashQualityTest.createKeys(list2, hashCombiner);
+    }
+
+    @Benchmark
+    public void hash(Blackhole blackhole) {
+        blackhole.consume(HashQualityTest.countHashEqualities(list1, list2, hashCombiner));
+    }
+
+    @Benchmark
+    public void mapLookup(Blackhole blackhole) {
+        blackhole.consume(HashQualityTest.countFound(map, keys));
+    }
+
+}
@@ -0,0 +1,97 @@
+
+package comparison;
+
+import comparison.ImmutableObjectsComparisonTest.ImmutableLevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.Interner;
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link ImmutableObjectsComparisonTest}. The current classes go through
+ * {@link InheritanceObjectsComparisonTest#compareList(List, List, int)}, and the immutable ones through the same kind of loop. Interning
+ * happens once per trial, so {@link #internedEquals(Blackhole)} only measures the comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ImmutableObjectsComparisonBenchmark {
+
+    /**
+     * Which class to use for list elements, see {@link LevelOneClass} and {@link LevelTwoClass}.
+     */
+    @Param({ "LevelOneClass", "LevelTwoClass" })
+    public String type;
+
+    /**
+     * How many pairs are equal, see {@link ImmutableObjectsComparisonTest.Equality}.
+     */
+    @Param({ "HIGH", "LOW" })
+    public String equality;
+
+    private List<LevelOneClass> list1;
+    private List<LevelOneClass> list2;
+    private List<ImmutableLevelOneClass> immutable1;
+    private List<ImmutableLevelOneClass> immutable2;
+    private List<ImmutableLevelOneClass> interned1;
+    private List<ImmutableLevelOneClass> interned2;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        Class<? extends LevelOneClass> clazz = "LevelTwoClass".equals(type) ? LevelTwoClass.class : LevelOneClass.class;
+        list1 = ListGenerator.createCloneables(ListGenerator.DEFAULT_LIST_SIZE, clazz);
+        list2 = ImmutableObjectsComparisonTest.copyStrings(list1);
+        ImmutableObjectsComparisonTest.Equality.valueOf(equality).shuffle(list2);
+        immutable1 = ImmutableObjectsComparisonTest.toImmutable(list1);
+        immutable2 = ImmutableObjectsComparisonTest.toImmutable(list2);
+        Interner<ImmutableLevelOneClass> interner = new Interner<>();
+        interned1 = ImmutableObjectsComparisonTest.intern(immutable1, interner);
+        interned2 = ImmutableObjectsComparisonTest.intern(immutable2, interner);
+    }
+
+    @Benchmark
+    public void equals(Blackhole blackhole) {
+        blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_EQUALS));
+    }
+
+    @Benchmark
+    public void hash(Blackhole blackhole) {
+        blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_HASH));
+    }
+
+    @Benchmark
+    public void immutableEquals(Blackhole blackhole) {
+        blackhole.consume(ImmutableObjectsComparisonTest.compareImmutableList(immutable1, immutable2));
+    }
+
+    @Benchmark
+    public void immutableHash(Blackhole blackhole) {
+        blackhole.consume(ImmutableObjectsComparisonTest.compareImmutableHashes(immutable1, immutable2));
+    }
+
+    @Benchmark
+    public void internedEquals(Blackhole blackhole) {
+        blackhole.consume(ImmutableObjectsComparisonTest.compareImmutableList(interned1, interned2));
+    }
+
+}
@@ -0,0 +1,101 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link InheritanceObjectsComparisonTest}. Both lists are prepared once per trial exactly as the test does it, and the
+ * equality count of each comparison method is consumed by a {@link Blackhole}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class InheritanceObjectsComparisonBenchmark {
+
+    /**
+     * How many items each compared list has, the biggest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+    public int size;
+
+    /**
+     * Which class to use for list elements, see {@link LevelOneClass} and {@link LevelTwoClass}.
+     */
+    @Param({ "LevelOneClass", "LevelTwoClass" })
+    public String type;
+
+    private List<LevelOneClass> list1;
+    private List<LevelOneClass> list2;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        Class<? extends LevelOneClass> clazz = "LevelTwoClass".equals(type) ? LevelTwoClass.class : LevelOneClass.class;
+        list1 = ListGenerator.createCloneables(size, clazz);
+        list2 = ListGenerator.deepCloneList(list1);
+        Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+    }
+
+    @Benchmark
+    public void equals(Blackhole blackhole) {
+        blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_EQUALS));
+    }
+
+    @Benchmark
+    public void hash(Blackhole blackhole) {
+        blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_HASH));
+    }
+
+    @Benchmark
+    public void superEquals(Blackhole blackhole) {
+        int equalities = InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_SUPER_EQUALS);
+        blackhole.consume(equalities);
+    }
+
+    @Benchmark
+    public void superHash(Blackhole blackhole) {
+        blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_SUPER_HASH));
+    }
+
+    @Benchmark
+    public void reflection(Blackhole blackhole) {
+        blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_REFLECTION));
+    }
+
+    @Benchmark
+    public void reflectionCached(Blackhole blackhole) {
+        int equalities = InheritanceObjectsComparisonTest.compareList(list1, list2,
+                InheritanceObjectsComparisonTest.METHOD_REFLECTION_CACHED);
+        blackhole.consume(equalities);
+    }
+
+    @Benchmark
+    public void reflectionHash(Blackhole blackhole) {
+        int equalities = InheritanceObjectsComparisonTest.compareList(list1, list2,
+                InheritanceObjectsComparisonTest.METHOD_REFLECTION_HASH);
+        blackhole.consume(equalities);
+    }
+
+}
@@ -0,0 +1,125 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares three ways of dispatching to the same comparison in {@link InheritanceObjectsComparisonTest}: the original loop switching
+ * over the method for each element ({@code switch}), the strategy's own loop from {@link ComparisonStrategy#compareList(List, List)}
+ * where the call is monomorphic ({@code monomorphic}), and the one loop shared by all strategies in
+ * {@link ComparisonStrategies#compareListShared(List, List, ComparisonStrategy)} which is first run with every strategy from
+ * {@link ComparisonStrategies#OBJECT_COMPARISONS} so that the call becomes megamorphic ({@code megamorphic}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ObjectComparisonDispatchBenchmark {
+
+    /**
+     * How many items each compared list has, the biggest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+    public int size;
+
+    /**
+     * Key of the comparison in {@link ComparisonStrategies#OBJECT_COMPARISONS}.
+     */
+    @Param({ "equals", "hash", "superEquals", "superHash", "reflection", "reflectionCached", "reflectionHash" })
+    public String comparison;
+
+    /**
+     * How the comparison is dispatched, see the class description.
+     */
+    @Param({ "switch", "monomorphic", "megamorphic" })
+    public String dispatch;
+
+    private List<LevelOneClass> list1;
+    private List<LevelOneClass> list2;
+    private ComparisonStrategy<LevelOneClass> strategy;
+    private int method;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        list1 = ListGenerator.createCloneables(size, LevelTwoClass.class);
+        list2 = ListGenerator.deepCloneList(list1);
+        Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+        Map<String, ComparisonStrategy<LevelOneClass>> strategies = ComparisonStrategies.OBJECT_COMPARISONS;
+        strategy = strategies.get(comparison);
+        method = getMethod(comparison);
+        if ("megamorphic".equals(dispatch)) {
+            // pollute the profile of the shared loop with all strategies, a few times so that it gets compiled that way
+            for (int i = 0; i < 10; i++) {
+                for (ComparisonStrategy<LevelOneClass> other : strategies.values()) {
+                    ComparisonStrategies.compareListShared(list1, list2, other);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void compare(Blackhole blackhole) {
+        switch (dispatch) {
+            case "switch":
+                blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, method));
+                break;
+            case "monomorphic":
+                blackhole.consume(strategy.compareList(list1, list2));
+                break;
+            default:
+                blackhole.consume(ComparisonStrategies.compareListShared(list1, list2, strategy));
+                break;
+        }
+    }
+
+    /**
+     * Finds the method {@link InheritanceObjectsComparisonTest#compareList(List, List, int)} switches to for the given comparison.
+     *
+     * @param comparison Key of the comparison in {@link ComparisonStrategies#OBJECT_COMPARISONS}
+     * @return One of the {@code METHOD_*} constants of {@link InheritanceObjectsComparisonTest}
+     */
+    private static int getMethod(String comparison) {
+        switch (comparison) {
+            case "equals":
+                return InheritanceObjectsComparisonTest.METHOD_EQUALS;
+            case "hash":
+                return InheritanceObjectsComparisonTest.METHOD_HASH;
+            case "superEquals":
+                return InheritanceObjectsComparisonTest.METHOD_SUPER_EQUALS;
+            case "superHash":
+                return InheritanceObjectsComparisonTest.METHOD_SUPER_HASH;
+            case "reflection":
+                return InheritanceObjectsComparisonTest.METHOD_REFLECTION;
+            case "reflectionCached":
+                return InheritanceObjectsComparisonTest.METHOD_REFLECTION_CACHED;
+            case "reflectionHash":
+                return InheritanceObjectsComparisonTest.METHOD_REFLECTION_HASH;
+            default:
+                throw new IllegalArgumentException("Unknown comparison: " + comparison);
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link OffHeapComparisonTest}: compares the object graph lists with {@link OffHeapRecordStore}s holding the same data. The
+ * lists are only kept when comparing object graphs, so each trial retains either the object graph or the off-heap copy. Run it with
+ * {@code -prof gc} to see the GC time and allocation rate of both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class OffHeapComparisonBenchmark {
+
+    /**
+     * How many items each compared list has, the biggest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+    public int size;
+
+    /**
+     * Simple name of the list elements' class.
+     */
+    @Param({ "LevelOneClass", "LevelTwoClass" })
+    public String type;
+
+    /**
+     * Where the compared data lives, {@code objects} for the lists and {@code offHeap} for the stores.
+     */
+    @Param({ "objects", "offHeap" })
+    public String layout;
+
+    private List<LevelOneClass> list1;
+    private List<LevelOneClass> list2;
+    private OffHeapRecordStore store1;
+    private OffHeapRecordStore store2;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        Class<? extends LevelOneClass> clazz = "LevelTwoClass".equals(type) ? LevelTwoClass.class : LevelOneClass.class;
+        List<LevelOneClass> original = ListGenerator.createCloneables(size, clazz);
+        List<LevelOneClass> copy = ListGenerator.deepCloneList(original);
+        Collections.shuffle(copy.subList(0, (int) Math.floor(0.3f * copy.size())));
+        if ("offHeap".equals(layout)) {
+            store1 = OffHeapRecordStore.of(original);
+            store2 = OffHeapRecordStore.of(copy);
+        } else {
+            list1 = original;
+            list2 = copy;
+        }
+    }
+
+    @Benchmark
+    public void equals(Blackhole blackhole) {
+        if (store1 != null) {
+            blackhole.consume(OffHeapComparisonTest.compareEquals(store1, store2));
+        } else {
+            blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_EQUALS));
+        }
+    }
+
+    @Benchmark
+    public void hash(Blackhole blackhole) {
+        if (store1 != null) {
+            blackhole.consume(OffHeapComparisonTest.compareHash(store1, store2));
+        } else {
+            blackhole.consume(InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_HASH));
+        }
+    }
+
+}
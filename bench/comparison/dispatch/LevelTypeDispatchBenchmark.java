@@ -0,0 +1,68 @@
+
+package comparison.dispatch;
+
+import comparison.ClassComparisonTest;
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.dispatch.TypeDispatcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each type dispatcher over the {@link LevelOneClass}/{@link LevelTwoClass} mixed list from {@link ClassComparisonTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class LevelTypeDispatchBenchmark {
+
+    /**
+     * How many items the dispatched list has, the biggest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+    public int size;
+
+    /**
+     * Key of the dispatcher in {@link TypeDispatchTest#createLevelDispatchers()}.
+     */
+    @Param({ "classValue", "identityMap", "linearProbe", "instanceOf" })
+    public String dispatcher;
+
+    private List<LevelOneClass> list;
+    private int[] expected;
+    private TypeDispatcher typeDispatcher;
+
+    @Setup
+    public void setUp() throws InstantiationException, IllegalAccessException {
+        list = ClassComparisonTest.createMixedList(size);
+        expected = new int[size];
+        for (int i = 0; i < size; i++) {
+            expected[i] = list.get(i).getClass() == LevelTwoClass.class ? 2 : 1;
+        }
+        typeDispatcher = TypeDispatchTest.createLevelDispatchers().get(dispatcher);
+    }
+
+    @Benchmark
+    public int dispatch() {
+        return TypeDispatchTest.countMatches(typeDispatcher, list, expected);
+    }
+
+}
@@ -0,0 +1,79 @@
+
+package comparison.dispatch;
+
+import helpers.ListGenerator;
+import helpers.dispatch.TypeDispatcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each type dispatcher over a shuffled list of {@link Node}s, with a growing number of classes in the list. With
+ * {@link NodeShape#WIDE}, that means more direct subclasses, and the call sites become megamorphic. With {@link NodeShape#DEEP}, it means
+ * deeper classes, and {@code instanceof} checks against the deepest ones can't use the constant-time subtype check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class TypeDispatchBenchmark {
+
+    /**
+     * How many items the dispatched list has.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10 })
+    public int size;
+
+    /**
+     * Name of the {@link NodeShape}.
+     */
+    @Param({ "WIDE", "DEEP" })
+    public String shape;
+
+    /**
+     * How many classes of the shape are in the list.
+     */
+    @Param({ "1", "2", "4", "8", "10" })
+    public int types;
+
+    /**
+     * Key of the dispatcher in {@link NodeShape#createDispatchers()}.
+     */
+    @Param({ "classValue", "identityMap", "linearProbe", "sealedSwitch", "visitor" })
+    public String dispatcher;
+
+    private List<Node> list;
+    private int[] expected;
+    private TypeDispatcher typeDispatcher;
+
+    @Setup
+    public void setUp() {
+        NodeShape nodeShape = NodeShape.valueOf(shape);
+        list = nodeShape.createList(size, types, 42L);
+        expected = new int[size];
+        for (int i = 0; i < size; i++) {
+            expected[i] = list.get(i).getTypeId();
+        }
+        typeDispatcher = nodeShape.createDispatchers().get(dispatcher);
+    }
+
+    @Benchmark
+    public int dispatch() {
+        return TypeDispatchTest.countMatches(typeDispatcher, list, expected);
+    }
+
+}
@@ -0,0 +1,48 @@
+
+package helpers;
+
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to generate the datasets used by the comparison tests, sequentially with the shared {@link Math#random()} and
+ * in parallel with seeded, per-chunk random generators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class GenerationBenchmark {
+
+    /**
+     * How many items to generate, the smallest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE, "" + ListGenerator.DEFAULT_LIST_SIZE * 10 })
+    public int size;
+
+    @Benchmark
+    public List<LevelTwoClass> sequential() throws InstantiationException, IllegalAccessException {
+        return ListGenerator.createCloneables(size, LevelTwoClass.class);
+    }
+
+    @Benchmark
+    public List<LevelTwoClass> parallel() throws InstantiationException, IllegalAccessException {
+        return ListGenerator.createCloneablesParallel(size, LevelTwoClass.class, 42L);
+    }
+
+}
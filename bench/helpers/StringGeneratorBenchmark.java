@@ -0,0 +1,82 @@
+
+package helpers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ways of generating many random {@link String}s: one by one with the shared {@link Math#random()}, one by one with a
+ * {@link SplittableRandom}, in bulk from one Latin-1 buffer, and filling a reused buffer without creating any {@link String}s. Run it with
+ * {@code -prof gc} to see the allocation rate of each one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class StringGeneratorBenchmark {
+
+    /**
+     * How many strings to generate per invocation.
+     */
+    @Param({ "10000" })
+    public int count;
+
+    /**
+     * How long each string is.
+     */
+    @Param({ "8", "20", "64" })
+    public int length;
+
+    private SplittableRandom random;
+    private byte[] buffer;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42L);
+        buffer = new byte[count * length];
+    }
+
+    @Benchmark
+    public String[] mathRandom() {
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = StringGenerator.create(length);
+        }
+        return strings;
+    }
+
+    @Benchmark
+    public String[] splittableRandom() {
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = StringGenerator.create(length, random);
+        }
+        return strings;
+    }
+
+    @Benchmark
+    public String[] bulk() {
+        return StringGenerator.createBulk(count, length, random);
+    }
+
+    @Benchmark
+    public byte[] fill() {
+        StringGenerator.fill(buffer, 0, buffer.length, random);
+        return buffer;
+    }
+
+}
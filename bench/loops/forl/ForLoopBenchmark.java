@@ -0,0 +1,80 @@
+
+package loops.forl;
+
+import helpers.FlatStringDataset;
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link ForLoopTest}. Each loop style runs through the same {@link String} dataset, and the character count is consumed by a
+ * {@link Blackhole} so that the JIT can't eliminate the loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ForLoopBenchmark {
+
+    /**
+     * How many items to pass to {@link ListGenerator#createStrings(int)}, the biggest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 100, "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+    public int size;
+
+    private List<String> list;
+    private FlatStringDataset flat;
+
+    @Setup
+    public void setUp() {
+        list = ListGenerator.createStrings(size);
+        flat = ListGenerator.createFlatStrings(size);
+    }
+
+    @Benchmark
+    public void loopWithI(Blackhole blackhole) {
+        blackhole.consume(ForLoopTest.loopWithI(list));
+    }
+
+    @Benchmark
+    public void loopWithISize(Blackhole blackhole) {
+        blackhole.consume(ForLoopTest.loopWithISize(list));
+    }
+
+    @Benchmark
+    public void loopForEach(Blackhole blackhole) {
+        blackhole.consume(ForLoopTest.loopForEach(list));
+    }
+
+    @Benchmark
+    public void loopFlatWithISize(Blackhole blackhole) {
+        blackhole.consume(ForLoopTest.loopFlatWithISize(flat));
+    }
+
+    @Benchmark
+    public void loopFlatForEach(Blackhole blackhole) {
+        blackhole.consume(ForLoopTest.loopFlatForEach(flat));
+    }
+
+    @Benchmark
+    public void loopFlatSpliterator(Blackhole blackhole) {
+        blackhole.consume(ForLoopTest.loopFlatSpliterator(flat));
+    }
+
+}
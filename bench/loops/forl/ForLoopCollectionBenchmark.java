@@ -0,0 +1,75 @@
+
+package loops.forl;
+
+import helpers.CollectionKind;
+import helpers.CollectionLoops;
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loops over every {@link CollectionKind} with each traversal {@link ForLoopTest} has for it. Every combination runs in its own
+ * fork, so the shared loop methods only ever see one collection class.
+ * <p>
+ * Index-based loops over a {@link java.util.LinkedList} are O(n^2), so they are left out by default. They can still be measured with
+ * {@code -p loop=LINKED_LIST/indexed}, ideally with a small {@code size}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ForLoopCollectionBenchmark {
+
+    /**
+     * Name of the {@link CollectionKind} and the traversal, separated with a slash.
+     */
+    @Param({
+            "ARRAY/indexed", "ARRAY/forEach", "ARRAY/stream",
+            "ARRAY_LIST/indexed", "ARRAY_LIST/iterator", "ARRAY_LIST/forEach", "ARRAY_LIST/forEachConsumer", "ARRAY_LIST/stream",
+            "LINKED_LIST/iterator", "LINKED_LIST/forEach", "LINKED_LIST/forEachConsumer", "LINKED_LIST/stream",
+            "ARRAY_DEQUE/iterator", "ARRAY_DEQUE/forEach", "ARRAY_DEQUE/forEachConsumer", "ARRAY_DEQUE/stream",
+            "COPY_ON_WRITE_LIST/indexed", "COPY_ON_WRITE_LIST/iterator", "COPY_ON_WRITE_LIST/forEach",
+            "COPY_ON_WRITE_LIST/forEachConsumer", "COPY_ON_WRITE_LIST/stream",
+            "HASH_MAP_VALUES/iterator", "HASH_MAP_VALUES/forEach", "HASH_MAP_VALUES/forEachConsumer", "HASH_MAP_VALUES/stream",
+            "TREE_MAP_ENTRIES/iterator", "TREE_MAP_ENTRIES/forEach", "TREE_MAP_ENTRIES/forEachConsumer", "TREE_MAP_ENTRIES/stream"
+    })
+    public String loop;
+
+    /**
+     * How many items to pass to the {@link ListGenerator} builders.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10 })
+    public int size;
+
+    private CollectionLoops.Loop collectionLoop;
+
+    @Setup
+    public void setUp() {
+        String[] parts = loop.split("/");
+        collectionLoop = ForLoopTest.createCollectionLoops(CollectionKind.valueOf(parts[0]), size).get(parts[1]);
+        if (collectionLoop == null) {
+            throw new IllegalArgumentException("No " + parts[1] + " loop for " + parts[0]);
+        }
+    }
+
+    @Benchmark
+    public void traverse(Blackhole blackhole) {
+        blackhole.consume(collectionLoop.run());
+    }
+
+}
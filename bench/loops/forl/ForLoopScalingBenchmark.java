@@ -0,0 +1,60 @@
+
+package loops.forl;
+
+import helpers.ScalingSweep;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Same datasets as the scaling sweep of {@link ForLoopTest} (see {@link ScalingSweep}), one {@link ScalingSweep.Layout} and size per fork.
+ * Scores are per pass through the whole dataset, so divide them by {@code size} to compare sizes. The default sizes fit into L1, L2, L3
+ * and DRAM on most machines, and the biggest one still fits into the 2GB heap with distinct strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ForLoopScalingBenchmark {
+
+    /**
+     * Name of the {@link ScalingSweep.Layout}.
+     */
+    @Param({ "FLAT", "ARRAY", "SHARED", "DISTINCT", "SCATTERED" })
+    public String layout;
+
+    /**
+     * How many elements the dataset has.
+     */
+    @Param({ "1024", "32768", "1048576", "16777216" })
+    public int size;
+
+    private IntSupplier pass;
+
+    @Setup
+    public void setUp() {
+        pass = ScalingSweep.createPass(ScalingSweep.Layout.valueOf(layout), size, ForLoopTest::loopFlatWithISize,
+                ForLoopTest::loopArrayWithI, ForLoopTest::loopWithISize);
+    }
+
+    @Benchmark
+    public void loop(Blackhole blackhole) {
+        blackhole.consume(pass.getAsInt());
+    }
+
+}
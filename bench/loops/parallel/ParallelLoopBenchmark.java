@@ -0,0 +1,96 @@
+
+package loops.parallel;
+
+import helpers.ListGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link ParallelLoopTest}. Speedup is the score of {@link #sequential(Blackhole)} divided by the score of a parallel variant
+ * with the same size, and efficiency is the speedup divided by the thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ParallelLoopBenchmark {
+
+    /**
+     * How many items to pass to {@link ListGenerator#createStrings(int)}, the biggest one being {@link ListGenerator#DEFAULT_LIST_SIZE}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 100, "" + ListGenerator.DEFAULT_LIST_SIZE / 10, "" + ListGenerator.DEFAULT_LIST_SIZE })
+    public int size;
+
+    /**
+     * How many threads the pools have. Override with {@code -p threads=...} to match the machine.
+     */
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    @Param({ "" + ParallelLoopTest.DEFAULT_SPLIT_THRESHOLD })
+    public int threshold;
+
+    private List<String> list;
+    private ForkJoinPool forkJoinPool;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        list = ListGenerator.createStrings(size);
+        forkJoinPool = new ForkJoinPool(threads);
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        forkJoinPool.shutdown();
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        blackhole.consume(ParallelLoopTest.loopSequential(list));
+    }
+
+    @Benchmark
+    public void parallelStream(Blackhole blackhole) throws InterruptedException, ExecutionException {
+        blackhole.consume(ParallelLoopTest.loopParallelStream(list, forkJoinPool));
+    }
+
+    @Benchmark
+    public void forkJoin(Blackhole blackhole) {
+        blackhole.consume(ParallelLoopTest.loopForkJoin(list, forkJoinPool, threshold));
+    }
+
+    @Benchmark
+    public void executor(Blackhole blackhole) throws InterruptedException, ExecutionException {
+        blackhole.consume(ParallelLoopTest.loopExecutor(list, executor, threads));
+    }
+
+    @Benchmark
+    public void spliterator(Blackhole blackhole) {
+        blackhole.consume(ParallelLoopTest.loopSpliterator(list, forkJoinPool, threshold));
+    }
+
+}
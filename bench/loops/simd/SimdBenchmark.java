@@ -0,0 +1,95 @@
+
+package loops.simd;
+
+import helpers.FixedWidthStringDataset;
+import helpers.simd.ByteKernel;
+import helpers.simd.ByteKernels;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH port of {@link SimdLoopTest}. The {@code string} implementation works on {@link String}s (so it measures {@link String#length()} and
+ * the {@link String#equals(Object)} intrinsic), all others are {@link ByteKernels} names working on {@link FixedWidthStringDataset}s.
+ * The {@code vector} kernel needs the jar to be built with {@code mvn -Pvector package}, otherwise its setup fails and JMH skips it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g", "--add-modules", "jdk.incubator.vector" })
+public class SimdBenchmark {
+
+    /**
+     * How many strings each dataset has.
+     */
+    private static final int ITEMS = 100000;
+
+    /**
+     * How many characters each string has.
+     */
+    @Param({ "8", "20", "64", "256" })
+    public int length;
+
+    /**
+     * Either {@code string}, or the name of a kernel in {@link ByteKernels}.
+     */
+    @Param({ "string", "scalar", "arraysEquals", "arraysMismatch", "vector" })
+    public String implementation;
+
+    private List<String> list1;
+    private List<String> list2;
+    private FixedWidthStringDataset flat1;
+    private FixedWidthStringDataset flat2;
+    private ByteKernel kernel;
+
+    @Setup
+    public void setUp() {
+        list1 = SimdLoopTest.createStrings(ITEMS, length);
+        list2 = new ArrayList<>(ITEMS);
+        for (String s : list1) {
+            list2.add(new String(s.toCharArray()));
+        }
+        Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+        if (!"string".equals(implementation)) {
+            kernel = ByteKernels.get(implementation);
+            flat1 = FixedWidthStringDataset.of(list1, length);
+            flat2 = FixedWidthStringDataset.of(list2, length);
+        }
+    }
+
+    @Benchmark
+    public void countCharacters(Blackhole blackhole) {
+        if (kernel == null) {
+            blackhole.consume(SimdLoopTest.countLengths(list1));
+        } else {
+            blackhole.consume(flat1.countCharacters(kernel));
+        }
+    }
+
+    @Benchmark
+    public void compare(Blackhole blackhole) {
+        if (kernel == null) {
+            blackhole.consume(SimdLoopTest.compareStrings(list1, list2));
+        } else {
+            blackhole.consume(flat1.countEqual(flat2, kernel));
+        }
+    }
+
+}
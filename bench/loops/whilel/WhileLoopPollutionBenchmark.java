@@ -0,0 +1,79 @@
+
+package loops.whilel;
+
+import helpers.ListGenerator;
+import helpers.PollutedLoops;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Same list loops as {@link WhileLoopBenchmark}, but their type profiles are first polluted with other {@code List} classes (see
+ * {@link PollutedLoops}). Every fork pollutes its own JVM, so each number of list types is measured separately, and the measured list is
+ * always an {@link java.util.ArrayList}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class WhileLoopPollutionBenchmark {
+
+    /**
+     * How many items to pass to {@link ListGenerator#createStrings(int)}.
+     */
+    @Param({ "" + ListGenerator.DEFAULT_LIST_SIZE / 10 })
+    public int size;
+
+    /**
+     * How many list kinds the loops see before they are measured, 1 being monomorphic and 2 bimorphic.
+     */
+    @Param({ "1", "2", "3", "5" })
+    public int listTypes;
+
+    private List<String> list;
+
+    @Setup
+    public void setUp() {
+        list = ListGenerator.createStrings(size);
+        for (ToIntFunction<List<String>> loop : WhileLoopTest.createListLoops().values()) {
+            PollutedLoops.pollute(loop, list, listTypes);
+        }
+    }
+
+    @Benchmark
+    public void loopWithI(Blackhole blackhole) {
+        blackhole.consume(WhileLoopTest.loopWithI(list));
+    }
+
+    @Benchmark
+    public void loopWithISize(Blackhole blackhole) {
+        blackhole.consume(WhileLoopTest.loopWithISize(list));
+    }
+
+    @Benchmark
+    public void loopWithIterator(Blackhole blackhole) {
+        blackhole.consume(WhileLoopTest.loopWithIterator(list));
+    }
+
+    @Benchmark
+    public void loopWithListIterator(Blackhole blackhole) {
+        blackhole.consume(WhileLoopTest.loopWithListIterator(list));
+    }
+
+}
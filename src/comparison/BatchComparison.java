@@ -0,0 +1,192 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * One run of a comparison split into batches, each batch being a separate task on an {@link ExecutorService}. Besides the equality count,
+ * it records how long each batch took from being submitted to being done, so that tail latencies of different
+ * {@link ExecutionModel}s can be compared, not just their throughput.
+ */
+final class BatchComparison {
+
+    /**
+     * How long the simulated blocking I/O of each batch takes (in milliseconds).
+     */
+    static final long SIMULATED_IO_MILLIS = 1;
+
+    /**
+     * What each batch does besides comparing.
+     */
+    enum Blocking {
+
+        /**
+         * Only compares, no blocking at all.
+         */
+        NONE("no I/O"),
+
+        /**
+         * Sleeps for {@link #SIMULATED_IO_MILLIS} before comparing, like a blocking I/O call would.
+         */
+        SLEEP("blocking I/O"),
+
+        /**
+         * Same as {@link #SLEEP}, but sleeps while holding a monitor. The monitor is never contended, but it pins virtual threads to their
+         * carrier threads on Java 21 and newer.
+         */
+        SYNCHRONIZED_SLEEP("blocking I/O in synchronized");
+
+        private final String displayName;
+
+        Blocking(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /**
+         * @return Human-readable name of this blocking mode, used when logging
+         */
+        String getDisplayName() {
+            return displayName;
+        }
+
+    }
+
+    private final int batches;
+    private final int equalities;
+    private final long elapsedNanos;
+    private final long[] sortedLatencies;
+
+    private BatchComparison(int equalities, long elapsedNanos, long[] latencies) {
+        this.batches = latencies.length;
+        this.equalities = equalities;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedLatencies = latencies.clone();
+        Arrays.sort(this.sortedLatencies);
+    }
+
+    /**
+     * Compares elements of two lists at the same positions, in batches on the given executor. Blocks until all batches are done.<br>
+     * <b>Contract</b>: <u>Lists must contain an equal number of items.</u>
+     *
+     * @param executor Where to run the batches
+     * @param listA First list for comparison
+     * @param listB Second list for comparison
+     * @param strategy How to compare the elements
+     * @param batchSize How many pairs each batch compares
+     * @param blocking What each batch does besides comparing
+     * @return The equality count and timings of the run
+     * @throws InterruptedException When interrupted while waiting for the batches
+     * @throws ExecutionException When one of the batches fails
+     */
+    static BatchComparison run(ExecutorService executor, List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB,
+            ComparisonStrategy<LevelOneClass> strategy, int batchSize, Blocking blocking) throws InterruptedException, ExecutionException {
+        int listSize = listA.size();
+        int batchCount = (listSize + batchSize - 1) / batchSize;
+        long[] latencies = new long[batchCount];
+
+        long startTime = System.nanoTime();
+        List<Future<Integer>> futures = new ArrayList<>(batchCount);
+        for (int batch = 0; batch < batchCount; batch++) {
+            int from = batch * batchSize;
+            int to = Math.min(from + batchSize, listSize);
+            futures.add(executor.submit(new BatchTask(listA.subList(from, to), listB.subList(from, to), strategy, blocking, latencies,
+                    batch)));
+        }
+        int equalities = 0;
+        for (Future<Integer> future : futures) {
+            equalities += future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        return new BatchComparison(equalities, elapsedNanos, latencies);
+    }
+
+    /**
+     * @return How many batches the lists were split into
+     */
+    int getBatches() {
+        return batches;
+    }
+
+    /**
+     * @return How many items were equal in the compared lists
+     */
+    int getEqualities() {
+        return equalities;
+    }
+
+    /**
+     * @return How long the whole run took (in nanoseconds)
+     */
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @param percentile Which percentile to get, from 0 to 100
+     * @return The batch latency (in nanoseconds) that the given percent of batches didn't exceed
+     */
+    long getLatencyPercentile(double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100d * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+    }
+
+    private static final class BatchTask implements Callable<Integer> {
+
+        private final List<? extends LevelOneClass> listA;
+        private final List<? extends LevelOneClass> listB;
+        private final ComparisonStrategy<LevelOneClass> strategy;
+        private final Blocking blocking;
+        private final long[] latencies;
+        private final int batch;
+        private final long submittedNanos;
+
+        BatchTask(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB, ComparisonStrategy<LevelOneClass> strategy,
+                Blocking blocking, long[] latencies, int batch) {
+            this.listA = listA;
+            this.listB = listB;
+            this.strategy = strategy;
+            this.blocking = blocking;
+            this.latencies = latencies;
+            this.batch = batch;
+            this.submittedNanos = System.nanoTime();
+        }
+
+        @Override
+        public Integer call() throws InterruptedException {
+            int equalities;
+            switch (blocking) {
+                case SLEEP:
+                    Thread.sleep(SIMULATED_IO_MILLIS);
+                    equalities = strategy.compareList(listA, listB);
+                    break;
+                case SYNCHRONIZED_SLEEP:
+                    equalities = sleepAndCompareSynchronized();
+                    break;
+                default:
+                    equalities = strategy.compareList(listA, listB);
+                    break;
+            }
+            // each task writes only its own slot, and Future#get() makes it visible to the submitting thread
+            latencies[batch] = System.nanoTime() - submittedNanos;
+            return equalities;
+        }
+
+        private synchronized int sleepAndCompareSynchronized() throws InterruptedException {
+            Thread.sleep(SIMULATED_IO_MILLIS);
+            return strategy.compareList(listA, listB);
+        }
+
+    }
+
+}
@@ -0,0 +1,157 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.Log;
+import helpers.index.HashStats;
+import helpers.index.OpenHashIndex;
+import helpers.report.ResourceProbe;
+import helpers.report.Result;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A bulk comparison test for objects. Instead of comparing elements at the same position, this counts how many elements of the first list
+ * exist anywhere in the second (shuffled) list. A nested loop would be quadratic, so the second list is indexed by
+ * {@link LevelOneClass#hashCode()} first: once in a {@link HashSet}, and once in an {@link OpenHashIndex} on primitive arrays. The
+ * positional {@link InheritanceObjectsComparisonTest#compareList(List, List, int)} is run on the same lists for reference. Since all of
+ * this depends on how well the hash codes spread, hash collision counts are logged as well.
+ */
+public class BulkComparisonTest {
+
+    public static void main(String[] args) {
+        // do tests with both classes, several times
+        int testItems = 1000000;
+        int testRounds = 3;
+        for (int i = 1; i <= testRounds; i++) {
+            long testTimeStart = System.currentTimeMillis();
+            System.out.println("STARTING TEST [" + i + "] WITH " + LevelOneClass.class.getSimpleName() + "\n");
+            workWith(LevelOneClass.class, testItems);
+            Log.flush();
+            System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms");
+
+            System.out.println();
+
+            testTimeStart = System.currentTimeMillis();
+            System.out.println("STARTING TEST [" + i + "] WITH " + LevelTwoClass.class.getSimpleName() + "\n");
+            workWith(LevelTwoClass.class, testItems);
+            Log.flush();
+            System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms");
+
+            System.out.println();
+        }
+    }
+
+    /**
+     * Does the bulk comparison test, and logs the message for each test performed.
+     *
+     * @param clazz Which class to use for list elements
+     * @param listItems How many list items will the each list have
+     * @param <T> Parameter type, must be a class that extends the {@link comparison.InheritanceObjectsComparisonTest.LevelOneClass}
+     */
+    private static <T extends LevelOneClass> void workWith(Class<? extends T> clazz, int listItems) {
+        Log.setSuite(BulkComparisonTest.class.getSimpleName() + "/" + clazz.getSimpleName());
+        try {
+            List<T> list1 = ListGenerator.createCloneables(listItems, clazz);
+            List<T> list2 = createShuffledMatches(list1, clazz);
+            int totalElements = list1.size();
+
+            ResourceProbe probe1 = ResourceProbe.start();
+            int equalities1 = InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_EQUALS);
+            long timeTaken1 = probe1.stop();
+            Log.logComparisonStats("Positional equals", timeTaken1, equalities1, totalElements, probe1.getMetrics());
+
+            ResourceProbe probe2 = ResourceProbe.start();
+            long startTime2 = System.nanoTime();
+            Set<T> hashSet = new HashSet<>(list2);
+            long buildTime2 = System.nanoTime() - startTime2;
+            int equalities2 = countContained(list1, hashSet);
+            long timeTaken2 = probe2.stop();
+            Map<String, Long> metrics2 = probe2.getMetrics();
+            metrics2.put(Result.METRIC_BUILD_NANOS, buildTime2);
+            Log.logComparisonStats("HashSet index", timeTaken2, equalities2, totalElements, metrics2);
+
+            ResourceProbe probe3 = ResourceProbe.start();
+            long startTime3 = System.nanoTime();
+            OpenHashIndex<T> openIndex = new OpenHashIndex<>(list2);
+            long buildTime3 = System.nanoTime() - startTime3;
+            int equalities3 = countContained(list1, openIndex);
+            long timeTaken3 = probe3.stop();
+            Map<String, Long> metrics3 = probe3.getMetrics();
+            metrics3.put(Result.METRIC_BUILD_NANOS, buildTime3);
+            metrics3.put(Result.METRIC_HASH_COLLISIONS, openIndex.getHashCollisions());
+            metrics3.put(Result.METRIC_AVERAGE_PROBES_X1000, Math.round(openIndex.getAverageProbes() * 1000d));
+            metrics3.put(Result.METRIC_MAX_PROBES, (long) openIndex.getMaxProbes());
+            // not measured, only describes how well the hash codes spread
+            HashStats stats = HashStats.of(list2);
+            metrics3.put(Result.METRIC_DISTINCT_HASHES, (long) stats.getDistinctHashes());
+            metrics3.put(Result.METRIC_COLLIDING_ELEMENTS, (long) stats.getCollidingElements());
+            metrics3.put(Result.METRIC_LARGEST_BUCKET, (long) stats.getLargestBucket());
+            Log.logComparisonStats("Open addressing index", timeTaken3, equalities3, totalElements, metrics3);
+
+        } catch (IllegalAccessException | InstantiationException e) {
+            System.err.println("Test failed due to " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prepares the second list for bulk comparison: clones the original, replaces 30% of the clones with new random objects so that the
+     * lists don't match 100%, and shuffles the whole list.
+     *
+     * @param original Which list to clone
+     * @param clazz Which class to use for the new random objects
+     * @param <T> Parameter type, must be a class that extends the {@link comparison.InheritanceObjectsComparisonTest.LevelOneClass}
+     * @return The newly created list
+     * @throws InstantiationException When creating the new objects via their default (empty) constructor
+     * @throws IllegalAccessException When creating the new objects via their default (empty) constructor
+     */
+    static <T extends LevelOneClass> List<T> createShuffledMatches(List<T> original, Class<? extends T> clazz)
+            throws InstantiationException, IllegalAccessException {
+        Constructor<? extends T> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new InstantiationException("No default constructor in " + clazz.getName());
+        }
+        List<T> list = new ArrayList<>(ListGenerator.deepCloneList(original));
+        int replaced = (int) Math.floor(0.3f * list.size());
+        try {
+            for (int i = 0; i < replaced; i++) {
+                list.set(i, constructor.newInstance());
+            }
+        } catch (InvocationTargetException e) {
+            throw new InstantiationException("Couldn't create " + clazz.getName() + " due to " + e.getCause());
+        }
+        Collections.shuffle(list);
+        return list;
+    }
+
+    static <T> int countContained(List<T> items, Set<T> index) {
+        int equalTimes = 0;
+        int listSize = items.size();
+        for (int i = 0; i < listSize; i++) {
+            equalTimes += index.contains(items.get(i)) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+    static <T> int countContained(List<T> items, OpenHashIndex<T> index) {
+        int equalTimes = 0;
+        int listSize = items.size();
+        for (int i = 0; i < listSize; i++) {
+            equalTimes += index.contains(items.get(i)) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+}
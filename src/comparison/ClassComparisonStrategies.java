@@ -0,0 +1,152 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+
+import java.util.List;
+
+/**
+ * Strategies comparing classes of list elements, as done by {@link ClassComparisonTest}. Each one is a final class
+ * with its own copy of the comparison loop, see {@link ComparisonStrategy}.
+ */
+final class ClassComparisonStrategies {
+
+    private ClassComparisonStrategies() {
+    }
+
+    /**
+     * Compares classes with {@code ==}.
+     */
+    static final class Identical implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Identity check with '=='";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return ClassComparisonTest.identical(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Compares classes with {@link Class#equals(Object)}.
+     */
+    static final class Equals implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Class#equals() check";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return ClassComparisonTest.equals(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Compares class names.
+     */
+    static final class EqualsName implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Class#getName()#equals() check";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return ClassComparisonTest.equalsName(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Checks both elements with {@code instanceof}.
+     */
+    static final class InstanceOf implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Instance of check (both ways)";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return ClassComparisonTest.instanceOf(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Checks both elements with {@link Class#isAssignableFrom(Class)}.
+     */
+    static final class AssignableFrom implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Assignable from check (both ways)";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return ClassComparisonTest.assignableFrom(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+}
@@ -6,6 +6,7 @@ import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
 
 import helpers.ListGenerator;
 import helpers.Log;
+import helpers.report.ResourceProbe;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -18,11 +19,11 @@ import java.util.List;
  */
 public class ClassComparisonTest {
 
-    private static final int METHOD_IDENTICAL = 1;
-    private static final int METHOD_EQUALS = 2;
-    private static final int METHOD_EQUALS_NAME = 3;
-    private static final int METHOD_INSTANCE_OF = 4;
-    private static final int METHOD_ASSIGNABLE_FROM = 5;
+    static final int METHOD_IDENTICAL = 1;
+    static final int METHOD_EQUALS = 2;
+    static final int METHOD_EQUALS_NAME = 3;
+    static final int METHOD_INSTANCE_OF = 4;
+    static final int METHOD_ASSIGNABLE_FROM = 5;
 
     public static void main(String[] args) {
         // do tests with both classes, several times
@@ -32,6 +33,7 @@ public class ClassComparisonTest {
             long testTimeStart = System.currentTimeMillis();
             System.out.println("STARTING TEST [" + i + "]\n");
             workWith(testItems);
+            Log.flush();
             System.out.println("\nTEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
         }
     }
@@ -43,51 +45,19 @@ public class ClassComparisonTest {
      */
     private static void workWith(int listItems) {
         try {
-            // prepare lists for comparison: make 1/2 of the list with LevelOneClass objects, 1/2 with LevelTwoClass objects, and shuffle
-            List<LevelOneClass> aList = ListGenerator.createCloneables(listItems / 2, LevelOneClass.class);
-            List<LevelTwoClass> bList = ListGenerator.createCloneables(listItems / 2, LevelTwoClass.class);
-            List<LevelOneClass> mergedList = new ArrayList<>();
-            for (int i = 0; i < listItems; i++) {
-                if (i < listItems / 2) {
-                    mergedList.add(aList.get(i));
-                } else {
-                    mergedList.add(bList.get(i - listItems / 2));
-                }
-            }
-            Collections.shuffle(mergedList);
-
-            // noinspection UnnecessaryLocalVariable -> wrong in this case, really it's needed
-            List<? extends LevelOneClass> list1 = mergedList;
+            List<? extends LevelOneClass> list1 = createMixedList(listItems);
             List<? extends LevelOneClass> list2 = new ArrayList<>(list1); // do a shallow copy, we compare classes
             // shuffle only one part (40%) of the second one to make it harder to equal 100%
             Collections.shuffle(list2.subList(0, (int) Math.floor(0.4f * list2.size())));
 
             int totalElements = list1.size();
 
-            long startTime1 = System.nanoTime();
-            int equalities1 = compareClassesInList(list1, list2, METHOD_IDENTICAL);
-            long timeTaken1 = System.nanoTime() - startTime1;
-            Log.logComparisonStats("Identity check with '=='", timeTaken1, equalities1, totalElements);
-
-            long startTime2 = System.nanoTime();
-            int equalities2 = compareClassesInList(list1, list2, METHOD_EQUALS);
-            long timeTaken2 = System.nanoTime() - startTime2;
-            Log.logComparisonStats("Class#equals() check", timeTaken2, equalities2, totalElements);
-
-            long startTime3 = System.nanoTime();
-            int equalities3 = compareClassesInList(list1, list2, METHOD_EQUALS_NAME);
-            long timeTaken3 = System.nanoTime() - startTime3;
-            Log.logComparisonStats("Class#getName()#equals() check", timeTaken3, equalities3, totalElements);
-
-            long startTime4 = System.nanoTime();
-            int equalities4 = compareClassesInList(list1, list2, METHOD_INSTANCE_OF);
-            long timeTaken4 = System.nanoTime() - startTime4; // divide by 2?
-            Log.logComparisonStats("Instance of check (both ways)", timeTaken4, equalities4, totalElements);
-
-            long startTime5 = System.nanoTime();
-            int equalities5 = compareClassesInList(list1, list2, METHOD_ASSIGNABLE_FROM);
-            long timeTaken5 = System.nanoTime() - startTime5; // divide by 2?
-            Log.logComparisonStats("Assignable from check (both ways)", timeTaken5, equalities5, totalElements);
+            for (ComparisonStrategy<LevelOneClass> strategy : ComparisonStrategies.CLASS_COMPARISONS.values()) {
+                ResourceProbe probe = ResourceProbe.start();
+                int equalities = strategy.compareList(list1, list2);
+                long timeTaken = probe.stop();
+                Log.logComparisonStats(strategy.getName(), timeTaken, equalities, totalElements, probe.getMetrics());
+            }
         } catch (InstantiationException | IllegalAccessException e) {
             e.printStackTrace();
             System.err.println("Test failed due to " + e.getMessage());
@@ -95,7 +65,32 @@ public class ClassComparisonTest {
     }
 
     /**
-     * Compares classes of two lists' objects using different methods available.<br>
+     * Prepares a list for class comparison: makes 1/2 of the list with {@link LevelOneClass} objects, 1/2 with {@link LevelTwoClass}
+     * objects, and shuffles it.
+     *
+     * @param listItems How many list items will the list have
+     * @return The newly created, shuffled list
+     * @throws InstantiationException When creating the list items via their default (empty) constructor
+     * @throws IllegalAccessException When creating the list items via their default (empty) constructor
+     */
+    public static List<LevelOneClass> createMixedList(int listItems) throws InstantiationException, IllegalAccessException {
+        List<LevelOneClass> aList = ListGenerator.createCloneables(listItems / 2, LevelOneClass.class);
+        List<LevelTwoClass> bList = ListGenerator.createCloneables(listItems / 2, LevelTwoClass.class);
+        List<LevelOneClass> mergedList = new ArrayList<>();
+        for (int i = 0; i < listItems; i++) {
+            if (i < listItems / 2) {
+                mergedList.add(aList.get(i));
+            } else {
+                mergedList.add(bList.get(i - listItems / 2));
+            }
+        }
+        Collections.shuffle(mergedList);
+        return mergedList;
+    }
+
+    /**
+     * Compares classes of two lists' objects using different methods available. This is the baseline for the strategies in
+     * {@link ComparisonStrategies#CLASS_COMPARISONS}: a single loop switching over the method for each element.<br>
      * <b>Contract</b>: <u>Lists must contain an equal number of items.</u>
      *
      * @param listA First list for comparison
@@ -104,7 +99,7 @@ public class ClassComparisonTest {
      *            {@link #METHOD_INSTANCE_OF}, {@link #METHOD_ASSIGNABLE_FROM}
      * @return How many items were equal in these two lists
      */
-    private static int compareClassesInList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB, int method) {
+    static int compareClassesInList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB, int method) {
         int equalTimes = 0;
         int listSize = listA.size();
         for (int i = 0; i < listSize; i++) {
@@ -119,34 +114,39 @@ public class ClassComparisonTest {
                     equalTimes += equalsName(listA.get(i), listB.get(i)) ? 1 : 0;
                     break;
                 case METHOD_INSTANCE_OF:
-                    // noinspection ConstantConditions
-                    boolean bothA = listA.get(i) instanceof LevelOneClass && listB.get(i) instanceof LevelOneClass;
-                    // noinspection ConstantConditions
-                    boolean bothB = listA.get(i) instanceof LevelTwoClass && listB.get(i) instanceof LevelTwoClass;
-                    equalTimes += (bothA || bothB) ? 1 : 0;
+                    equalTimes += instanceOf(listA.get(i), listB.get(i)) ? 1 : 0;
                     break;
                 case METHOD_ASSIGNABLE_FROM:
-                    boolean bothAA = LevelOneClass.class.isAssignableFrom(listA.get(i).getClass())
-                            && LevelOneClass.class.isAssignableFrom(listB.get(i).getClass());
-                    boolean bothAB = LevelTwoClass.class.isAssignableFrom(listA.get(i).getClass())
-                            && LevelTwoClass.class.isAssignableFrom(listB.get(i).getClass());
-                    equalTimes += (bothAA || bothAB) ? 1 : 0;
+                    equalTimes += assignableFrom(listA.get(i), listB.get(i)) ? 1 : 0;
                     break;
             }
         }
         return equalTimes;
     }
 
-    private static <T extends LevelOneClass> boolean identical(T first, T second) {
+    static <T extends LevelOneClass> boolean identical(T first, T second) {
         return first.getClass() == second.getClass();
     }
 
-    private static <T extends LevelOneClass> boolean equals(T first, T second) {
+    static <T extends LevelOneClass> boolean equals(T first, T second) {
         return first.getClass().equals(second.getClass());
     }
 
-    private static <T extends LevelOneClass> boolean equalsName(T first, T second) {
+    static <T extends LevelOneClass> boolean equalsName(T first, T second) {
         return first.getClass().getName().equals(second.getClass().getName());
     }
 
+    static <T extends LevelOneClass> boolean instanceOf(T first, T second) {
+        // noinspection ConstantConditions
+        boolean bothA = first instanceof LevelOneClass && second instanceof LevelOneClass;
+        boolean bothB = first instanceof LevelTwoClass && second instanceof LevelTwoClass;
+        return bothA || bothB;
+    }
+
+    static <T extends LevelOneClass> boolean assignableFrom(T first, T second) {
+        boolean bothAA = LevelOneClass.class.isAssignableFrom(first.getClass()) && LevelOneClass.class.isAssignableFrom(second.getClass());
+        boolean bothAB = LevelTwoClass.class.isAssignableFrom(first.getClass()) && LevelTwoClass.class.isAssignableFrom(second.getClass());
+        return bothAA || bothAB;
+    }
+
 }
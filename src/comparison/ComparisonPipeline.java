@@ -0,0 +1,258 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A streaming comparison pipeline. Instead of materializing both compared lists up front, a producer (the calling thread) creates them
+ * chunk by chunk and hands each chunk to one consumer stage per {@link ComparisonStrategy}. Every stage runs on its own thread, has its own
+ * bounded queue and keeps a running equality count. When a stage can't keep up its queue fills, and the producer blocks until there's room
+ * again. Stages share the chunks, so no more than {@code queueCapacity + 2} chunks are ever in memory, no matter how many items are
+ * compared.
+ * <p>
+ * Next to the running counts, both sides record their stalls: how often and how long the producer was blocked by a full queue
+ * (backpressure), and how often and how long each stage waited for an empty queue (starvation).
+ */
+final class ComparisonPipeline {
+
+    /**
+     * Tells the stages there are no more chunks.
+     */
+    private static final Chunk END = new Chunk(new ArrayList<>(), new ArrayList<>());
+
+    /**
+     * A pair of equally big lists compared at the same positions.
+     */
+    static final class Chunk {
+
+        final List<? extends LevelOneClass> listA;
+        final List<? extends LevelOneClass> listB;
+
+        Chunk(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            this.listA = listA;
+            this.listB = listB;
+        }
+
+    }
+
+    /**
+     * Creates the chunks fed to the pipeline.
+     */
+    interface ChunkFactory {
+
+        /**
+         * @param index Which chunk to create, starting from 0
+         * @param items How many items should each list in the chunk have
+         * @return The newly created chunk
+         * @throws InstantiationException When creating the list items via their default (empty) constructor
+         * @throws IllegalAccessException When creating the list items via their default (empty) constructor
+         */
+        Chunk create(long index, int items) throws InstantiationException, IllegalAccessException;
+
+    }
+
+    /**
+     * One consumer stage, comparing all chunks with a single strategy. The stats are only safe to read once the pipeline is done.
+     */
+    static final class Stage implements Runnable {
+
+        private final ComparisonStrategy<LevelOneClass> strategy;
+        private final BlockingQueue<Chunk> queue;
+
+        private long elements;
+        private long equalities;
+        private long busyNanos;
+        private long stalls;
+        private long stalledNanos;
+        private RuntimeException failure;
+
+        private Stage(ComparisonStrategy<LevelOneClass> strategy, int queueCapacity) {
+            this.strategy = strategy;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    long waitStart = System.nanoTime();
+                    Chunk chunk = queue.poll();
+                    if (chunk == null) {
+                        stalls++;
+                        chunk = queue.take();
+                    }
+                    long start = System.nanoTime();
+                    stalledNanos += start - waitStart;
+                    if (chunk == END) {
+                        return;
+                    }
+                    if (failure != null) {
+                        // keep draining, so the producer never blocks on a dead stage
+                        continue;
+                    }
+
+                    try {
+                        equalities += strategy.compareList(chunk.listA, chunk.listB);
+                        elements += chunk.listA.size();
+                    } catch (RuntimeException e) {
+                        failure = e;
+                    }
+                    busyNanos += System.nanoTime() - start;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public String getName() {
+            return strategy.getName();
+        }
+
+        /**
+         * @return How many pairs this stage compared
+         */
+        public long getElements() {
+            return elements;
+        }
+
+        /**
+         * @return How many of the compared pairs were equal
+         */
+        public long getEqualities() {
+            return equalities;
+        }
+
+        /**
+         * @return How long this stage spent comparing (in nanoseconds), without the time spent waiting for chunks
+         */
+        public long getBusyNanos() {
+            return busyNanos;
+        }
+
+        /**
+         * @return How many times this stage found its queue empty
+         */
+        public long getStalls() {
+            return stalls;
+        }
+
+        /**
+         * @return How long this stage waited for chunks (in nanoseconds)
+         */
+        public long getStalledNanos() {
+            return stalledNanos;
+        }
+
+        /**
+         * @return Why this stage stopped comparing, or {@code null} if it didn't fail
+         */
+        public RuntimeException getFailure() {
+            return failure;
+        }
+
+    }
+
+    private final List<Stage> stages = new ArrayList<>();
+
+    private long producedElements;
+    private long producerBusyNanos;
+    private long producerBlocks;
+    private long producerBlockedNanos;
+
+    /**
+     * @param strategies Which comparisons to run, one stage each
+     * @param queueCapacity How many chunks can wait in front of each stage
+     */
+    ComparisonPipeline(Collection<ComparisonStrategy<LevelOneClass>> strategies, int queueCapacity) {
+        for (ComparisonStrategy<LevelOneClass> strategy : strategies) {
+            stages.add(new Stage(strategy, queueCapacity));
+        }
+    }
+
+    /**
+     * Runs the pipeline until all items are compared by all stages. Call this only once.
+     *
+     * @param totalItems How many pairs to compare, can be bigger than what fits in the heap
+     * @param chunkSize How many pairs are created at once
+     * @param factory Creates the chunks
+     * @return All stages, in the order of the strategies given to the constructor
+     * @throws InstantiationException When creating the list items via their default (empty) constructor
+     * @throws IllegalAccessException When creating the list items via their default (empty) constructor
+     * @throws InterruptedException When interrupted while waiting for the stages
+     */
+    List<Stage> run(long totalItems, int chunkSize, ChunkFactory factory)
+            throws InstantiationException, IllegalAccessException, InterruptedException {
+        List<Thread> threads = new ArrayList<>(stages.size());
+        for (Stage stage : stages) {
+            Thread thread = new Thread(stage, "Stage: " + stage.getName());
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        try {
+            long chunkIndex = 0;
+            for (long produced = 0; produced < totalItems; produced += chunkSize) {
+                long start = System.nanoTime();
+                Chunk chunk = factory.create(chunkIndex++, (int) Math.min(chunkSize, totalItems - produced));
+                producerBusyNanos += System.nanoTime() - start;
+                producedElements += chunk.listA.size();
+                for (Stage stage : stages) {
+                    offer(stage, chunk);
+                }
+            }
+        } finally {
+            for (Stage stage : stages) {
+                offer(stage, END);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        return stages;
+    }
+
+    private void offer(Stage stage, Chunk chunk) throws InterruptedException {
+        if (!stage.queue.offer(chunk)) {
+            producerBlocks++;
+            long start = System.nanoTime();
+            stage.queue.put(chunk);
+            producerBlockedNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * @return How many pairs the producer created
+     */
+    public long getProducedElements() {
+        return producedElements;
+    }
+
+    /**
+     * @return How long the producer spent creating chunks (in nanoseconds)
+     */
+    public long getProducerBusyNanos() {
+        return producerBusyNanos;
+    }
+
+    /**
+     * @return How many times the producer found a stage's queue full
+     */
+    public long getProducerBlocks() {
+        return producerBlocks;
+    }
+
+    /**
+     * @return How long the producer was blocked by full queues (in nanoseconds)
+     */
+    public long getProducerBlockedNanos() {
+        return producerBlockedNanos;
+    }
+
+}
@@ -0,0 +1,70 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of all {@link ComparisonStrategy} implementations, keyed by a short name and kept in the order the tests run them.
+ */
+public final class ComparisonStrategies {
+
+    /**
+     * Strategies comparing classes of list elements, as done by {@link ClassComparisonTest}.
+     */
+    public static final Map<String, ComparisonStrategy<LevelOneClass>> CLASS_COMPARISONS;
+
+    /**
+     * Strategies comparing list elements by their data, as done by {@link InheritanceObjectsComparisonTest}.
+     */
+    public static final Map<String, ComparisonStrategy<LevelOneClass>> OBJECT_COMPARISONS;
+
+    static {
+        Map<String, ComparisonStrategy<LevelOneClass>> classComparisons = new LinkedHashMap<>();
+        classComparisons.put("identical", new ClassComparisonStrategies.Identical());
+        classComparisons.put("equals", new ClassComparisonStrategies.Equals());
+        classComparisons.put("equalsName", new ClassComparisonStrategies.EqualsName());
+        classComparisons.put("instanceOf", new ClassComparisonStrategies.InstanceOf());
+        classComparisons.put("assignableFrom", new ClassComparisonStrategies.AssignableFrom());
+        CLASS_COMPARISONS = Collections.unmodifiableMap(classComparisons);
+
+        Map<String, ComparisonStrategy<LevelOneClass>> objectComparisons = new LinkedHashMap<>();
+        objectComparisons.put("equals", new ObjectComparisonStrategies.Equals());
+        objectComparisons.put("hash", new ObjectComparisonStrategies.Hash());
+        objectComparisons.put("superEquals", new ObjectComparisonStrategies.SuperEquals());
+        objectComparisons.put("superHash", new ObjectComparisonStrategies.SuperHash());
+        objectComparisons.put("reflection", new ObjectComparisonStrategies.Reflection());
+        objectComparisons.put("reflectionCached", new ObjectComparisonStrategies.ReflectionCached());
+        objectComparisons.put("reflectionHash", new ObjectComparisonStrategies.ReflectionHash());
+        OBJECT_COMPARISONS = Collections.unmodifiableMap(objectComparisons);
+    }
+
+    private ComparisonStrategies() {
+    }
+
+    /**
+     * Compares elements of two lists at the same positions, using one shared loop for all strategies. Once this has been called with three
+     * or more strategies, the {@link ComparisonStrategy#matches(Object, Object)} call inside the loop becomes megamorphic, which is what
+     * this method is for: showing the cost of virtual dispatch compared with {@link ComparisonStrategy#compareList(List, List)}.<br>
+     * <b>Contract</b>: <u>Lists must contain an equal number of items.</u>
+     *
+     * @param listA First list for comparison
+     * @param listB Second list for comparison
+     * @param strategy How to compare the elements
+     * @param <T> Type of the compared elements
+     * @return How many items were equal in these two lists
+     */
+    public static <T> int compareListShared(List<? extends T> listA, List<? extends T> listB, ComparisonStrategy<T> strategy) {
+        int equalTimes = 0;
+        int listSize = listA.size();
+        for (int i = 0; i < listSize; i++) {
+            equalTimes += strategy.matches(listA.get(i), listB.get(i)) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+}
@@ -0,0 +1,37 @@
+
+package comparison;
+
+import java.util.List;
+
+/**
+ * One way of comparing two list elements, together with its own loop over two lists. Each implementation has a separate copy of the loop
+ * that calls its own (final) {@link #matches(Object, Object)} directly, so the call inside the loop is always monomorphic and can be
+ * inlined, no matter how many other strategies are in use. See {@link ComparisonStrategies} for all available strategies.
+ *
+ * @param <T> Type of the compared elements
+ */
+public interface ComparisonStrategy<T> {
+
+    /**
+     * @return Human-readable name of this comparison, used when logging
+     */
+    String getName();
+
+    /**
+     * @param a First element
+     * @param b Second element
+     * @return Whether the elements are equal according to this strategy
+     */
+    boolean matches(T a, T b);
+
+    /**
+     * Compares elements of two lists at the same positions.<br>
+     * <b>Contract</b>: <u>Lists must contain an equal number of items.</u>
+     *
+     * @param listA First list for comparison
+     * @param listB Second list for comparison
+     * @return How many items were equal in these two lists
+     */
+    int compareList(List<? extends T> listA, List<? extends T> listB);
+
+}
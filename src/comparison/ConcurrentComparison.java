@@ -0,0 +1,87 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+
+import helpers.counters.SharedTally;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Compares elements of two lists at the same positions on several workers, like {@link ComparisonStrategy#compareList(List, List)} does
+ * on one thread, but with every worker counting into the same {@link SharedTally} for each pair instead of a local {@code int}, the way
+ * shared hit and miss counters are updated in a service.
+ */
+final class ConcurrentComparison {
+
+    private ConcurrentComparison() {
+    }
+
+    /**
+     * Splits the lists into one range per worker, and compares each range on the given executor. Blocks until all workers are done, after
+     * which the tally has the totals.<br>
+     * <b>Contract</b>: <u>Lists must contain an equal number of items, and the tally must have room for all workers.</u>
+     *
+     * @param executor Where to run the workers, with at least as many threads as there are workers
+     * @param workers How many workers to split the lists for
+     * @param listA First list for comparison
+     * @param listB Second list for comparison
+     * @param strategy How to compare the elements
+     * @param tally Where to count equal (hits) and different (misses) pairs
+     * @throws InterruptedException When interrupted while waiting for the workers
+     * @throws ExecutionException When one of the workers fails
+     */
+    static void run(ExecutorService executor, int workers, List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB,
+            ComparisonStrategy<LevelOneClass> strategy, SharedTally tally) throws InterruptedException, ExecutionException {
+        int listSize = listA.size();
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            int from = (int) ((long) listSize * worker / workers);
+            int to = (int) ((long) listSize * (worker + 1) / workers);
+            futures.add(executor.submit(new Worker(listA, listB, from, to, strategy, tally.newRecorder(worker))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private static final class Worker implements Callable<Void> {
+
+        private final List<? extends LevelOneClass> listA;
+        private final List<? extends LevelOneClass> listB;
+        private final int from;
+        private final int to;
+        private final ComparisonStrategy<LevelOneClass> strategy;
+        private final SharedTally.Recorder recorder;
+
+        Worker(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB, int from, int to,
+                ComparisonStrategy<LevelOneClass> strategy, SharedTally.Recorder recorder) {
+            this.listA = listA;
+            this.listB = listB;
+            this.from = from;
+            this.to = to;
+            this.strategy = strategy;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Void call() {
+            for (int i = from; i < to; i++) {
+                if (strategy.matches(listA.get(i), listB.get(i))) {
+                    recorder.hit();
+                } else {
+                    recorder.miss();
+                }
+            }
+            recorder.finish();
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.Log;
+import helpers.counters.SharedTallies;
+import helpers.counters.SharedTally;
+import helpers.report.ResourceProbe;
+
+import loops.parallel.ParallelLoopTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A concurrent comparison test. The {@link ClassComparisonTest} and {@link InheritanceObjectsComparisonTest} comparisons are split across
+ * several threads, which count equal and different pairs into shared tallies (see {@link SharedTallies}) instead of local variables. Each
+ * tally is run with 1, 2, 4... threads, and compared with the single-threaded comparison counting into a local variable.
+ * <p>
+ * All tallies go through the same worker loop here, so its recorder calls are megamorphic. The benchmark runs each tally in its own fork
+ * instead. The biggest thread count defaults to the number of available processors, and can be changed with the
+ * {@code concurrent.threads} system property (going over it shows what contention does when threads are also preempted).
+ */
+public class ConcurrentComparisonTest {
+
+    /**
+     * How many times each run is done before it's measured, so that thread start-up and most of the JIT compilation are not measured.
+     */
+    private static final int WARM_UP_PASSES = 3;
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int maxThreads = Integer.getInteger("concurrent.threads", Runtime.getRuntime().availableProcessors());
+        try {
+            List<LevelOneClass> classes1 = ClassComparisonTest.createMixedList(ListGenerator.DEFAULT_LIST_SIZE);
+            List<LevelOneClass> classes2 = new ArrayList<>(classes1); // do a shallow copy, we compare classes
+            // shuffle only one part (40%) of the second one to make it harder to equal 100%
+            Collections.shuffle(classes2.subList(0, (int) Math.floor(0.4f * classes2.size())));
+            workWith("classes", classes1, classes2, ComparisonStrategies.CLASS_COMPARISONS.get("identical"), maxThreads);
+
+            List<LevelOneClass> objects1 = ListGenerator.createCloneables(ListGenerator.DEFAULT_LIST_SIZE, LevelTwoClass.class);
+            List<LevelOneClass> objects2 = ListGenerator.deepCloneList(objects1);
+            // shuffle only one part (30%) of the second one to make it harder to equal 100%
+            Collections.shuffle(objects2.subList(0, (int) Math.floor(0.3f * objects2.size())));
+            workWith("objects", objects1, objects2, ComparisonStrategies.OBJECT_COMPARISONS.get("equals"), maxThreads);
+        } catch (InstantiationException | IllegalAccessException e) {
+            System.err.println("Test failed due to " + e.getMessage());
+        }
+    }
+
+    /**
+     * Does the concurrent comparison with all tallies and thread counts, and logs the message for each run.
+     *
+     * @param dataset What is compared, used in the suite name
+     * @param list1 First list for comparison
+     * @param list2 Second list for comparison
+     * @param strategy How to compare the elements
+     * @param maxThreads The biggest thread count
+     */
+    private static void workWith(String dataset, List<LevelOneClass> list1, List<LevelOneClass> list2,
+            ComparisonStrategy<LevelOneClass> strategy, int maxThreads) throws InterruptedException, ExecutionException {
+        long testTimeStart = System.currentTimeMillis();
+        System.out.println("STARTING TEST WITH " + dataset.toUpperCase() + ", UP TO " + maxThreads + " THREAD(S)\n");
+        Log.setSuite(ConcurrentComparisonTest.class.getSimpleName() + "/" + dataset);
+        int totalElements = list1.size();
+
+        // the baseline is used for all thread counts
+        for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+            strategy.compareList(list1, list2);
+        }
+        ResourceProbe probe = ResourceProbe.start();
+        int expected = strategy.compareList(list1, list2);
+        long baseline = probe.stop();
+        Log.logComparisonStats(strategy.getName() + ", local counter", baseline, expected, totalElements, probe.getMetrics());
+
+        for (int threads : ParallelLoopTest.threadCounts(maxThreads)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                for (SharedTally tally : SharedTallies.all(threads).values()) {
+                    for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+                        ConcurrentComparison.run(executor, threads, list1, list2, strategy, tally);
+                        tally.reset();
+                    }
+
+                    ResourceProbe tallyProbe = ResourceProbe.startAllThreads();
+                    ConcurrentComparison.run(executor, threads, list1, list2, strategy, tally);
+                    long elapsed = tallyProbe.stop();
+
+                    int hits = Math.toIntExact(tally.getHits());
+                    if (hits != expected || tally.getMisses() != totalElements - expected) {
+                        System.err.println(tally.getName() + " counted " + hits + " hits and " + tally.getMisses() + " misses instead of "
+                                + expected + " and " + (totalElements - expected));
+                    }
+                    Log.logComparisonScalingStats(strategy.getName() + ", " + tally.getName(), threads, elapsed, hits, totalElements,
+                            baseline, tallyProbe.getMetrics());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+        Log.flush();
+        System.out.println("\nTEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+    }
+
+}
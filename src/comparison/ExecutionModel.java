@@ -0,0 +1,90 @@
+
+package comparison;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Ways of running many small tasks, compared by {@link ExecutionModelTest}.
+ */
+enum ExecutionModel {
+
+    /**
+     * A fixed pool of platform threads, as returned by {@link Executors#newFixedThreadPool(int)}.
+     */
+    PLATFORM("Platform thread pool"),
+
+    /**
+     * A work-stealing {@link ForkJoinPool}.
+     */
+    FORK_JOIN("Fork-join pool"),
+
+    /**
+     * A new virtual thread per task, as returned by {@code Executors.newVirtualThreadPerTaskExecutor()}. The thread count is ignored, the
+     * JVM decides how many carrier threads to use. Only available on Java 21 or newer (or 19 and 20 with {@code --enable-preview}).
+     */
+    VIRTUAL("Virtual thread per task");
+
+    /**
+     * Looked up reflectively, so that the project still builds and runs on Java 17.
+     */
+    private static final Method newVirtualThreadPerTaskExecutor = findVirtualThreadFactory();
+
+    private final String displayName;
+
+    ExecutionModel(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return Human-readable name of this model, used when logging
+     */
+    String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return Whether the running JVM supports this model
+     */
+    boolean isSupported() {
+        return this != VIRTUAL || newVirtualThreadPerTaskExecutor != null;
+    }
+
+    /**
+     * @param threads How many threads to use, where it applies
+     * @return A new executor, shut it down when done
+     * @throws UnsupportedOperationException When the running JVM doesn't support this model, see {@link #isSupported()}
+     */
+    ExecutorService create(int threads) {
+        switch (this) {
+            case PLATFORM:
+                return Executors.newFixedThreadPool(threads);
+            case FORK_JOIN:
+                return new ForkJoinPool(threads);
+            default:
+                if (newVirtualThreadPerTaskExecutor == null) {
+                    String version = System.getProperty("java.version");
+                    throw new UnsupportedOperationException("Virtual threads need Java 21, running on " + version);
+                }
+                try {
+                    return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new UnsupportedOperationException("Couldn't create virtual threads due to " + e.getMessage(), e);
+                }
+        }
+    }
+
+    private static Method findVirtualThreadFactory() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            // fails on Java 19 and 20 without --enable-preview
+            ((ExecutorService) method.invoke(null)).shutdown();
+            return method;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.Log;
+import helpers.report.ResourceProbe;
+import helpers.report.Result;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An execution model test. The {@link InheritanceObjectsComparisonTest} comparison is split into batches, and the batches are run on a
+ * platform thread pool, a fork-join pool and virtual threads (see {@link ExecutionModel}), for several batch sizes. This is done once with
+ * pure comparisons, once with simulated blocking I/O in each batch, and once with the blocking I/O inside a {@code synchronized} method,
+ * which pins virtual threads to their carriers. Next to the usual stats, each run reports its batch latency percentiles and, for virtual
+ * threads, how often they got pinned.
+ * <p>
+ * Virtual threads need Java 21 or newer, on older JVMs they are skipped.
+ */
+public class ExecutionModelTest {
+
+    private static final int[] BATCH_SIZES = { 256, 4096, 65536 };
+
+    /**
+     * How many times each run is done before it's measured, so that thread start-up and most of the JIT compilation are not measured.
+     */
+    private static final int WARM_UP_PASSES = 1;
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            List<LevelOneClass> list1 = ListGenerator.createCloneables(ListGenerator.DEFAULT_LIST_SIZE, LevelTwoClass.class);
+            List<LevelOneClass> list2 = ListGenerator.deepCloneList(list1);
+            // shuffle only one part (30%) of the second one to make it harder to equal 100%
+            Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+
+            for (BatchComparison.Blocking blocking : BatchComparison.Blocking.values()) {
+                long testTimeStart = System.currentTimeMillis();
+                System.out.println("STARTING TEST WITH " + blocking.getDisplayName().toUpperCase() + " ON " + threads + " THREAD(S)\n");
+                Log.setSuite(ExecutionModelTest.class.getSimpleName() + "/" + blocking.name());
+                for (ExecutionModel model : ExecutionModel.values()) {
+                    if (!model.isSupported()) {
+                        System.out.println(model.getDisplayName() + " not supported on Java " + System.getProperty("java.version"));
+                        continue;
+                    }
+                    workWith(model, threads, list1, list2, blocking);
+                }
+                Log.flush();
+                System.out.println("\nTEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+            }
+        } catch (InstantiationException | IllegalAccessException e) {
+            System.err.println("Test failed due to " + e.getMessage());
+        }
+    }
+
+    /**
+     * Does the batched comparison for all batch sizes with one execution model, and logs the message for each run.
+     *
+     * @param model Which execution model to use
+     * @param threads How many threads to use, where it applies
+     * @param list1 First list for comparison
+     * @param list2 Second list for comparison
+     * @param blocking What each batch does besides comparing
+     */
+    private static void workWith(ExecutionModel model, int threads, List<LevelOneClass> list1, List<LevelOneClass> list2,
+            BatchComparison.Blocking blocking) throws InterruptedException, ExecutionException {
+        ComparisonStrategy<LevelOneClass> strategy = ComparisonStrategies.OBJECT_COMPARISONS.get("equals");
+        ExecutorService executor = model.create(threads);
+        try {
+            for (int batchSize : BATCH_SIZES) {
+                for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+                    BatchComparison.run(executor, list1, list2, strategy, batchSize, blocking);
+                }
+
+                PinningMonitor pinning = model == ExecutionModel.VIRTUAL ? PinningMonitor.start() : null;
+                ResourceProbe probe = ResourceProbe.startAllThreads();
+                BatchComparison run = BatchComparison.run(executor, list1, list2, strategy, batchSize, blocking);
+                probe.stop();
+
+                Map<String, Long> metrics = probe.getMetrics();
+                metrics.put(Result.METRIC_BATCHES, (long) run.getBatches());
+                metrics.put(Result.METRIC_P50_LATENCY_NANOS, run.getLatencyPercentile(50));
+                metrics.put(Result.METRIC_P99_LATENCY_NANOS, run.getLatencyPercentile(99));
+                metrics.put(Result.METRIC_MAX_LATENCY_NANOS, run.getLatencyPercentile(100));
+                if (pinning != null) {
+                    try {
+                        pinning.stop();
+                        metrics.put(Result.METRIC_PINNED, pinning.getPinnedEvents());
+                        metrics.put(Result.METRIC_PINNED_NANOS, pinning.getPinnedNanos());
+                    } catch (IOException e) {
+                        System.err.println("Couldn't count pinned threads due to " + e.getMessage());
+                    }
+                }
+                String name = model.getDisplayName() + ", batches of " + batchSize;
+                Log.logComparisonStats(name, run.getElapsedNanos(), run.getEqualities(), list1.size(), metrics);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.footprint.Footprint;
+import helpers.footprint.FootprintAnalyzer;
+import helpers.footprint.InstrumentationSizer;
+import helpers.footprint.LayoutEstimator;
+import helpers.footprint.ObjectSizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A footprint test for the comparison datasets. The items are created the same way {@link InheritanceObjectsComparisonTest} creates them,
+ * added one by one to an {@link ArrayList} with the default capacity (so it grows while being filled), and then copied into a list
+ * presized to the exact item count.
+ * {@link FootprintAnalyzer} walks both, and the shallow and retained size of each class are written for each sizer, together with the
+ * bytes the default list wastes on growth slack.
+ * <p>
+ * Sizes are always estimated both with and without compressed oops (see {@link LayoutEstimator}). When started with
+ * {@code -javaagent:target/benchmarks.jar}, they are also measured exactly for the running JVM (see {@link InstrumentationSizer}), so
+ * running it once more with {@code -XX:-UseCompressedOops} checks the other estimate. The list size can be changed with the
+ * {@code footprint.items} system property.
+ */
+public class FootprintTest {
+
+    public static void main(String[] args) {
+        int testItems = Integer.getInteger("footprint.items", ListGenerator.DEFAULT_LIST_SIZE);
+        List<ObjectSizer> sizers = new ArrayList<>();
+        InstrumentationSizer instrumentation = InstrumentationSizer.fromAgent();
+        if (instrumentation != null) {
+            sizers.add(instrumentation);
+        }
+        LayoutEstimator current = LayoutEstimator.forCurrentJvm();
+        LayoutEstimator compressed = LayoutEstimator.withCompressedOops(true);
+        LayoutEstimator uncompressed = LayoutEstimator.withCompressedOops(false);
+        sizers.add(compressed);
+        sizers.add(uncompressed);
+
+        System.out.println(String.format("Running with compressed oops %s, compressed class pointers %s, %d-byte alignment, %s.\n",
+                current.isCompressedOops() ? "on" : "off", current.isCompressedClassPointers() ? "on" : "off", current.getAlignment(),
+                instrumentation == null ? "estimating only (start with -javaagent:target/benchmarks.jar to measure)" : "measuring"));
+
+        long testTimeStart = System.currentTimeMillis();
+        System.out.println("STARTING TEST WITH " + LevelOneClass.class.getSimpleName() + "\n");
+        workWith(LevelOneClass.class, testItems, sizers);
+        System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+
+        testTimeStart = System.currentTimeMillis();
+        System.out.println("STARTING TEST WITH " + LevelTwoClass.class.getSimpleName() + "\n");
+        workWith(LevelTwoClass.class, testItems, sizers);
+        System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+    }
+
+    /**
+     * Analyzes the default-capacity and the presized list, and writes their footprints.
+     *
+     * @param clazz Which class to use for list elements
+     * @param listItems How many list items will the list have
+     * @param sizers How to size the objects
+     */
+    private static void workWith(Class<? extends LevelOneClass> clazz, int listItems, List<ObjectSizer> sizers) {
+        try {
+            List<LevelOneClass> generated = ListGenerator.createCloneables(listItems, clazz);
+            // the generator may return a fixed-size list (parallel or cached), so the growing one is filled here
+            List<LevelOneClass> list = new ArrayList<>();
+            for (LevelOneClass item : generated) {
+                list.add(item);
+            }
+            generated = null;
+            Footprint grown = FootprintAnalyzer.analyze(list, sizers);
+            write("Default capacity", grown, listItems);
+
+            List<LevelOneClass> presized = new ArrayList<>(list.size());
+            presized.addAll(list);
+            list = null;
+            Footprint exact = FootprintAnalyzer.analyze(presized, sizers);
+            write("Presized", exact, listItems);
+
+            Footprint.TypeFootprint grownArray = grown.getType(Object[].class.getName());
+            Footprint.TypeFootprint exactArray = exact.getType(Object[].class.getName());
+            if (grownArray != null && exactArray != null) {
+                StringBuilder slack = new StringBuilder("Growth slack of the default capacity list:");
+                for (int sizer = 0; sizer < sizers.size(); sizer++) {
+                    slack.append(String.format(" %,d bytes (%s)", grownArray.getShallowBytes(sizer) - exactArray.getShallowBytes(sizer),
+                            sizers.get(sizer).getName()));
+                    slack.append(sizer < sizers.size() - 1 ? "," : ".\n");
+                }
+                System.out.println(slack);
+            }
+        } catch (InstantiationException | IllegalAccessException e) {
+            System.err.println("Test failed due to " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the footprint of each class as a table, one shallow and one retained column per sizer, followed by the totals.
+     */
+    private static void write(String name, Footprint footprint, int listItems) {
+        List<String> sizerNames = footprint.getSizerNames();
+        StringBuilder header = new StringBuilder(String.format("%-60s %12s", name, "objects"));
+        for (String sizerName : sizerNames) {
+            header.append(String.format(" | %-30s", sizerName));
+        }
+        System.out.println(header);
+        StringBuilder subHeader = new StringBuilder(String.format("%-60s %12s", "", ""));
+        for (int sizer = 0; sizer < sizerNames.size(); sizer++) {
+            subHeader.append(String.format(" | %14s %15s", "shallow", "retained"));
+        }
+        System.out.println(subHeader);
+
+        for (Footprint.TypeFootprint type : footprint.getTypes()) {
+            StringBuilder row = new StringBuilder(String.format("%-60s %,12d", type.getTypeName(), type.getCount()));
+            for (int sizer = 0; sizer < sizerNames.size(); sizer++) {
+                row.append(String.format(" | %,14d %,15d", type.getShallowBytes(sizer), type.getRetainedBytes(sizer)));
+            }
+            System.out.println(row);
+        }
+
+        StringBuilder total = new StringBuilder("Total:");
+        for (int sizer = 0; sizer < sizerNames.size(); sizer++) {
+            long bytes = footprint.getTotalBytes(sizer);
+            total.append(String.format(" %,d bytes, %.1f per item (%s)", bytes, (double) bytes / listItems, sizerNames.get(sizer)));
+            total.append(sizer < sizerNames.size() - 1 ? "," : ".");
+        }
+        System.out.println(total);
+        if (!footprint.getOpaqueTypes().isEmpty()) {
+            System.err.println("Couldn't look inside " + footprint.getOpaqueTypes() + " due to closed packages, start with the agent or "
+                    + "--add-opens to count what they reference");
+        }
+        System.out.println();
+    }
+
+}
@@ -0,0 +1,171 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.Log;
+import helpers.hashing.HashCombiner;
+import helpers.hashing.HashCombiners;
+import helpers.hashing.HashQuality;
+import helpers.hashing.HashQualityAnalyzer;
+import helpers.hashing.HashedKey;
+import helpers.report.ResourceProbe;
+import helpers.report.Result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hash quality test for the {@link InheritanceObjectsComparisonTest} datasets. {@code LevelOneClass.hashCode()} multiplies two
+ * {@link String} hashes, and {@code LevelTwoClass.hashCode()} multiplies once more, which is what
+ * {@link InheritanceObjectsComparisonTest#equalsHash(LevelOneClass, LevelOneClass)} relies on. Here that combiner is compared with the
+ * other {@link HashCombiners}, first by the quality of their hash codes (see {@link HashQualityAnalyzer}), then by how fast they hash, how
+ * many pairs they wrongly call equal, and how fast a {@link HashMap} finds keys hashed with them.
+ * <p>
+ * All combiners go through the same comparison loop here, so its call to {@code hashWith(HashCombiner)} is megamorphic, and the hash
+ * equality times are slower than each combiner would be on its own. The {@code HashCombinerBenchmark} runs each combiner in its own fork
+ * instead, use it for throughput numbers.
+ * <p>
+ * The number of elements used for the avalanche can be changed with the {@code hashing.samples} system property.
+ */
+public class HashQualityTest {
+
+    public static void main(String[] args) {
+        int testItems = ListGenerator.DEFAULT_LIST_SIZE;
+        int samples = Integer.getInteger("hashing.samples", 1000);
+
+        long testTimeStart = System.currentTimeMillis();
+        System.out.println("STARTING TEST WITH " + LevelOneClass.class.getSimpleName() + "\n");
+        workWith(LevelOneClass.class, testItems, samples);
+        System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+
+        testTimeStart = System.currentTimeMillis();
+        System.out.println("STARTING TEST WITH " + LevelTwoClass.class.getSimpleName() + "\n");
+        workWith(LevelTwoClass.class, testItems, samples);
+        System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+    }
+
+    /**
+     * Analyzes and measures all combiners with one class, and logs the message for each.
+     *
+     * @param clazz Which class to use for list elements
+     * @param listItems How many list items will the each list have
+     * @param samples How many elements to use for the avalanche
+     */
+    private static void workWith(Class<? extends LevelOneClass> clazz, int listItems, int samples) {
+        try {
+            List<LevelOneClass> list1 = ListGenerator.createCloneables(listItems, clazz);
+            List<LevelOneClass> list2 = ListGenerator.deepCloneList(list1);
+            // shuffle only one part (30%) of the second one to make it harder to equal 100%
+            Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+            int totalElements = list1.size();
+
+            List<String[]> rows = new ArrayList<>(totalElements);
+            for (LevelOneClass item : list1) {
+                rows.add(fieldsOf(item));
+            }
+            writeHeader();
+            for (HashCombiner combiner : HashCombiners.ALL.values()) {
+                write(HashQualityAnalyzer.analyze(combiner, rows, samples));
+            }
+            System.out.println();
+
+            int expected = ComparisonStrategies.OBJECT_COMPARISONS.get("equals").compareList(list1, list2);
+            Log.setSuite(HashQualityTest.class.getSimpleName() + "/" + clazz.getSimpleName());
+            for (HashCombiner combiner : HashCombiners.ALL.values()) {
+                ResourceProbe hashProbe = ResourceProbe.start();
+                int hashEqualities = countHashEqualities(list1, list2, combiner);
+                long hashTime = hashProbe.stop();
+                Map<String, Long> hashMetrics = hashProbe.getMetrics();
+                hashMetrics.put(Result.METRIC_FALSE_POSITIVES, (long) (hashEqualities - expected));
+                Log.logComparisonStats(combiner.getName() + ", hash equality", hashTime, hashEqualities, totalElements, hashMetrics);
+
+                // only the lookups are measured, the keys are hashed and the map is filled up front
+                List<HashedKey<LevelOneClass>> keys1 = createKeys(list1, combiner);
+                List<HashedKey<LevelOneClass>> keys2 = createKeys(list2, combiner);
+                Map<HashedKey<LevelOneClass>, Boolean> map = new HashMap<>();
+                for (HashedKey<LevelOneClass> key : keys1) {
+                    map.put(key, Boolean.TRUE);
+                }
+                ResourceProbe lookupProbe = ResourceProbe.start();
+                int found = countFound(map, keys2);
+                long lookupTime = lookupProbe.stop();
+                Log.logComparisonStats(combiner.getName() + ", HashMap lookup", lookupTime, found, totalElements, lookupProbe.getMetrics());
+            }
+            Log.flush();
+        } catch (InstantiationException | IllegalAccessException e) {
+            System.err.println("Test failed due to " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compares elements of two lists at the same positions by their hash codes, the way
+     * {@link InheritanceObjectsComparisonTest#equalsHash(LevelOneClass, LevelOneClass)} does.<br>
+     * <b>Contract</b>: <u>Lists must contain an equal number of items.</u>
+     *
+     * @param listA First list for comparison
+     * @param listB Second list for comparison
+     * @param combiner How to hash the elements
+     * @return How many items had equal hash codes in these two lists
+     */
+    static int countHashEqualities(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB, HashCombiner combiner) {
+        int equalTimes = 0;
+        int listSize = listA.size();
+        for (int i = 0; i < listSize; i++) {
+            equalTimes += listA.get(i).hashWith(combiner) == listB.get(i).hashWith(combiner) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+    /**
+     * @param map Where to look the keys up
+     * @param keys Which keys to look up
+     * @param <K> Type of the keys
+     * @return How many of the keys are in the map
+     */
+    static <K> int countFound(Map<K, Boolean> map, List<K> keys) {
+        int found = 0;
+        int keyCount = keys.size();
+        for (int i = 0; i < keyCount; i++) {
+            found += map.containsKey(keys.get(i)) ? 1 : 0;
+        }
+        return found;
+    }
+
+    /**
+     * @param list Which elements to wrap
+     * @param combiner How to hash the elements
+     * @return Keys for all elements, hashed with the given combiner
+     */
+    static List<HashedKey<LevelOneClass>> createKeys(List<? extends LevelOneClass> list, HashCombiner combiner) {
+        List<HashedKey<LevelOneClass>> keys = new ArrayList<>(list.size());
+        for (LevelOneClass item : list) {
+            keys.add(new HashedKey<>(item, item.hashWith(combiner)));
+        }
+        return keys;
+    }
+
+    private static String[] fieldsOf(LevelOneClass item) {
+        if (item instanceof LevelTwoClass) {
+            return new String[] { item.s1, item.s2, ((LevelTwoClass) item).s3 };
+        }
+        return new String[] { item.s1, item.s2 };
+    }
+
+    private static void writeHeader() {
+        System.out.println(String.format("%-30s %12s %11s %10s %8s %10s %10s %10s", "Combiner", "distinct", "collisions", "zero", "bucket",
+                "chi2/df", "avalanche", "worst bias"));
+    }
+
+    private static void write(HashQuality quality) {
+        System.out.println(String.format("%-30s %,12d %10.4f%% %,10d %8d %10.3f %10.3f %10.3f", quality.getCombinerName(),
+                quality.getDistinctHashes(), quality.getCollisionRate() * 100d, quality.getZeroHashes(), quality.getLargestBucket(),
+                quality.getBucketChiSquared(), quality.getAvalancheMean(), quality.getAvalancheWorstBias()));
+    }
+
+}
@@ -0,0 +1,304 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.Interner;
+import helpers.ListGenerator;
+import helpers.Log;
+import helpers.hashing.HashCombiner;
+import helpers.hashing.HashCombiners;
+import helpers.report.ResourceProbe;
+import helpers.report.Result;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A comparison test for immutable objects. {@link LevelOneClass} and {@link LevelTwoClass} can change, so they compute their hash code on
+ * every call, and their {@link Object#equals(Object)} walks all {@link String}s of equal bundles. Their immutable variants here compute the
+ * hash code once, compare it before any {@link String}, and can go through an {@link Interner} so that equal bundles are the same instance
+ * and are found equal with {@code ==}.
+ * <p>
+ * Each dataset is compared once with a high share of equal pairs (like {@link InheritanceObjectsComparisonTest}) and once with almost none.
+ * The second list always has its own copies of the {@link String}s, like data that was loaded separately, because clones would share them
+ * with the first list and {@link String#equals(Object)} would find them equal with {@code ==} anyway.
+ */
+public class ImmutableObjectsComparisonTest {
+
+    /**
+     * An immutable 2-{@link String} bundle, equal to another one when both {@link #s1} and {@link #s2} are equal, like
+     * {@link LevelOneClass}. The hash code is computed once, when the bundle is created.
+     */
+    public static class ImmutableLevelOneClass {
+
+        /**
+         * How all immutable bundles combine their {@link String}s into a hash code.
+         */
+        protected static final HashCombiner HASH_COMBINER = HashCombiners.ALL.get("multiply31");
+
+        /**
+         * The first of 2 Strings in this bundle
+         */
+        protected final String s1;
+        /**
+         * The second of 2 Strings in this bundle
+         */
+        protected final String s2;
+
+        private final int hash;
+
+        public ImmutableLevelOneClass(String s1, String s2) {
+            this(s1, s2, HASH_COMBINER.hash(s1, s2));
+        }
+
+        /**
+         * For subclasses with more {@link String}s, which have to be part of the given hash code.
+         *
+         * @param s1 The first String
+         * @param s2 The second String
+         * @param hash Hash code of the whole bundle
+         */
+        protected ImmutableLevelOneClass(String s1, String s2, int hash) {
+            this.s1 = s1;
+            this.s2 = s2;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            ImmutableLevelOneClass other = (ImmutableLevelOneClass) obj;
+            // different hash codes tell most different bundles apart without looking at the Strings
+            return hash == other.hash && s1.equals(other.s1) && s2.equals(other.s2);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    /**
+     * The immutable variant of {@link LevelTwoClass}, adding another {@link String} {@link #s3} to the bundle and its hash code.
+     */
+    public static class ImmutableLevelTwoClass extends ImmutableLevelOneClass {
+
+        /**
+         * Additional String in the extended bundle
+         */
+        protected final String s3;
+
+        public ImmutableLevelTwoClass(String s1, String s2, String s3) {
+            super(s1, s2, HASH_COMBINER.hash(s1, s2, s3));
+            this.s3 = s3;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return super.equals(obj) && s3.equals(((ImmutableLevelTwoClass) obj).s3);
+        }
+
+    }
+
+    /**
+     * How the second list is prepared.
+     */
+    enum Equality {
+
+        /**
+         * Only one part (30%) of the second list is shuffled, so most pairs are equal.
+         */
+        HIGH(0.3f),
+
+        /**
+         * The whole second list is shuffled, so almost no pairs are equal.
+         */
+        LOW(1f);
+
+        private final float shuffled;
+
+        Equality(float shuffled) {
+            this.shuffled = shuffled;
+        }
+
+        /**
+         * @param list Which list to shuffle, in place
+         */
+        void shuffle(List<?> list) {
+            Collections.shuffle(list.subList(0, (int) Math.floor(shuffled * list.size())));
+        }
+
+    }
+
+    public static void main(String[] args) {
+        // do tests with both classes and both datasets, several times
+        int testItems = ListGenerator.DEFAULT_LIST_SIZE;
+        int testRounds = 3;
+        for (int i = 1; i <= testRounds; i++) {
+            for (Equality equality : Equality.values()) {
+                long testTimeStart = System.currentTimeMillis();
+                System.out.println("STARTING TEST [" + i + "] WITH " + LevelOneClass.class.getSimpleName() + ", " + equality
+                        + " EQUALITY\n");
+                workWith(LevelOneClass.class, equality, testItems);
+                System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+
+                testTimeStart = System.currentTimeMillis();
+                System.out.println("STARTING TEST [" + i + "] WITH " + LevelTwoClass.class.getSimpleName() + ", " + equality
+                        + " EQUALITY\n");
+                workWith(LevelTwoClass.class, equality, testItems);
+                System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+            }
+        }
+    }
+
+    /**
+     * Does the comparison test with the current and the immutable classes, and logs the message for each test performed.
+     *
+     * @param clazz Which class to use for list elements
+     * @param equality How many pairs should be equal
+     * @param listItems How many list items will the each list have
+     */
+    private static void workWith(Class<? extends LevelOneClass> clazz, Equality equality, int listItems) {
+        Log.setSuite(ImmutableObjectsComparisonTest.class.getSimpleName() + "/" + clazz.getSimpleName() + "/" + equality);
+        try {
+            List<LevelOneClass> list1 = ListGenerator.createCloneables(listItems, clazz);
+            List<LevelOneClass> list2 = copyStrings(list1);
+            equality.shuffle(list2);
+            List<ImmutableLevelOneClass> immutable1 = toImmutable(list1);
+            List<ImmutableLevelOneClass> immutable2 = toImmutable(list2);
+            int totalElements = list1.size();
+
+            ResourceProbe probe1 = ResourceProbe.start();
+            int equalities1 = InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_EQUALS);
+            long elapsed1 = probe1.stop();
+
+            ResourceProbe probe2 = ResourceProbe.start();
+            int equalities2 = InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_HASH);
+            long elapsed2 = probe2.stop();
+
+            ResourceProbe probe3 = ResourceProbe.start();
+            int equalities3 = compareImmutableList(immutable1, immutable2);
+            long elapsed3 = probe3.stop();
+
+            ResourceProbe probe4 = ResourceProbe.start();
+            int equalities4 = compareImmutableHashes(immutable1, immutable2);
+            long elapsed4 = probe4.stop();
+
+            // interning is paid once, when the data comes in, so it's not part of the comparison
+            Interner<ImmutableLevelOneClass> interner = new Interner<>();
+            ResourceProbe internProbe = ResourceProbe.start();
+            List<ImmutableLevelOneClass> interned1 = intern(immutable1, interner);
+            List<ImmutableLevelOneClass> interned2 = intern(immutable2, interner);
+            long internTime = internProbe.stop();
+
+            ResourceProbe probe5 = ResourceProbe.start();
+            int equalities5 = compareImmutableList(interned1, interned2);
+            long elapsed5 = probe5.stop();
+
+            Log.logComparisonStats("Regular equals", elapsed1, equalities1, totalElements, probe1.getMetrics());
+            Log.logComparisonStats("Regular hash", elapsed2, equalities2, totalElements, probe2.getMetrics());
+            Log.logComparisonStats("Immutable, hash-first equals", elapsed3, equalities3, totalElements, probe3.getMetrics());
+            Log.logComparisonStats("Immutable, cached hash", elapsed4, equalities4, totalElements, probe4.getMetrics());
+            Map<String, Long> metrics5 = probe5.getMetrics();
+            metrics5.put(Result.METRIC_INTERNING_NANOS, internTime);
+            metrics5.put(Result.METRIC_POOLED, (long) interner.size());
+            Log.logComparisonStats("Immutable, interned", elapsed5, equalities5, totalElements, metrics5);
+            Log.flush();
+        } catch (IllegalAccessException | InstantiationException e) {
+            System.err.println("Test failed due to " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compares elements of two lists at the same positions with {@link ImmutableLevelOneClass#equals(Object)}.<br>
+     * <b>Contract</b>: <u>Lists must contain an equal number of items.</u>
+     *
+     * @param listA First list for comparison
+     * @param listB Second list for comparison
+     * @return How many items were equal in these two lists
+     */
+    static int compareImmutableList(List<? extends ImmutableLevelOneClass> listA, List<? extends ImmutableLevelOneClass> listB) {
+        int equalTimes = 0;
+        int listSize = listA.size();
+        for (int i = 0; i < listSize; i++) {
+            equalTimes += listA.get(i).equals(listB.get(i)) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+    /**
+     * Compares elements of two lists at the same positions by their cached hash codes.<br>
+     * <b>Contract</b>: <u>Lists must contain an equal number of items.</u>
+     *
+     * @param listA First list for comparison
+     * @param listB Second list for comparison
+     * @return How many items had equal hash codes in these two lists
+     */
+    static int compareImmutableHashes(List<? extends ImmutableLevelOneClass> listA, List<? extends ImmutableLevelOneClass> listB) {
+        int equalTimes = 0;
+        int listSize = listA.size();
+        for (int i = 0; i < listSize; i++) {
+            equalTimes += listA.get(i).hashCode() == listB.get(i).hashCode() ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+    /**
+     * @param original Which list to copy
+     * @return Copies of all elements, each with its own copies of the {@link String}s
+     */
+    @SuppressWarnings("RedundantStringConstructorCall")
+    static List<LevelOneClass> copyStrings(List<? extends LevelOneClass> original) {
+        List<LevelOneClass> copies = new ArrayList<>(original.size());
+        for (LevelOneClass item : original) {
+            LevelOneClass copy = item instanceof LevelTwoClass ? new LevelTwoClass((LevelTwoClass) item) : new LevelOneClass(item);
+            copy.s1 = new String(item.s1);
+            copy.s2 = new String(item.s2);
+            if (item instanceof LevelTwoClass) {
+                ((LevelTwoClass) copy).s3 = new String(((LevelTwoClass) item).s3);
+            }
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    /**
+     * @param list Which list to convert
+     * @return Immutable bundles with the same {@link String}s, in the same order
+     */
+    static List<ImmutableLevelOneClass> toImmutable(List<? extends LevelOneClass> list) {
+        List<ImmutableLevelOneClass> immutable = new ArrayList<>(list.size());
+        for (LevelOneClass item : list) {
+            if (item instanceof LevelTwoClass) {
+                immutable.add(new ImmutableLevelTwoClass(item.s1, item.s2, ((LevelTwoClass) item).s3));
+            } else {
+                immutable.add(new ImmutableLevelOneClass(item.s1, item.s2));
+            }
+        }
+        return immutable;
+    }
+
+    /**
+     * @param list Which list to canonicalize
+     * @param interner Where to pool the elements
+     * @return The pooled element for each element, in the same order
+     */
+    static List<ImmutableLevelOneClass> intern(List<ImmutableLevelOneClass> list, Interner<ImmutableLevelOneClass> interner) {
+        List<ImmutableLevelOneClass> interned = new ArrayList<>(list.size());
+        for (ImmutableLevelOneClass item : list) {
+            interned.add(interner.intern(item));
+        }
+        return interned;
+    }
+
+}
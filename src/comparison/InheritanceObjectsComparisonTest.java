@@ -4,6 +4,9 @@ package comparison;
 import helpers.ListGenerator;
 import helpers.Log;
 import helpers.StringGenerator;
+import helpers.equality.FieldEquality;
+import helpers.hashing.HashCombiner;
+import helpers.report.ResourceProbe;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -18,11 +21,13 @@ import java.util.List;
  */
 public class InheritanceObjectsComparisonTest {
 
-    private static final int METHOD_EQUALS = 1;
-    private static final int METHOD_HASH = 2;
-    private static final int METHOD_SUPER_EQUALS = 3;
-    private static final int METHOD_SUPER_HASH = 4;
-    private static final int METHOD_REFLECTION = 5;
+    static final int METHOD_EQUALS = 1;
+    static final int METHOD_HASH = 2;
+    static final int METHOD_SUPER_EQUALS = 3;
+    static final int METHOD_SUPER_HASH = 4;
+    static final int METHOD_REFLECTION = 5;
+    static final int METHOD_REFLECTION_CACHED = 6;
+    static final int METHOD_REFLECTION_HASH = 7;
 
     /**
      * A simple 2-{@link String} bundle that implements the {@link Cloneable} interface. This class overrides {@link Object#equals(Object)}
@@ -46,6 +51,17 @@ public class InheritanceObjectsComparisonTest {
             s2 = StringGenerator.create();
         }
 
+        /**
+         * Copy constructor, creates the same bundle of {@link String}s as the original has.
+         *
+         * @param original Which object to copy
+         */
+        public LevelOneClass(LevelOneClass original) {
+            super();
+            s1 = original.s1;
+            s2 = original.s2;
+        }
+
         @Override
         @SuppressWarnings("RedundantStringConstructorCall")
         protected LevelOneClass clone() throws CloneNotSupportedException {
@@ -83,6 +99,16 @@ public class InheritanceObjectsComparisonTest {
             return (s1.hashCode() * s2.hashCode()) % Integer.MAX_VALUE;
         }
 
+        /**
+         * Same as {@link #hashCode()}, but with a different way of combining the {@link String}s.
+         *
+         * @param combiner How to combine the {@link String}s into a hash code
+         * @return Hash code of this bundle of {@link String}s
+         */
+        public int hashWith(HashCombiner combiner) {
+            return combiner.hash(s1, s2);
+        }
+
     }
 
     /**
@@ -102,6 +128,16 @@ public class InheritanceObjectsComparisonTest {
             s3 = StringGenerator.create();
         }
 
+        /**
+         * Copy constructor, creates the same bundle of {@link String}s as the original has.
+         *
+         * @param original Which object to copy
+         */
+        public LevelTwoClass(LevelTwoClass original) {
+            super(original);
+            s3 = original.s3;
+        }
+
         @Override
         @SuppressWarnings("RedundantStringConstructorCall")
         protected LevelTwoClass clone() throws CloneNotSupportedException {
@@ -140,6 +176,11 @@ public class InheritanceObjectsComparisonTest {
             return (super.hashCode() * s3.hashCode()) % Integer.MAX_VALUE;
         }
 
+        @Override
+        public int hashWith(HashCombiner combiner) {
+            return combiner.hash(s1, s2, s3);
+        }
+
     }
 
     public static void main(String[] args) {
@@ -150,6 +191,7 @@ public class InheritanceObjectsComparisonTest {
             long testTimeStart = System.currentTimeMillis();
             System.out.println("STARTING TEST [" + i + "] WITH " + LevelOneClass.class.getSimpleName() + "\n");
             workWith(LevelOneClass.class, testItems);
+            Log.flush();
             System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms");
 
             System.out.println();
@@ -157,6 +199,7 @@ public class InheritanceObjectsComparisonTest {
             testTimeStart = System.currentTimeMillis();
             System.out.println("STARTING TEST [" + i + "] WITH " + LevelTwoClass.class.getSimpleName() + "\n");
             workWith(LevelTwoClass.class, testItems);
+            Log.flush();
             System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms");
 
             System.out.println();
@@ -171,6 +214,7 @@ public class InheritanceObjectsComparisonTest {
      * @param <T> Parameter type, must be a class that extends the {@link comparison.InheritanceObjectsComparisonTest.LevelOneClass}
      */
     private static <T extends LevelOneClass> void workWith(Class<? extends T> clazz, int listItems) {
+        Log.setSuite(InheritanceObjectsComparisonTest.class.getSimpleName() + "/" + clazz.getSimpleName());
         try {
             // prepare lists for comparison
             List<T> list1 = ListGenerator.createCloneables(listItems, clazz);
@@ -179,47 +223,30 @@ public class InheritanceObjectsComparisonTest {
             Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
             int totalElements = list1.size();
 
-            long startTime1 = System.nanoTime();
-            int equalities1 = compareList(list1, list2, METHOD_EQUALS);
-            long timeTaken1 = System.nanoTime() - startTime1;
-            Log.logComparisonStats("Regular equals", timeTaken1, equalities1, totalElements);
-
-            long startTime2 = System.nanoTime();
-            int equalities2 = compareList(list1, list2, METHOD_HASH);
-            long timeTaken2 = System.nanoTime() - startTime2;
-            Log.logComparisonStats("Regular hash", timeTaken2, equalities2, totalElements);
-
-            long startTime3 = System.nanoTime();
-            int equalities3 = compareList(list1, list2, METHOD_SUPER_EQUALS);
-            long timeTaken3 = System.nanoTime() - startTime3;
-            Log.logComparisonStats("Super equals", timeTaken3, equalities3, totalElements);
-
-            long startTime4 = System.nanoTime();
-            int equalities4 = compareList(list1, list2, METHOD_SUPER_HASH);
-            long timeTaken4 = System.nanoTime() - startTime4;
-            Log.logComparisonStats("Super hash", timeTaken4, equalities4, totalElements);
-
-            long startTime5 = System.nanoTime();
-            int equalities5 = compareList(list1, list2, METHOD_REFLECTION);
-            long timeTaken5 = System.nanoTime() - startTime5;
-            Log.logComparisonStats("Reflection", timeTaken5, equalities5, totalElements);
+            for (ComparisonStrategy<LevelOneClass> strategy : ComparisonStrategies.OBJECT_COMPARISONS.values()) {
+                ResourceProbe probe = ResourceProbe.start();
+                int equalities = strategy.compareList(list1, list2);
+                long timeTaken = probe.stop();
+                Log.logComparisonStats(strategy.getName(), timeTaken, equalities, totalElements, probe.getMetrics());
+            }
         } catch (IllegalAccessException | InstantiationException e) {
             System.err.println("Test failed due to " + e.getMessage());
         }
     }
 
     /**
-     * Compares two lists using different methods available.<br>
+     * Compares two lists using different methods available. This is the baseline for the strategies in
+     * {@link ComparisonStrategies#OBJECT_COMPARISONS}: a single loop switching over the method for each element.<br>
      * <b>Contract</b>: <u>Lists must contain an equal number of items.</u>
      * 
      * @param listA First list for comparison
      * @param listB Second list for comparison
      * @param method Which method to use. Must be one of {@link #METHOD_EQUALS}, {@link #METHOD_HASH}, {@link #METHOD_SUPER_EQUALS},
-     *            {@link #METHOD_SUPER_HASH}, {@link #METHOD_REFLECTION}
+     *            {@link #METHOD_SUPER_HASH}, {@link #METHOD_REFLECTION}, {@link #METHOD_REFLECTION_CACHED}, {@link #METHOD_REFLECTION_HASH}
      * @param <T> Type parameter, a class that must extend {@link comparison.InheritanceObjectsComparisonTest.LevelOneClass}
      * @return How many items were equal in these two lists
      */
-    private static <T extends LevelOneClass> int compareList(List<T> listA, List<T> listB, int method) {
+    static <T extends LevelOneClass> int compareList(List<T> listA, List<T> listB, int method) {
         int equalTimes = 0;
         int listSize = listA.size();
         for (int i = 0; i < listSize; i++) {
@@ -239,28 +266,34 @@ public class InheritanceObjectsComparisonTest {
                 case METHOD_REFLECTION:
                     equalTimes += equalsReflection(listA.get(i), listB.get(i)) ? 1 : 0;
                     break;
+                case METHOD_REFLECTION_CACHED:
+                    equalTimes += equalsReflectionCached(listA.get(i), listB.get(i)) ? 1 : 0;
+                    break;
+                case METHOD_REFLECTION_HASH:
+                    equalTimes += equalsReflectionHash(listA.get(i), listB.get(i)) ? 1 : 0;
+                    break;
             }
         }
         return equalTimes;
     }
 
-    private static <T extends LevelOneClass> boolean equals(T a, T b) {
+    static <T extends LevelOneClass> boolean equals(T a, T b) {
         return a.equals(b);
     }
 
-    private static <T extends LevelOneClass> boolean equalsHash(T a, T b) {
+    static <T extends LevelOneClass> boolean equalsHash(T a, T b) {
         return a.hashCode() == b.hashCode();
     }
 
-    private static <T extends LevelOneClass> boolean equalsSuper(T a, T b) {
+    static <T extends LevelOneClass> boolean equalsSuper(T a, T b) {
         return a.superEquals(b);
     }
 
-    private static <T extends LevelOneClass> boolean equalsHashSuper(T a, T b) {
+    static <T extends LevelOneClass> boolean equalsHashSuper(T a, T b) {
         return a.superHashCode() == b.superHashCode();
     }
 
-    private static <T extends LevelOneClass> boolean equalsReflection(T a, T b) {
+    static <T extends LevelOneClass> boolean equalsReflection(T a, T b) {
         // compare each field individually
         List<Field> fields = getFields(a.getClass());
         int totalFields = fields.size();
@@ -280,6 +313,15 @@ public class InheritanceObjectsComparisonTest {
         return true;
     }
 
+    static <T extends LevelOneClass> boolean equalsReflectionCached(T a, T b) {
+        // same as reflection, but the class is introspected only once
+        return FieldEquality.equals(a, b);
+    }
+
+    static <T extends LevelOneClass> boolean equalsReflectionHash(T a, T b) {
+        return FieldEquality.hashCode(a) == FieldEquality.hashCode(b);
+    }
+
     private static List<Field> getFields(Class<?> type) {
         List<Field> fields = new ArrayList<>();
         for (Class<?> c = type; c != null; c = c.getSuperclass()) {
@@ -0,0 +1,206 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+
+import java.util.List;
+
+/**
+ * Strategies comparing list elements by their data, as done by {@link InheritanceObjectsComparisonTest}. Each one is a final class
+ * with its own copy of the comparison loop, see {@link ComparisonStrategy}.
+ */
+final class ObjectComparisonStrategies {
+
+    private ObjectComparisonStrategies() {
+    }
+
+    /**
+     * Compares with the overridden {@link Object#equals(Object)}.
+     */
+    static final class Equals implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Regular equals";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return InheritanceObjectsComparisonTest.equals(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Compares the overridden {@link Object#hashCode()}s.
+     */
+    static final class Hash implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Regular hash";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return InheritanceObjectsComparisonTest.equalsHash(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Compares with the superclass {@link Object#equals(Object)}.
+     */
+    static final class SuperEquals implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Super equals";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return InheritanceObjectsComparisonTest.equalsSuper(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Compares the superclass {@link Object#hashCode()}s.
+     */
+    static final class SuperHash implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Super hash";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return InheritanceObjectsComparisonTest.equalsHashSuper(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Compares all fields, looking them up with reflection every time.
+     */
+    static final class Reflection implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Reflection";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return InheritanceObjectsComparisonTest.equalsReflection(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Compares all fields with the cached {@link helpers.equality.FieldEquality} comparator.
+     */
+    static final class ReflectionCached implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Cached reflection";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return InheritanceObjectsComparisonTest.equalsReflectionCached(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+    /**
+     * Compares hash codes combined from all fields by {@link helpers.equality.FieldEquality}.
+     */
+    static final class ReflectionHash implements ComparisonStrategy<LevelOneClass> {
+
+        @Override
+        public String getName() {
+            return "Cached reflection hash";
+        }
+
+        @Override
+        public boolean matches(LevelOneClass a, LevelOneClass b) {
+            return InheritanceObjectsComparisonTest.equalsReflectionHash(a, b);
+        }
+
+        @Override
+        public int compareList(List<? extends LevelOneClass> listA, List<? extends LevelOneClass> listB) {
+            int equalTimes = 0;
+            int listSize = listA.size();
+            for (int i = 0; i < listSize; i++) {
+                equalTimes += matches(listA.get(i), listB.get(i)) ? 1 : 0;
+            }
+            return equalTimes;
+        }
+
+    }
+
+}
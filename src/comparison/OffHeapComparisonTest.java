@@ -0,0 +1,145 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.Log;
+import helpers.report.ResourceProbe;
+import helpers.report.Result;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A comparison test for off-heap records. The same datasets as in {@link InheritanceObjectsComparisonTest} are compared as object graphs
+ * first, and then copied into {@link OffHeapRecordStore}s and compared through {@link OffHeapRecordStore.Record} flyweights. Next to the
+ * usual stats, each comparison reports how much heap the compared data retains, and how much memory it takes outside of the heap.
+ */
+public class OffHeapComparisonTest {
+
+    public static void main(String[] args) {
+        // do tests with both classes, several times
+        int testItems = 1000000;
+        int testRounds = 3;
+        for (int i = 1; i <= testRounds; i++) {
+            long testTimeStart = System.currentTimeMillis();
+            System.out.println("STARTING TEST [" + i + "] WITH " + LevelOneClass.class.getSimpleName() + "\n");
+            workWith(LevelOneClass.class, testItems);
+            Log.flush();
+            System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms");
+
+            System.out.println();
+
+            testTimeStart = System.currentTimeMillis();
+            System.out.println("STARTING TEST [" + i + "] WITH " + LevelTwoClass.class.getSimpleName() + "\n");
+            workWith(LevelTwoClass.class, testItems);
+            Log.flush();
+            System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms");
+
+            System.out.println();
+        }
+    }
+
+    /**
+     * Does the comparison test, and logs the message for each test performed.
+     *
+     * @param clazz Which class to use for list elements
+     * @param listItems How many list items will the each list have
+     * @param <T> Parameter type, must be a class that extends the {@link comparison.InheritanceObjectsComparisonTest.LevelOneClass}
+     */
+    private static <T extends LevelOneClass> void workWith(Class<? extends T> clazz, int listItems) {
+        Log.setSuite(OffHeapComparisonTest.class.getSimpleName() + "/" + clazz.getSimpleName());
+        try {
+            long emptyHeap = ResourceProbe.usedHeapAfterGc();
+
+            // prepare lists for comparison, the same way the object comparison test does
+            List<T> list1 = ListGenerator.createCloneables(listItems, clazz);
+            List<T> list2 = ListGenerator.deepCloneList(list1);
+            Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+            int totalElements = list1.size();
+            long listsHeap = ResourceProbe.usedHeapAfterGc() - emptyHeap;
+
+            ResourceProbe probe1 = ResourceProbe.start();
+            int equalities1 = InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_EQUALS);
+            long timeTaken1 = probe1.stop();
+
+            ResourceProbe probe2 = ResourceProbe.start();
+            int equalities2 = InheritanceObjectsComparisonTest.compareList(list1, list2, InheritanceObjectsComparisonTest.METHOD_HASH);
+            long timeTaken2 = probe2.stop();
+
+            // copy everything off the heap, and let the lists go
+            OffHeapRecordStore store1 = OffHeapRecordStore.of(list1);
+            OffHeapRecordStore store2 = OffHeapRecordStore.of(list2);
+            // noinspection UnusedAssignment
+            list1 = list2 = null;
+            long storesHeap = ResourceProbe.usedHeapAfterGc() - emptyHeap;
+            long storesOffHeap = store1.getSizeInBytes() + store2.getSizeInBytes();
+
+            ResourceProbe probe3 = ResourceProbe.start();
+            int equalities3 = compareEquals(store1, store2);
+            long timeTaken3 = probe3.stop();
+
+            ResourceProbe probe4 = ResourceProbe.start();
+            int equalities4 = compareHash(store1, store2);
+            long timeTaken4 = probe4.stop();
+
+            Log.logComparisonStats("Object graph equals", timeTaken1, equalities1, totalElements, withFootprint(probe1, listsHeap, 0));
+            Log.logComparisonStats("Object graph hash", timeTaken2, equalities2, totalElements, withFootprint(probe2, listsHeap, 0));
+            Log.logComparisonStats("Off-heap equals", timeTaken3, equalities3, totalElements,
+                    withFootprint(probe3, storesHeap, storesOffHeap));
+            Log.logComparisonStats("Off-heap hash", timeTaken4, equalities4, totalElements,
+                    withFootprint(probe4, storesHeap, storesOffHeap));
+        } catch (IllegalAccessException | InstantiationException e) {
+            System.err.println("Test failed due to " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compares records of two stores at the same positions with {@link OffHeapRecordStore.Record#equals(Object)}, reusing a single
+     * flyweight per store.<br>
+     * <b>Contract</b>: <u>Stores must contain an equal number of records.</u>
+     *
+     * @param storeA First store for comparison
+     * @param storeB Second store for comparison
+     * @return How many records were equal in these two stores
+     */
+    static int compareEquals(OffHeapRecordStore storeA, OffHeapRecordStore storeB) {
+        OffHeapRecordStore.Record a = storeA.view();
+        OffHeapRecordStore.Record b = storeB.view();
+        int equalTimes = 0;
+        int storeSize = storeA.size();
+        for (int i = 0; i < storeSize; i++) {
+            equalTimes += a.moveTo(i).equals(b.moveTo(i)) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+    /**
+     * Same as {@link #compareEquals(OffHeapRecordStore, OffHeapRecordStore)}, but compares {@link OffHeapRecordStore.Record#hashCode()}s.
+     *
+     * @param storeA First store for comparison
+     * @param storeB Second store for comparison
+     * @return How many records had equal hash codes in these two stores
+     */
+    static int compareHash(OffHeapRecordStore storeA, OffHeapRecordStore storeB) {
+        OffHeapRecordStore.Record a = storeA.view();
+        OffHeapRecordStore.Record b = storeB.view();
+        int equalTimes = 0;
+        int storeSize = storeA.size();
+        for (int i = 0; i < storeSize; i++) {
+            equalTimes += a.moveTo(i).hashCode() == b.moveTo(i).hashCode() ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+    private static Map<String, Long> withFootprint(ResourceProbe probe, long heapBytes, long offHeapBytes) {
+        Map<String, Long> metrics = probe.getMetrics();
+        metrics.put(Result.METRIC_RETAINED_HEAP_BYTES, heapBytes);
+        metrics.put(Result.METRIC_OFF_HEAP_BYTES, offHeapBytes);
+        return metrics;
+    }
+
+}
@@ -0,0 +1,248 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * An off-heap copy of a {@link LevelOneClass} or {@link LevelTwoClass} list. Instead of one object and two or three {@link String}s per
+ * element, all elements are stored as fixed-width records in one direct {@link ByteBuffer}, which the garbage collector never has to
+ * trace. Each record holds a field per {@link String} ({@code s1}, {@code s2} and, for {@link LevelTwoClass}, {@code s3}), and each field
+ * is a 2-byte length followed by the Latin-1 characters, padded with zeros up to the widest {@link String} in the list.
+ * <p>
+ * Records are read through a reusable {@link Record} flyweight, which has the same {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} semantics as the classes it was copied from.<br>
+ * <b>Contract</b>: <u>All elements must be of the same class, only Latin-1 characters are supported, and the whole store can't be bigger
+ * than {@link Integer#MAX_VALUE} bytes.</u>
+ */
+public final class OffHeapRecordStore {
+
+    private static final int LENGTH_BYTES = Short.BYTES;
+    private static final int MAX_FIELD_WIDTH = 0xFFFF;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int fieldCount;
+    private final int fieldWidth;
+    private final int recordWidth;
+
+    private OffHeapRecordStore(ByteBuffer buffer, int size, int fieldCount, int fieldWidth) {
+        this.buffer = buffer;
+        this.size = size;
+        this.fieldCount = fieldCount;
+        this.fieldWidth = fieldWidth;
+        this.recordWidth = fieldCount * (LENGTH_BYTES + fieldWidth);
+    }
+
+    /**
+     * Copies the given list into a new off-heap store.
+     *
+     * @param list Which elements to copy, all of the same class
+     * @return The newly created store
+     */
+    public static OffHeapRecordStore of(List<? extends LevelOneClass> list) {
+        int size = list.size();
+        Class<?> clazz = size == 0 ? LevelOneClass.class : list.get(0).getClass();
+        int fieldCount = clazz == LevelTwoClass.class ? 3 : 2;
+
+        int fieldWidth = 0;
+        for (int i = 0; i < size; i++) {
+            LevelOneClass element = list.get(i);
+            if (element.getClass() != clazz) {
+                throw new IllegalArgumentException("Mixed classes: " + clazz.getName() + " and " + element.getClass().getName());
+            }
+            for (int field = 0; field < fieldCount; field++) {
+                fieldWidth = Math.max(fieldWidth, fieldOf(element, field).length());
+            }
+        }
+        if (fieldWidth > MAX_FIELD_WIDTH) {
+            throw new IllegalArgumentException("String too long: " + fieldWidth + " characters");
+        }
+        long totalBytes = (long) size * fieldCount * (LENGTH_BYTES + fieldWidth);
+        if (totalBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Store too big: " + totalBytes + " bytes");
+        }
+
+        // direct buffers are zeroed, so the padding is always the same
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) totalBytes).order(ByteOrder.nativeOrder());
+        OffHeapRecordStore store = new OffHeapRecordStore(buffer, size, fieldCount, fieldWidth);
+        for (int i = 0; i < size; i++) {
+            for (int field = 0; field < fieldCount; field++) {
+                String s = fieldOf(list.get(i), field);
+                int offset = store.fieldOffset(i, field);
+                buffer.putShort(offset, (short) s.length());
+                for (int c = 0; c < s.length(); c++) {
+                    char character = s.charAt(c);
+                    if (character > 0xFF) {
+                        throw new IllegalArgumentException("Not a Latin-1 character: " + character);
+                    }
+                    buffer.put(offset + LENGTH_BYTES + c, (byte) character);
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * @return How many records are there in this store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return How many {@link String} fields each record has, 2 for {@link LevelOneClass} and 3 for {@link LevelTwoClass}
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @return How many bytes this store takes outside of the heap
+     */
+    public long getSizeInBytes() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @return A new flyweight, positioned at the first record. Reuse it with {@link Record#moveTo(int)} instead of creating one per record.
+     */
+    public Record view() {
+        return new Record(this);
+    }
+
+    private int fieldOffset(int index, int field) {
+        return index * recordWidth + field * (LENGTH_BYTES + fieldWidth);
+    }
+
+    private static String fieldOf(LevelOneClass element, int field) {
+        switch (field) {
+            case 0:
+                return element.s1;
+            case 1:
+                return element.s2;
+            default:
+                return ((LevelTwoClass) element).s3;
+        }
+    }
+
+    /**
+     * A movable view of a single record in a {@link OffHeapRecordStore}. It behaves like the element it was copied from: records with
+     * two fields are equal to any record whose first two fields are the same (like {@link LevelOneClass#equals(Object)}), while records
+     * with three fields are only equal to other records with all three fields the same (like {@link LevelTwoClass#equals(Object)}).
+     * Hash codes are the same as the original element's. Since the view is mutable, don't use it as a key in hash-based collections.
+     */
+    public static final class Record {
+
+        private final OffHeapRecordStore store;
+        private final ByteBuffer buffer;
+        private int index;
+
+        private Record(OffHeapRecordStore store) {
+            this.store = store;
+            this.buffer = store.buffer;
+        }
+
+        /**
+         * @param index Which record to view
+         * @return This view, for chaining
+         */
+        public Record moveTo(int index) {
+            if (index < 0 || index >= store.size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + store.size);
+            }
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * @return Which record this view is positioned at
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @param field Which field to decode, 0 for {@code s1}, 1 for {@code s2} and 2 for {@code s3}
+         * @return The field as a new {@link String}, don't use it in measured loops
+         */
+        public String getField(int field) {
+            int offset = store.fieldOffset(index, field);
+            int length = buffer.getShort(offset) & 0xFFFF;
+            char[] chars = new char[length];
+            for (int c = 0; c < length; c++) {
+                chars[c] = (char) (buffer.get(offset + LENGTH_BYTES + c) & 0xFF);
+            }
+            return new String(chars);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Record)) {
+                return false;
+            }
+            Record other = (Record) obj;
+            if (other.store.fieldCount < store.fieldCount) {
+                return false;
+            }
+            int offset = store.fieldOffset(index, 0);
+            int otherOffset = other.store.fieldOffset(other.index, 0);
+            if (other.store.fieldWidth == store.fieldWidth) {
+                // same layout and zeroed padding, so the compared fields are equal only if all of their bytes are
+                return regionEquals(offset, other.buffer, otherOffset, store.fieldCount * (LENGTH_BYTES + store.fieldWidth));
+            }
+            for (int field = 0; field < store.fieldCount; field++) {
+                int fieldOffset = offset + field * (LENGTH_BYTES + store.fieldWidth);
+                int otherFieldOffset = otherOffset + field * (LENGTH_BYTES + other.store.fieldWidth);
+                int length = buffer.getShort(fieldOffset) & 0xFFFF;
+                if (length != (other.buffer.getShort(otherFieldOffset) & 0xFFFF)
+                        || !regionEquals(fieldOffset + LENGTH_BYTES, other.buffer, otherFieldOffset + LENGTH_BYTES, length)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = fieldHash(0);
+            for (int field = 1; field < store.fieldCount; field++) {
+                hash = (hash * fieldHash(field)) % Integer.MAX_VALUE;
+            }
+            return hash;
+        }
+
+        private boolean regionEquals(int offset, ByteBuffer otherBuffer, int otherOffset, int length) {
+            // compare 8 bytes at once, then the rest one by one
+            int c = 0;
+            for (; c + Long.BYTES <= length; c += Long.BYTES) {
+                if (buffer.getLong(offset + c) != otherBuffer.getLong(otherOffset + c)) {
+                    return false;
+                }
+            }
+            for (; c < length; c++) {
+                if (buffer.get(offset + c) != otherBuffer.get(otherOffset + c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int fieldHash(int field) {
+            // same as String#hashCode() for Latin-1 strings, but never cached like the String's
+            int offset = store.fieldOffset(index, field);
+            int length = buffer.getShort(offset) & 0xFFFF;
+            int hash = 0;
+            for (int c = 0; c < length; c++) {
+                hash = 31 * hash + (buffer.get(offset + LENGTH_BYTES + c) & 0xFF);
+            }
+            return hash;
+        }
+
+    }
+
+}
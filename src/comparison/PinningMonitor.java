@@ -0,0 +1,77 @@
+
+package comparison;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Counts how many times virtual threads got pinned to their carrier thread, e.g. by blocking inside a {@code synchronized} block. Pinning
+ * is recorded with Flight Recorder's {@code jdk.VirtualThreadPinned} event, which the JVM only emits on Java 21 or newer, so on older JVMs
+ * nothing is ever counted.
+ */
+final class PinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Recording recording;
+
+    private long pinnedEvents;
+    private long pinnedNanos;
+
+    private PinningMonitor(Recording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * @return A started monitor, recording only the pinning events
+     */
+    static PinningMonitor start() {
+        Recording recording = new Recording();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO);
+        recording.start();
+        return new PinningMonitor(recording);
+    }
+
+    /**
+     * Stops recording and counts the recorded events. Call this only once.
+     *
+     * @throws IOException When the recording can't be read back
+     */
+    void stop() throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try {
+            recording.dump(file);
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (PINNED_EVENT.equals(event.getEventType().getName())) {
+                    pinnedEvents++;
+                    pinnedNanos += event.getDuration().toNanos();
+                }
+            }
+        } finally {
+            recording.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * @return How many times a virtual thread was pinned while recording
+     */
+    long getPinnedEvents() {
+        return pinnedEvents;
+    }
+
+    /**
+     * @return How long virtual threads were pinned in total (in nanoseconds)
+     */
+    long getPinnedNanos() {
+        return pinnedNanos;
+    }
+
+}
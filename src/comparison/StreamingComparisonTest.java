@@ -0,0 +1,131 @@
+
+package comparison;
+
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.ListGenerator;
+import helpers.Log;
+import helpers.report.ResourceProbe;
+import helpers.report.Result;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A streaming comparison test. Runs the same comparisons as {@link InheritanceObjectsComparisonTest} and {@link ClassComparisonTest}, but
+ * through a {@link ComparisonPipeline}, so the datasets are never materialized and can be much bigger than the heap. Each comparison
+ * method is a pipeline stage, and its running equality count is logged together with its throughput and stalls once all items went
+ * through.
+ * <p>
+ * The dataset size, chunk size and queue capacity can be changed with the {@code streaming.items}, {@code streaming.chunk} and
+ * {@code streaming.queue} system properties, e.g. {@code -Dstreaming.items=100000000} compares 100M pairs in a few dozen megabytes.
+ */
+public class StreamingComparisonTest {
+
+    private static final long DEFAULT_ITEMS = 10000000L;
+    private static final int DEFAULT_CHUNK_SIZE = 16384;
+    private static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    public static void main(String[] args) {
+        long testItems = Long.getLong("streaming.items", DEFAULT_ITEMS);
+        int chunkSize = Integer.getInteger("streaming.chunk", DEFAULT_CHUNK_SIZE);
+        int queueCapacity = Integer.getInteger("streaming.queue", DEFAULT_QUEUE_CAPACITY);
+
+        long testTimeStart = System.currentTimeMillis();
+        System.out.println("STARTING STREAMING TEST WITH " + LevelOneClass.class.getSimpleName() + "\n");
+        workWith(ComparisonStrategies.OBJECT_COMPARISONS.values(), testItems, chunkSize, queueCapacity,
+                (index, items) -> createChunk(LevelOneClass.class, index, items));
+        System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+
+        testTimeStart = System.currentTimeMillis();
+        System.out.println("STARTING STREAMING TEST WITH " + LevelTwoClass.class.getSimpleName() + "\n");
+        workWith(ComparisonStrategies.OBJECT_COMPARISONS.values(), testItems, chunkSize, queueCapacity,
+                (index, items) -> createChunk(LevelTwoClass.class, index, items));
+        System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+
+        testTimeStart = System.currentTimeMillis();
+        System.out.println("STARTING STREAMING TEST WITH CLASS COMPARISONS\n");
+        workWith(ComparisonStrategies.CLASS_COMPARISONS.values(), testItems, chunkSize, queueCapacity,
+                StreamingComparisonTest::createMixedChunk);
+        System.out.println("TEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+    }
+
+    /**
+     * Runs all comparisons through a pipeline, and logs the message for each comparison (stage) performed.
+     *
+     * @param strategies Which comparisons to run
+     * @param items How many pairs to compare
+     * @param chunkSize How many pairs are created at once
+     * @param queueCapacity How many chunks can wait in front of each stage
+     * @param factory Creates the chunks
+     */
+    private static void workWith(Collection<ComparisonStrategy<LevelOneClass>> strategies, long items, int chunkSize, int queueCapacity,
+            ComparisonPipeline.ChunkFactory factory) {
+        ComparisonPipeline pipeline = new ComparisonPipeline(strategies, queueCapacity);
+        try {
+            ResourceProbe probe = ResourceProbe.startAllThreads();
+            List<ComparisonPipeline.Stage> stages = pipeline.run(items, chunkSize, factory);
+            long elapsed = probe.stop();
+
+            Map<String, Long> metrics = probe.getMetrics();
+            System.out.println(String.format("Producer: %,d pairs in %,dns, busy for %,dns, blocked %,d time(s) for %,dns. Heap went from "
+                    + "%,dKB to %,dKB.\n", pipeline.getProducedElements(), elapsed, pipeline.getProducerBusyNanos(),
+                    pipeline.getProducerBlocks(), pipeline.getProducerBlockedNanos(), metrics.get(Result.METRIC_HEAP_BEFORE_BYTES) / 1024,
+                    metrics.get(Result.METRIC_HEAP_AFTER_BYTES) / 1024));
+
+            for (ComparisonPipeline.Stage stage : stages) {
+                if (stage.getFailure() != null) {
+                    System.err.println("Couldn't compare with " + stage.getName() + " due to " + stage.getFailure().getMessage());
+                    continue;
+                }
+                Map<String, Long> stageMetrics = new LinkedHashMap<>();
+                stageMetrics.put(Result.METRIC_STALLS, stage.getStalls());
+                stageMetrics.put(Result.METRIC_STALLED_NANOS, stage.getStalledNanos());
+                long busyNanos = stage.getBusyNanos();
+                long pairsPerSecond = busyNanos == 0 ? 0 : (long) (stage.getElements() * 1000000000d / busyNanos);
+                stageMetrics.put(Result.METRIC_PAIRS_PER_SECOND, pairsPerSecond);
+                Log.logComparisonStats(stage.getName(), busyNanos, stage.getEqualities(), stage.getElements(), stageMetrics);
+            }
+            Log.flush();
+        } catch (InstantiationException | IllegalAccessException e) {
+            System.err.println("Test failed due to " + e.getMessage());
+        } catch (InterruptedException e) {
+            System.err.println("Test interrupted due to " + e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a chunk the same way {@link InheritanceObjectsComparisonTest} creates its lists: the second list is a deep clone of the
+     * first one, with one part (30%) shuffled. Each chunk is seeded with its index, so the whole stream is always the same.
+     */
+    private static ComparisonPipeline.Chunk createChunk(Class<? extends LevelOneClass> clazz, long index, int items)
+            throws InstantiationException, IllegalAccessException {
+        List<LevelOneClass> listA = ListGenerator.createCloneables(items, clazz, index);
+        List<LevelOneClass> listB = ListGenerator.deepCloneList(listA);
+        Collections.shuffle(listB.subList(0, (int) Math.floor(0.3f * listB.size())), new Random(index));
+        return new ComparisonPipeline.Chunk(listA, listB);
+    }
+
+    /**
+     * Creates a chunk the same way {@link ClassComparisonTest} creates its lists: half of the items are {@link LevelOneClass}es, the other
+     * half {@link LevelTwoClass}es, and the second list is a shallow copy of the first one with one part (40%) shuffled.
+     */
+    private static ComparisonPipeline.Chunk createMixedChunk(long index, int items) throws InstantiationException, IllegalAccessException {
+        Random random = new Random(index);
+        List<LevelOneClass> listA = new ArrayList<>(items);
+        listA.addAll(ListGenerator.createCloneables(items / 2, LevelOneClass.class, index));
+        listA.addAll(ListGenerator.createCloneables(items - items / 2, LevelTwoClass.class, index));
+        Collections.shuffle(listA, random);
+        List<LevelOneClass> listB = new ArrayList<>(listA);
+        Collections.shuffle(listB.subList(0, (int) Math.floor(0.4f * listB.size())), random);
+        return new ComparisonPipeline.Chunk(listA, listB);
+    }
+
+}
@@ -0,0 +1,328 @@
+
+package comparison.dispatch;
+
+/**
+ * A sealed hierarchy for type dispatch tests, in two shapes (see {@link NodeShape}): {@code WideN} classes all extend {@link Node}
+ * directly, while each {@code DeepN} class extends the one before it, down to {@link Deep10}. Each class knows its own type ID, which is
+ * the index of the class in its shape, so that dispatch results can be checked.
+ */
+public abstract sealed class Node {
+
+    private final int typeId;
+
+    Node(int typeId) {
+        this.typeId = typeId;
+    }
+
+    /**
+     * @return Index of this object's class in its {@link NodeShape}
+     */
+    public int getTypeId() {
+        return typeId;
+    }
+
+    /**
+     * Calls the {@link NodeVisitor} method for this object's class (double dispatch).
+     *
+     * @param visitor Which visitor to call
+     * @return Whatever the visitor returned
+     */
+    public abstract int accept(NodeVisitor visitor);
+
+    public static final class Wide0 extends Node {
+
+        public Wide0() {
+            super(0);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Wide1 extends Node {
+
+        public Wide1() {
+            super(1);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Wide2 extends Node {
+
+        public Wide2() {
+            super(2);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Wide3 extends Node {
+
+        public Wide3() {
+            super(3);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Wide4 extends Node {
+
+        public Wide4() {
+            super(4);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Wide5 extends Node {
+
+        public Wide5() {
+            super(5);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Wide6 extends Node {
+
+        public Wide6() {
+            super(6);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Wide7 extends Node {
+
+        public Wide7() {
+            super(7);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Wide8 extends Node {
+
+        public Wide8() {
+            super(8);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Wide9 extends Node {
+
+        public Wide9() {
+            super(9);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static sealed class Deep1 extends Node {
+
+        public Deep1() {
+            this(0);
+        }
+
+        Deep1(int typeId) {
+            super(typeId);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static sealed class Deep2 extends Deep1 {
+
+        public Deep2() {
+            this(1);
+        }
+
+        Deep2(int typeId) {
+            super(typeId);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static sealed class Deep3 extends Deep2 {
+
+        public Deep3() {
+            this(2);
+        }
+
+        Deep3(int typeId) {
+            super(typeId);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static sealed class Deep4 extends Deep3 {
+
+        public Deep4() {
+            this(3);
+        }
+
+        Deep4(int typeId) {
+            super(typeId);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static sealed class Deep5 extends Deep4 {
+
+        public Deep5() {
+            this(4);
+        }
+
+        Deep5(int typeId) {
+            super(typeId);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static sealed class Deep6 extends Deep5 {
+
+        public Deep6() {
+            this(5);
+        }
+
+        Deep6(int typeId) {
+            super(typeId);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static sealed class Deep7 extends Deep6 {
+
+        public Deep7() {
+            this(6);
+        }
+
+        Deep7(int typeId) {
+            super(typeId);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static sealed class Deep8 extends Deep7 {
+
+        public Deep8() {
+            this(7);
+        }
+
+        Deep8(int typeId) {
+            super(typeId);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static sealed class Deep9 extends Deep8 {
+
+        public Deep9() {
+            this(8);
+        }
+
+        Deep9(int typeId) {
+            super(typeId);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+    public static final class Deep10 extends Deep9 {
+
+        public Deep10() {
+            super(9);
+        }
+
+        @Override
+        public int accept(NodeVisitor visitor) {
+            return visitor.visit(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+
+package comparison.dispatch;
+
+import helpers.dispatch.TypeDispatcher;
+import helpers.dispatch.TypeDispatchers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Shapes of the {@link Node} hierarchy. Both have {@link #getTypeCount()} classes, so the number of subclasses and the depth of the
+ * hierarchy can be varied separately: {@link #WIDE} grows in the number of direct subclasses, {@link #DEEP} grows in depth only. HotSpot
+ * checks subclasses of the first 8 levels (counting {@link Object}) in constant time, so the deepest {@link #DEEP} classes are the ones
+ * where {@code instanceof} gets slower.
+ */
+public enum NodeShape {
+
+    WIDE(List.of(Node.Wide0::new, Node.Wide1::new, Node.Wide2::new, Node.Wide3::new, Node.Wide4::new, Node.Wide5::new, Node.Wide6::new,
+            Node.Wide7::new, Node.Wide8::new, Node.Wide9::new)),
+
+    DEEP(List.of(Node.Deep1::new, Node.Deep2::new, Node.Deep3::new, Node.Deep4::new, Node.Deep5::new, Node.Deep6::new, Node.Deep7::new,
+            Node.Deep8::new, Node.Deep9::new, Node.Deep10::new));
+
+    private final List<Supplier<Node>> factories;
+
+    NodeShape(List<Supplier<Node>> factories) {
+        this.factories = factories;
+    }
+
+    /**
+     * @return How many classes this shape has
+     */
+    public int getTypeCount() {
+        return factories.size();
+    }
+
+    /**
+     * Creates a shuffled list with (about) the same number of objects of each of the first few classes.
+     *
+     * @param listItems How many list items will the list have
+     * @param types How many classes to use, from 1 to {@link #getTypeCount()}
+     * @param seed Seed of the random generator, so that the list is always the same
+     * @return The newly created list
+     */
+    public List<Node> createList(int listItems, int types, long seed) {
+        if (types < 1 || types > factories.size()) {
+            throw new IllegalArgumentException("Type count must be from 1 to " + factories.size() + ", was " + types);
+        }
+        List<Node> list = new ArrayList<>(listItems);
+        for (int i = 0; i < listItems; i++) {
+            list.add(factories.get(i % types).get());
+        }
+        Collections.shuffle(list, new Random(seed));
+        return list;
+    }
+
+    /**
+     * @return A handler for every class of this shape, returning the type ID of that class
+     */
+    public Map<Class<?>, ToIntFunction<Object>> createHandlers() {
+        Map<Class<?>, ToIntFunction<Object>> handlers = new LinkedHashMap<>();
+        for (int i = 0; i < factories.size(); i++) {
+            int typeId = i;
+            handlers.put(factories.get(i).get().getClass(), value -> typeId);
+        }
+        return handlers;
+    }
+
+    /**
+     * Creates the general dispatchers from {@link TypeDispatchers#all(Map)}, plus the ones that only work with a sealed hierarchy
+     * ({@code sealedSwitch}) or with a hierarchy that accepts visitors ({@code visitor}).
+     *
+     * @return Unmodifiable map of dispatchers in a stable order, all of them returning type IDs
+     */
+    public Map<String, TypeDispatcher> createDispatchers() {
+        Map<String, TypeDispatcher> dispatchers = new LinkedHashMap<>(TypeDispatchers.all(createHandlers()));
+        dispatchers.put("sealedSwitch", new SealedSwitchDispatcher(this));
+        dispatchers.put("visitor", new VisitorDispatcher());
+        return Collections.unmodifiableMap(dispatchers);
+    }
+
+}
@@ -0,0 +1,50 @@
+
+package comparison.dispatch;
+
+/**
+ * The visitor side of double dispatch over the {@link Node} hierarchy: {@link Node#accept(NodeVisitor)} is a virtual call picking the
+ * class, and that class calls the overload for itself.
+ */
+public interface NodeVisitor {
+
+    int visit(Node.Wide0 node);
+
+    int visit(Node.Wide1 node);
+
+    int visit(Node.Wide2 node);
+
+    int visit(Node.Wide3 node);
+
+    int visit(Node.Wide4 node);
+
+    int visit(Node.Wide5 node);
+
+    int visit(Node.Wide6 node);
+
+    int visit(Node.Wide7 node);
+
+    int visit(Node.Wide8 node);
+
+    int visit(Node.Wide9 node);
+
+    int visit(Node.Deep1 node);
+
+    int visit(Node.Deep2 node);
+
+    int visit(Node.Deep3 node);
+
+    int visit(Node.Deep4 node);
+
+    int visit(Node.Deep5 node);
+
+    int visit(Node.Deep6 node);
+
+    int visit(Node.Deep7 node);
+
+    int visit(Node.Deep8 node);
+
+    int visit(Node.Deep9 node);
+
+    int visit(Node.Deep10 node);
+
+}
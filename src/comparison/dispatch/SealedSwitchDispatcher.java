@@ -0,0 +1,101 @@
+
+package comparison.dispatch;
+
+import helpers.dispatch.TypeDispatcher;
+
+/**
+ * Dispatches over the sealed {@link Node} hierarchy the way a pattern matching {@code switch} does. Java 17 only has that switch as a
+ * preview, so it's written out as the chain of {@code instanceof} checks it boils down to: type patterns are tried in order, and a
+ * subclass has to come before its superclass. The order is the same as in {@link NodeShape}, except for {@link NodeShape#DEEP} where it's
+ * reversed, so the deepest classes are checked first.
+ */
+class SealedSwitchDispatcher implements TypeDispatcher {
+
+    private final boolean deep;
+
+    /**
+     * @param shape Which classes to check for
+     */
+    SealedSwitchDispatcher(NodeShape shape) {
+        this.deep = shape == NodeShape.DEEP;
+    }
+
+    @Override
+    public String getName() {
+        return "Sealed switch";
+    }
+
+    @Override
+    public int dispatch(Object value) {
+        return deep ? switchDeep((Node) value) : switchWide((Node) value);
+    }
+
+    private static int switchWide(Node node) {
+        if (node instanceof Node.Wide0) {
+            return 0;
+        }
+        if (node instanceof Node.Wide1) {
+            return 1;
+        }
+        if (node instanceof Node.Wide2) {
+            return 2;
+        }
+        if (node instanceof Node.Wide3) {
+            return 3;
+        }
+        if (node instanceof Node.Wide4) {
+            return 4;
+        }
+        if (node instanceof Node.Wide5) {
+            return 5;
+        }
+        if (node instanceof Node.Wide6) {
+            return 6;
+        }
+        if (node instanceof Node.Wide7) {
+            return 7;
+        }
+        if (node instanceof Node.Wide8) {
+            return 8;
+        }
+        if (node instanceof Node.Wide9) {
+            return 9;
+        }
+        throw new IllegalArgumentException("No handler for " + node.getClass().getName());
+    }
+
+    private static int switchDeep(Node node) {
+        if (node instanceof Node.Deep10) {
+            return 9;
+        }
+        if (node instanceof Node.Deep9) {
+            return 8;
+        }
+        if (node instanceof Node.Deep8) {
+            return 7;
+        }
+        if (node instanceof Node.Deep7) {
+            return 6;
+        }
+        if (node instanceof Node.Deep6) {
+            return 5;
+        }
+        if (node instanceof Node.Deep5) {
+            return 4;
+        }
+        if (node instanceof Node.Deep4) {
+            return 3;
+        }
+        if (node instanceof Node.Deep3) {
+            return 2;
+        }
+        if (node instanceof Node.Deep2) {
+            return 1;
+        }
+        if (node instanceof Node.Deep1) {
+            return 0;
+        }
+        throw new IllegalArgumentException("No handler for " + node.getClass().getName());
+    }
+
+}
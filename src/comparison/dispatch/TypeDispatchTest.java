@@ -0,0 +1,156 @@
+
+package comparison.dispatch;
+
+import comparison.ClassComparisonTest;
+import comparison.InheritanceObjectsComparisonTest.LevelOneClass;
+import comparison.InheritanceObjectsComparisonTest.LevelTwoClass;
+
+import helpers.Log;
+import helpers.dispatch.TypeDispatcher;
+import helpers.dispatch.TypeDispatchers;
+import helpers.report.ResourceProbe;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * A type dispatch test. Where {@link ClassComparisonTest} compares classes of two objects, this looks up a handler by the class of one
+ * object, the way production code dispatches on types. First over the {@link LevelOneClass}/{@link LevelTwoClass} mixed list, then over
+ * both {@link NodeShape}s with a growing number of classes, counting how many objects got the handler of their own class (which should be
+ * all of them).
+ * <p>
+ * All dispatchers go through the same loop here, so its call to {@link TypeDispatcher#dispatch(Object)} is megamorphic. The benchmark runs
+ * each dispatcher in its own fork instead.
+ */
+public class TypeDispatchTest {
+
+    private static final int[] TYPE_COUNTS = { 1, 2, 4, 8, 10 };
+
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) {
+        // do tests with all shapes, several times
+        int testItems = 1000000;
+        int testRounds = 3;
+        for (int i = 1; i <= testRounds; i++) {
+            long testTimeStart = System.currentTimeMillis();
+            System.out.println("STARTING TEST [" + i + "]\n");
+            workWithLevels(testItems);
+            for (NodeShape shape : NodeShape.values()) {
+                for (int types : TYPE_COUNTS) {
+                    workWith(shape, types, testItems);
+                }
+            }
+            System.out.println("\nTEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+        }
+    }
+
+    /**
+     * Does the type dispatch test over the {@link LevelOneClass}/{@link LevelTwoClass} mixed list, and logs the message for each
+     * dispatcher.
+     *
+     * @param listItems How many list items will the list have
+     */
+    private static void workWithLevels(int listItems) {
+        try {
+            List<LevelOneClass> list = ClassComparisonTest.createMixedList(listItems);
+            int[] expected = new int[list.size()];
+            for (int i = 0; i < expected.length; i++) {
+                expected[i] = list.get(i).getClass() == LevelTwoClass.class ? 2 : 1;
+            }
+            Log.setSuite(TypeDispatchTest.class.getSimpleName() + "/levels");
+            for (TypeDispatcher dispatcher : createLevelDispatchers().values()) {
+                measure(dispatcher, list, expected);
+            }
+            Log.flush();
+        } catch (InstantiationException | IllegalAccessException e) {
+            System.err.println("Test failed due to " + e.getMessage());
+        }
+    }
+
+    /**
+     * Does the type dispatch test over one shape of the {@link Node} hierarchy, and logs the message for each dispatcher.
+     *
+     * @param shape Which hierarchy shape to use
+     * @param types How many of its classes to use
+     * @param listItems How many list items will the list have
+     */
+    private static void workWith(NodeShape shape, int types, int listItems) {
+        List<Node> list = shape.createList(listItems, types, SEED);
+        int[] expected = new int[list.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = list.get(i).getTypeId();
+        }
+        Log.setSuite(TypeDispatchTest.class.getSimpleName() + "/" + shape.name() + "/" + types);
+        for (TypeDispatcher dispatcher : shape.createDispatchers().values()) {
+            measure(dispatcher, list, expected);
+        }
+        Log.flush();
+    }
+
+    private static void measure(TypeDispatcher dispatcher, List<?> list, int[] expected) {
+        ResourceProbe probe = ResourceProbe.start();
+        int matches = countMatches(dispatcher, list, expected);
+        long timeTaken = probe.stop();
+        Log.logComparisonStats(dispatcher.getName(), timeTaken, matches, list.size(), probe.getMetrics());
+    }
+
+    /**
+     * Dispatches every list item, and checks the result against the expected one.<br>
+     * <b>Contract</b>: <u>There must be an expected result for every list item.</u>
+     *
+     * @param dispatcher How to dispatch the items
+     * @param list Which items to dispatch
+     * @param expected What the handler for each item should return
+     * @return How many items were dispatched to the expected handler
+     */
+    static int countMatches(TypeDispatcher dispatcher, List<?> list, int[] expected) {
+        int matches = 0;
+        int listSize = list.size();
+        for (int i = 0; i < listSize; i++) {
+            matches += dispatcher.dispatch(list.get(i)) == expected[i] ? 1 : 0;
+        }
+        return matches;
+    }
+
+    /**
+     * Creates the general dispatchers from {@link TypeDispatchers#all(Map)} for the {@link LevelOneClass} hierarchy, plus a chain of
+     * {@code instanceof} checks ({@code instanceOf}). A visitor would need an {@code accept} method in both classes, so that one is only
+     * done with {@link Node}s.
+     *
+     * @return Unmodifiable map of dispatchers in a stable order, returning 1 for {@link LevelOneClass} and 2 for {@link LevelTwoClass}
+     */
+    static Map<String, TypeDispatcher> createLevelDispatchers() {
+        Map<Class<?>, ToIntFunction<Object>> handlers = new LinkedHashMap<>();
+        handlers.put(LevelOneClass.class, value -> 1);
+        handlers.put(LevelTwoClass.class, value -> 2);
+        Map<String, TypeDispatcher> dispatchers = new LinkedHashMap<>(TypeDispatchers.all(handlers));
+        dispatchers.put("instanceOf", new LevelInstanceOfDispatcher());
+        return Collections.unmodifiableMap(dispatchers);
+    }
+
+    private static final class LevelInstanceOfDispatcher implements TypeDispatcher {
+
+        @Override
+        public String getName() {
+            return "Instanceof chain";
+        }
+
+        @Override
+        public int dispatch(Object value) {
+            // the subclass has to be checked first
+            if (value instanceof LevelTwoClass) {
+                return 2;
+            }
+            if (value instanceof LevelOneClass) {
+                return 1;
+            }
+            throw new IllegalArgumentException("No handler for " + value.getClass().getName());
+        }
+
+    }
+
+}
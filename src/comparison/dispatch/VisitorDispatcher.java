@@ -0,0 +1,131 @@
+
+package comparison.dispatch;
+
+import helpers.dispatch.TypeDispatcher;
+
+/**
+ * Dispatches with {@link Node#accept(NodeVisitor)}, so the lookup is a virtual call on the dispatched value, followed by a call to the
+ * visitor that is always monomorphic. This only works because every {@link Node} class implements {@code accept} itself.
+ */
+class VisitorDispatcher implements TypeDispatcher {
+
+    private final NodeVisitor visitor = new TypeIdVisitor();
+
+    @Override
+    public String getName() {
+        return "Visitor";
+    }
+
+    @Override
+    public int dispatch(Object value) {
+        return ((Node) value).accept(visitor);
+    }
+
+    /**
+     * Returns the type ID of each class, the same one the handlers in {@link NodeShape#createHandlers()} return.
+     */
+    private static final class TypeIdVisitor implements NodeVisitor {
+
+        @Override
+        public int visit(Node.Wide0 node) {
+            return 0;
+        }
+
+        @Override
+        public int visit(Node.Wide1 node) {
+            return 1;
+        }
+
+        @Override
+        public int visit(Node.Wide2 node) {
+            return 2;
+        }
+
+        @Override
+        public int visit(Node.Wide3 node) {
+            return 3;
+        }
+
+        @Override
+        public int visit(Node.Wide4 node) {
+            return 4;
+        }
+
+        @Override
+        public int visit(Node.Wide5 node) {
+            return 5;
+        }
+
+        @Override
+        public int visit(Node.Wide6 node) {
+            return 6;
+        }
+
+        @Override
+        public int visit(Node.Wide7 node) {
+            return 7;
+        }
+
+        @Override
+        public int visit(Node.Wide8 node) {
+            return 8;
+        }
+
+        @Override
+        public int visit(Node.Wide9 node) {
+            return 9;
+        }
+
+        @Override
+        public int visit(Node.Deep1 node) {
+            return 0;
+        }
+
+        @Override
+        public int visit(Node.Deep2 node) {
+            return 1;
+        }
+
+        @Override
+        public int visit(Node.Deep3 node) {
+            return 2;
+        }
+
+        @Override
+        public int visit(Node.Deep4 node) {
+            return 3;
+        }
+
+        @Override
+        public int visit(Node.Deep5 node) {
+            return 4;
+        }
+
+        @Override
+        public int visit(Node.Deep6 node) {
+            return 5;
+        }
+
+        @Override
+        public int visit(Node.Deep7 node) {
+            return 6;
+        }
+
+        @Override
+        public int visit(Node.Deep8 node) {
+            return 7;
+        }
+
+        @Override
+        public int visit(Node.Deep9 node) {
+            return 8;
+        }
+
+        @Override
+        public int visit(Node.Deep10 node) {
+            return 9;
+        }
+
+    }
+
+}
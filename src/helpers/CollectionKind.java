@@ -0,0 +1,131 @@
+
+package helpers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collections the loop tests build next to {@link ArrayList}s, each with the same content as {@link ListGenerator#createStrings(int)}. They
+ * don't share a type that all loops could go through, so each kind hands its collection to the matching {@link Visitor} method.
+ */
+public enum CollectionKind {
+
+    /**
+     * A {@link String} array, see {@link ListGenerator#createStringArray(int)}.
+     */
+    ARRAY("String[]") {
+        @Override
+        public <R> R create(int items, Visitor<R> visitor) {
+            return visitor.visitArray(ListGenerator.createStringArray(items));
+        }
+    },
+
+    /**
+     * A plain {@link ArrayList}, see {@link ListGenerator#createStrings(int)}.
+     */
+    ARRAY_LIST("ArrayList") {
+        @Override
+        public <R> R create(int items, Visitor<R> visitor) {
+            return visitor.visitList(ListGenerator.createStrings(items));
+        }
+    },
+
+    /**
+     * A {@link LinkedList}, see {@link ListGenerator#createLinkedStrings(int)}. Its {@code get} walks the list.
+     */
+    LINKED_LIST("LinkedList") {
+        @Override
+        public <R> R create(int items, Visitor<R> visitor) {
+            return visitor.visitList(ListGenerator.createLinkedStrings(items));
+        }
+    },
+
+    /**
+     * An {@link ArrayDeque}, see {@link ListGenerator#createStringDeque(int)}.
+     */
+    ARRAY_DEQUE("ArrayDeque") {
+        @Override
+        public <R> R create(int items, Visitor<R> visitor) {
+            return visitor.visitCollection(ListGenerator.createStringDeque(items));
+        }
+    },
+
+    /**
+     * A {@link CopyOnWriteArrayList}, see {@link ListGenerator#createCopyOnWriteStrings(int)}.
+     */
+    COPY_ON_WRITE_LIST("CopyOnWriteArrayList") {
+        @Override
+        public <R> R create(int items, Visitor<R> visitor) {
+            return visitor.visitList(ListGenerator.createCopyOnWriteStrings(items));
+        }
+    },
+
+    /**
+     * The values of a {@link HashMap}, see {@link ListGenerator#createStringHashMap(int)}.
+     */
+    HASH_MAP_VALUES("HashMap.values()") {
+        @Override
+        public <R> R create(int items, Visitor<R> visitor) {
+            return visitor.visitCollection(ListGenerator.createStringHashMap(items).values());
+        }
+    },
+
+    /**
+     * The entries of a {@link TreeMap}, see {@link ListGenerator#createStringTreeMap(int)}.
+     */
+    TREE_MAP_ENTRIES("TreeMap.entrySet()") {
+        @Override
+        public <R> R create(int items, Visitor<R> visitor) {
+            return visitor.visitEntries(ListGenerator.createStringTreeMap(items).entrySet());
+        }
+    };
+
+    /**
+     * Receives the collection built by {@link #create(int, Visitor)}, through the method matching its type.
+     *
+     * @param <R> What the visitor makes of the collection
+     */
+    public interface Visitor<R> {
+
+        R visitArray(String[] array);
+
+        R visitList(List<String> list);
+
+        R visitCollection(Collection<String> collection);
+
+        R visitEntries(Set<Map.Entry<Integer, String>> entries);
+
+    }
+
+    private final String displayName;
+
+    CollectionKind(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return Human-readable name of this collection kind, used when logging
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Builds a new collection of this kind, and hands it to the visitor.
+     *
+     * @param items How many items to pass to the {@link ListGenerator} builder (times 5 strings)
+     * @param visitor What to do with the collection
+     * @param <R> What the visitor makes of the collection
+     * @return Whatever the visitor returned
+     */
+    public abstract <R> R create(int items, Visitor<R> visitor);
+
+}
@@ -0,0 +1,114 @@
+
+package helpers;
+
+import helpers.report.ResourceProbe;
+
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Measures loops over the {@link CollectionKind}s. Some combinations take O(n&sup2;) time, like an index-based loop over a
+ * {@link java.util.LinkedList}, where every {@code get} walks the list from one of its ends. They are flagged in the logs, and skipped when
+ * the collection has more items than the {@value #QUADRATIC_LIMIT_PROPERTY} system property allows ({@value #DEFAULT_QUADRATIC_LIMIT} by
+ * default).
+ */
+public final class CollectionLoops {
+
+    /**
+     * System property with the biggest collection size that O(n&sup2;) loops still run with.
+     */
+    public static final String QUADRATIC_LIMIT_PROPERTY = "loops.quadraticLimit";
+
+    /**
+     * Default of {@link #QUADRATIC_LIMIT_PROPERTY}.
+     */
+    public static final int DEFAULT_QUADRATIC_LIMIT = 20000;
+
+    /**
+     * One loop over one collection, ready to run.
+     */
+    public static final class Loop {
+
+        private final String name;
+        private final IntSupplier loop;
+        private final int size;
+        private final boolean quadratic;
+
+        /**
+         * @param name Which loop this is, used when logging
+         * @param loop Loops through the collection and returns its character count
+         * @param size How many items the collection has
+         * @param quadratic Whether the loop takes O(n&sup2;) time
+         */
+        public Loop(String name, IntSupplier loop, int size, boolean quadratic) {
+            this.name = name;
+            this.loop = loop;
+            this.size = size;
+            this.quadratic = quadratic;
+        }
+
+        /**
+         * @return Which loop this is, used when logging
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Whether the loop takes O(n&sup2;) time
+         */
+        public boolean isQuadratic() {
+            return quadratic;
+        }
+
+        /**
+         * @return Whether the loop is quadratic and its collection is too big for the {@link #QUADRATIC_LIMIT_PROPERTY}
+         */
+        public boolean isOverLimit() {
+            return quadratic && size > getQuadraticLimit();
+        }
+
+        /**
+         * Loops through the collection once.
+         *
+         * @return Character count of the whole collection
+         */
+        public int run() {
+            return loop.getAsInt();
+        }
+
+    }
+
+    private CollectionLoops() {
+    }
+
+    /**
+     * @return The biggest collection size that O(n&sup2;) loops still run with, see {@link #QUADRATIC_LIMIT_PROPERTY}
+     */
+    public static int getQuadraticLimit() {
+        return Integer.getInteger(QUADRATIC_LIMIT_PROPERTY, DEFAULT_QUADRATIC_LIMIT);
+    }
+
+    /**
+     * Runs every loop once, and logs the message for each loop performed, or why it was skipped.
+     *
+     * @param loops Loops to measure, by key
+     */
+    public static void measure(Map<String, Loop> loops) {
+        for (Loop loop : loops.values()) {
+            if (loop.isOverLimit()) {
+                // skipped loops are written right away, so the stats logged before them go first
+                Log.flush();
+                System.out.println(loop.getName() + ": skipped, it's O(n^2) and the collection is bigger than " + getQuadraticLimit()
+                        + " items (change with -D" + QUADRATIC_LIMIT_PROPERTY + "=...).");
+                continue;
+            }
+            ResourceProbe probe = ResourceProbe.start();
+            int count = loop.run();
+            long elapsed = probe.stop();
+            Log.logLoopStats(loop.getName() + (loop.isQuadratic() ? " [O(n^2)]" : ""), elapsed, count, probe.getMetrics());
+        }
+        Log.flush();
+    }
+
+}
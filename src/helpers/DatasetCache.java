@@ -0,0 +1,217 @@
+
+package helpers;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A binary, on-disk cache of generated {@link Cloneable} datasets. A dataset is keyed by its seed, size, class and the
+ * {@link StringGenerator} alphabet, and what's stored are the {@link String}s the generator produced for it, chunk by chunk, in the order
+ * the constructors asked for them. Reading a dataset back memory-maps each chunk with {@link FileChannel#map} and replays the stored
+ * {@link String}s to the same constructors, so the exact same list is rebuilt without generating any random data.
+ * <p>
+ * The file layout is: magic, version, class name, alphabet, seed, item count, chunk size, chunk count, then the file offset of each chunk
+ * (plus one more marking the end), and finally the chunks themselves, each one being a sequence of {@code int} length and Latin-1 bytes
+ * pairs. Cache files go to the {@code dataset.cache.dir} system property, or to {@code java-tests-datasets} in the temporary folder.
+ */
+public class DatasetCache {
+
+    private static final int MAGIC = 0x4A544443; // "JTDC"
+    private static final int VERSION = 1;
+
+    private static DatasetCache instance;
+
+    private final File directory;
+
+    /**
+     * @param directory Where to keep the cache files, created if missing
+     */
+    public DatasetCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return The cache configured with the {@code dataset.cache.dir} system property
+     */
+    public static synchronized DatasetCache getDefault() {
+        if (instance == null) {
+            String defaultDirectory = new File(System.getProperty("java.io.tmpdir"), "java-tests-datasets").getPath();
+            instance = new DatasetCache(new File(System.getProperty("dataset.cache.dir", defaultDirectory)));
+        }
+        return instance;
+    }
+
+    /**
+     * Reads the dataset from the cache, or generates it (see {@link ListGenerator#createCloneables(int, Class, long)}) and stores it in the
+     * cache when it's not there yet. Any problems with the cache itself are logged, and the dataset is then simply generated.
+     *
+     * @param items How many items to create
+     * @param clazz The exact class of the {@link Cloneable} you want to populate the list with
+     * @param seed Which seed to use for random data
+     * @param parallel Whether to generate or read the chunks on all available processors
+     * @param <T> A class which implements the {@link Cloneable} interface
+     * @return The newly created list of {@link Cloneable}s
+     * @throws InstantiationException When creating the {@link Cloneable} via its default (empty) constructor
+     * @throws IllegalAccessException When creating the {@link Cloneable} via its default (empty) constructor
+     */
+    public <T extends Cloneable> List<T> load(int items, Class<? extends T> clazz, long seed, boolean parallel)
+            throws InstantiationException, IllegalAccessException {
+        String alphabet = StringGenerator.getAlphabet();
+        if (!isLatin1(alphabet)) {
+            // the file format only supports Latin-1, don't cache
+            return ListGenerator.fillChunked(items, clazz, parallel, ListGenerator.randomSources(items, seed));
+        }
+
+        File file = fileFor(items, clazz, seed, alphabet);
+        if (file.isFile()) {
+            boolean broken = false;
+            try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+                StringGenerator.Source[] sources = mapSources(input, items, clazz, seed, alphabet);
+                if (sources != null) {
+                    return ListGenerator.fillChunked(items, clazz, parallel, sources);
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Couldn't read cached dataset due to " + e.getMessage());
+                broken = true;
+            } catch (InstantiationException e) {
+                // replay failures (a stale or truncated file) are wrapped by fillChunked, a real constructor problem repeats below
+                System.err.println("Couldn't replay cached dataset due to " + e.getMessage());
+                broken = true;
+            }
+            if (broken && !file.delete()) {
+                System.err.println("Couldn't delete broken cached dataset " + file);
+            }
+        }
+
+        // generate while recording every String the constructors ask for
+        StringGenerator.Source[] randomSources = ListGenerator.randomSources(items, seed);
+        StringGenerator.Source[] recordingSources = new StringGenerator.Source[randomSources.length];
+        List<List<String>> recorded = new ArrayList<>(randomSources.length);
+        for (int chunk = 0; chunk < randomSources.length; chunk++) {
+            StringGenerator.Source randomSource = randomSources[chunk];
+            List<String> chunkStrings = new ArrayList<>();
+            recorded.add(chunkStrings);
+            recordingSources[chunk] = length -> {
+                String s = randomSource.next(length);
+                chunkStrings.add(s);
+                return s;
+            };
+        }
+        List<T> list = ListGenerator.fillChunked(items, clazz, parallel, recordingSources);
+
+        try {
+            write(file, items, clazz, seed, alphabet, recorded);
+        } catch (IOException e) {
+            System.err.println("Couldn't cache dataset due to " + e.getMessage());
+        }
+        return list;
+    }
+
+    private File fileFor(int items, Class<?> clazz, long seed, String alphabet) {
+        String name = String.format("%s-%d-%d-%08x.bin", clazz.getName(), items, seed, alphabet.hashCode());
+        return new File(directory, name);
+    }
+
+    /**
+     * Validates the header and maps all chunks.
+     *
+     * @return One source for each chunk, or {@code null} if the file doesn't match the key
+     */
+    private static StringGenerator.Source[] mapSources(RandomAccessFile input, int items, Class<?> clazz, long seed, String alphabet)
+            throws IOException {
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            return null;
+        }
+        boolean sameKey = input.readUTF().equals(clazz.getName()) & input.readUTF().equals(alphabet) & input.readLong() == seed
+                & input.readInt() == items & input.readInt() == ListGenerator.GENERATION_CHUNK_SIZE;
+        int chunkCount = input.readInt();
+        if (!sameKey || chunkCount != ListGenerator.chunkCount(items)) {
+            return null;
+        }
+
+        long[] offsets = new long[chunkCount + 1];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = input.readLong();
+        }
+
+        FileChannel channel = input.getChannel();
+        StringGenerator.Source[] sources = new StringGenerator.Source[chunkCount];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            // mapped buffers stay valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offsets[chunk], offsets[chunk + 1] - offsets[chunk]);
+            sources[chunk] = length -> {
+                int storedLength = buffer.getInt();
+                if (storedLength != length) {
+                    throw new IllegalStateException("Cached dataset doesn't match the generator, expected length " + length);
+                }
+                byte[] bytes = new byte[storedLength];
+                buffer.get(bytes);
+                return new String(bytes, StandardCharsets.ISO_8859_1);
+            };
+        }
+        return sources;
+    }
+
+    private void write(File file, int items, Class<?> clazz, long seed, String alphabet, List<List<String>> chunks) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can't create " + directory);
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeUTF(clazz.getName());
+        header.writeUTF(alphabet);
+        header.writeLong(seed);
+        header.writeInt(items);
+        header.writeInt(ListGenerator.GENERATION_CHUNK_SIZE);
+        header.writeInt(chunks.size());
+
+        long offset = headerBytes.size() + 8L * (chunks.size() + 1);
+        for (List<String> chunk : chunks) {
+            header.writeLong(offset);
+            for (String s : chunk) {
+                offset += 4 + s.length();
+            }
+        }
+        header.writeLong(offset);
+
+        // write to a temporary file first, so that an interrupted write never leaves a broken cache file behind
+        File temporary = new File(directory, file.getName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary), 1 << 16))) {
+            headerBytes.writeTo(output);
+            for (List<String> chunk : chunks) {
+                for (String s : chunk) {
+                    output.writeInt(s.length());
+                    output.write(s.getBytes(StandardCharsets.ISO_8859_1));
+                }
+            }
+        }
+        if (!temporary.renameTo(file)) {
+            // noinspection ResultOfMethodCallIgnored
+            temporary.delete();
+            throw new IOException("Can't move " + temporary + " to " + file);
+        }
+    }
+
+    private static boolean isLatin1(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,126 @@
+
+package helpers;
+
+import helpers.simd.ByteKernel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A flattened, read-only {@link String} dataset with fixed-width slots. Like {@link FlatStringDataset}, all characters are stored in one
+ * Latin-1 {@code byte[]} slab, but every string takes exactly {@link #getWidth()} bytes, padded with zeros. No offsets are needed, and two
+ * datasets of the same width can be compared slot by slot, which is what {@link ByteKernel}s are made for.<br>
+ * <b>Contract</b>: <u>Only Latin-1 characters except {@code '\0'} are supported, and the whole dataset can't be longer than
+ * {@link Integer#MAX_VALUE} bytes.</u>
+ */
+public class FixedWidthStringDataset {
+
+    private final byte[] slab;
+    private final int width;
+    private final int size;
+
+    private FixedWidthStringDataset(byte[] slab, int width, int size) {
+        this.slab = slab;
+        this.width = width;
+        this.size = size;
+    }
+
+    /**
+     * Flattens the given list of {@link String}s, using the longest one as the slot width.
+     *
+     * @param strings Which strings to copy into the new dataset
+     * @return The newly created dataset
+     */
+    public static FixedWidthStringDataset of(List<String> strings) {
+        int width = 0;
+        for (String s : strings) {
+            width = Math.max(width, s.length());
+        }
+        return of(strings, width);
+    }
+
+    /**
+     * Flattens the given list of {@link String}s into slots of the given width.
+     *
+     * @param strings Which strings to copy into the new dataset
+     * @param width How many bytes each slot takes, at least as many as the longest string has characters
+     * @return The newly created dataset
+     */
+    public static FixedWidthStringDataset of(List<String> strings, int width) {
+        int size = strings.size();
+        long totalLength = (long) size * width;
+        if (totalLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Dataset too big: more than " + Integer.MAX_VALUE + " bytes");
+        }
+
+        byte[] slab = new byte[(int) totalLength];
+        for (int i = 0; i < size; i++) {
+            String s = strings.get(i);
+            if (s.length() > width) {
+                throw new IllegalArgumentException("String longer than " + width + " characters: " + s);
+            }
+            for (int c = 0; c < s.length(); c++) {
+                char character = s.charAt(c);
+                if (character == 0 || character > 0xFF) {
+                    throw new IllegalArgumentException("Not a non-zero Latin-1 character: " + (int) character);
+                }
+                slab[i * width + c] = (byte) character;
+            }
+        }
+        return new FixedWidthStringDataset(slab, width, size);
+    }
+
+    /**
+     * @return How many strings are there in this dataset
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return How many bytes each string slot takes
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Creates a new {@link String} from the data at the given index. This allocates, so don't use it in measured loops.
+     *
+     * @param index Which string to create
+     * @return The newly created {@link String}
+     */
+    public String get(int index) {
+        int length = 0;
+        while (length < width && slab[index * width + length] != 0) {
+            length++;
+        }
+        return new String(slab, index * width, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Counts characters of all strings in one pass over the slab, skipping the padding.
+     *
+     * @param kernel Which kernel to count with
+     * @return Character count for the whole dataset
+     */
+    public int countCharacters(ByteKernel kernel) {
+        return kernel.countNonZero(slab, 0, slab.length);
+    }
+
+    /**
+     * Compares strings of two datasets at the same positions, in the kernel's own loop.<br>
+     * <b>Contract</b>: <u>Datasets must contain an equal number of strings, and have the same width.</u>
+     *
+     * @param other Which dataset to compare with
+     * @param kernel Which kernel to compare with
+     * @return How many strings were equal in these two datasets
+     */
+    public int countEqual(FixedWidthStringDataset other, ByteKernel kernel) {
+        if (other.width != width || other.size != size) {
+            throw new IllegalArgumentException("Datasets don't match: " + size + "x" + width + " and " + other.size + "x" + other.width);
+        }
+        return kernel.countEqual(slab, other.slab, width);
+    }
+
+}
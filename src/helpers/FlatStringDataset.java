@@ -0,0 +1,206 @@
+
+package helpers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A flattened, read-only {@link String} dataset. Instead of a list of references to {@link String} objects, all characters are stored in
+ * one Latin-1 {@code byte[]} slab and an {@code int[]} holds the offset of each string in that slab. Looping through it touches only two
+ * arrays sequentially, with no pointer chasing and no object headers, so it can be compared with the boxed {@link List} datasets from
+ * {@link ListGenerator}.<br>
+ * <b>Contract</b>: <u>Only Latin-1 characters are supported, and the whole dataset can't be longer than {@link Integer#MAX_VALUE}
+ * characters.</u>
+ */
+public class FlatStringDataset {
+
+    private final byte[] slab;
+    private final int[] offsets;
+    private final int size;
+
+    /**
+     * Creates a dataset from the given arrays. Use {@link #of(List)} or {@link ListGenerator#createFlatStrings(int)} instead of this.
+     *
+     * @param slab All characters, one after another
+     * @param offsets Offsets of all strings in the slab, with one more offset at the end that marks the end of the last string
+     */
+    FlatStringDataset(byte[] slab, int[] offsets) {
+        this.slab = slab;
+        this.offsets = offsets;
+        this.size = offsets.length - 1;
+    }
+
+    /**
+     * Flattens the given list of {@link String}s.
+     *
+     * @param strings Which strings to copy into the new dataset
+     * @return The newly created dataset
+     */
+    public static FlatStringDataset of(List<String> strings) {
+        int size = strings.size();
+        int[] offsets = new int[size + 1];
+        long totalLength = 0;
+        for (int i = 0; i < size; i++) {
+            offsets[i] = (int) totalLength;
+            totalLength += strings.get(i).length();
+            if (totalLength > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Dataset too big: more than " + Integer.MAX_VALUE + " characters");
+            }
+        }
+        offsets[size] = (int) totalLength;
+
+        byte[] slab = new byte[(int) totalLength];
+        for (int i = 0; i < size; i++) {
+            String s = strings.get(i);
+            for (int c = 0; c < s.length(); c++) {
+                char character = s.charAt(c);
+                if (character > 0xFF) {
+                    throw new IllegalArgumentException("Not a Latin-1 character: " + character);
+                }
+                slab[offsets[i] + c] = (byte) character;
+            }
+        }
+        return new FlatStringDataset(slab, offsets);
+    }
+
+    /**
+     * @return How many strings are there in this dataset
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index Which string to check
+     * @return Length of the string at the given index
+     */
+    public int length(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * @param index Which string to check
+     * @param position Which character of the string to return
+     * @return The character at the given position in the string at the given index
+     */
+    public char charAt(int index, int position) {
+        return (char) (slab[offsets[index] + position] & 0xFF);
+    }
+
+    /**
+     * Creates a new {@link String} from the data at the given index. This allocates, so don't use it in measured loops.
+     *
+     * @param index Which string to create
+     * @return The newly created {@link String}
+     */
+    public String get(int index) {
+        return new String(slab, offsets[index], length(index), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Passes the length of each string, in order, to the given consumer.
+     *
+     * @param consumer Which consumer to call
+     */
+    public void forEachLength(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(offsets[i + 1] - offsets[i]);
+        }
+    }
+
+    /**
+     * @return An iterator over lengths of all strings. It doesn't box, and it's the only object allocated for the whole loop
+     */
+    public PrimitiveIterator.OfInt lengthIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                int length = offsets[index + 1] - offsets[index];
+                index++;
+                return length;
+            }
+        };
+    }
+
+    /**
+     * @return A splittable spliterator over lengths of all strings, usable with {@link java.util.stream.StreamSupport#intStream}
+     */
+    public Spliterator.OfInt lengthSpliterator() {
+        return new LengthSpliterator(0, size);
+    }
+
+    /**
+     * @return Approximate number of bytes this dataset occupies on the heap (both arrays, including their headers)
+     */
+    public long estimatedSizeInBytes() {
+        // 16 bytes of array header is a safe upper bound on 64-bit JVMs
+        return 16L + slab.length + 16L + 4L * offsets.length;
+    }
+
+    private class LengthSpliterator implements Spliterator.OfInt {
+
+        private int index;
+        private final int end;
+
+        LengthSpliterator(int index, int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int middle = (index + end) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            LengthSpliterator prefix = new LengthSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(offsets[index + 1] - offsets[index]);
+            index++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            int[] localOffsets = offsets;
+            for (int i = index; i < end; i++) {
+                action.accept(localOffsets[i + 1] - localOffsets[i]);
+            }
+            index = end;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+
+    }
+
+}
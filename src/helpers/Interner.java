@@ -0,0 +1,46 @@
+
+package helpers;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A canonicalization pool, like {@link String#intern()} but for any immutable class with proper {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} methods. Equal values passed through the same pool come out as the same instance, so they can be compared with
+ * {@code ==} first. The pool keeps every value it has seen until it's cleared, and it's safe to use from several threads.
+ *
+ * @param <T> Type of the pooled values
+ */
+public class Interner<T> {
+
+    private final ConcurrentMap<T, T> pool = new ConcurrentHashMap<>();
+
+    /**
+     * @param value Which value to canonicalize, must not change afterwards
+     * @return The pooled value equal to the given one, which is the given value itself if there was none
+     */
+    public T intern(T value) {
+        // most lookups find a value, and a plain get doesn't lock anything
+        T canonical = pool.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        canonical = pool.putIfAbsent(value, value);
+        return canonical == null ? value : canonical;
+    }
+
+    /**
+     * @return How many distinct values are pooled
+     */
+    public int size() {
+        return pool.size();
+    }
+
+    /**
+     * Forgets all pooled values.
+     */
+    public void clear() {
+        pool.clear();
+    }
+
+}
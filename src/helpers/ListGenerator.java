@@ -1,10 +1,25 @@
 
 package helpers;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Used to generate all kinds of lists.
@@ -16,6 +31,34 @@ public class ListGenerator {
      */
     public static final int DEFAULT_LIST_SIZE = 1000000;
 
+    /**
+     * Parallel generation splits the list into chunks this big. Each chunk gets its own random generator, so the generated list doesn't
+     * depend on the number of threads or on scheduling.
+     */
+    static final int GENERATION_CHUNK_SIZE = 16384;
+
+    /**
+     * When the {@code generator.parallel} system property is {@code true}, {@link #createCloneables(int, Class)} generates in parallel,
+     * using the seed from the {@code generator.seed} system property.
+     */
+    private static final boolean PARALLEL_GENERATION = Boolean.getBoolean("generator.parallel");
+
+    /**
+     * When the {@code generator.cache} system property is {@code true}, {@link #createCloneables(int, Class)} goes through the
+     * {@link DatasetCache}, using the seed from the {@code generator.seed} system property.
+     */
+    private static final boolean CACHED_GENERATION = Boolean.getBoolean("generator.cache");
+
+    /**
+     * Words that all {@link String} lists go through, in this order.
+     */
+    private static final String[] WORDS = { "one", "two", "three", "four", "five" };
+
+    /**
+     * Seed used when {@link #PARALLEL_GENERATION} or {@link #CACHED_GENERATION} is on.
+     */
+    private static final long GENERATION_SEED = Long.getLong("generator.seed", 42L);
+
     /**
      * Creates a full String list. This calls {@link #createStrings(int)} with {@link #DEFAULT_LIST_SIZE} as parameter.
      *
@@ -35,16 +78,166 @@ public class ListGenerator {
         List<String> list = new ArrayList<>();
 
         for (int i = 0; i < items; i++) {
-            list.add("one");
-            list.add("two");
-            list.add("three");
-            list.add("four");
-            list.add("five");
+            for (String word : WORDS) {
+                list.add(word);
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Creates a {@link String} array with the same content as {@link #createStrings(int)}.
+     *
+     * @param items How long should the array be (times 5)
+     * @return The newly created array
+     */
+    public static String[] createStringArray(int items) {
+        return createStrings(items).toArray(new String[0]);
+    }
+
+    /**
+     * Creates a {@link LinkedList} with the same content as {@link #createStrings(int)}.
+     *
+     * @param items How long should the list be (times 5)
+     * @return The newly created list
+     */
+    public static LinkedList<String> createLinkedStrings(int items) {
+        return new LinkedList<>(createStrings(items));
+    }
+
+    /**
+     * Creates an {@link ArrayDeque} with the same content as {@link #createStrings(int)}, in the same order from head to tail.
+     *
+     * @param items How long should the deque be (times 5)
+     * @return The newly created deque
+     */
+    public static ArrayDeque<String> createStringDeque(int items) {
+        return new ArrayDeque<>(createStrings(items));
+    }
+
+    /**
+     * Creates a {@link CopyOnWriteArrayList} with the same content as {@link #createStrings(int)}.
+     *
+     * @param items How long should the list be (times 5)
+     * @return The newly created list
+     */
+    public static CopyOnWriteArrayList<String> createCopyOnWriteStrings(int items) {
+        return new CopyOnWriteArrayList<>(createStrings(items));
+    }
+
+    /**
+     * Creates a {@link HashMap} with the content of {@link #createStrings(int)} as values, each keyed by its position in that list.
+     *
+     * @param items How big should the map be (times 5)
+     * @return The newly created map
+     */
+    public static HashMap<Integer, String> createStringHashMap(int items) {
+        return fillMap(new HashMap<>((int) (items * 5 / 0.75f) + 1), items);
+    }
+
+    /**
+     * Creates a {@link TreeMap} with the content of {@link #createStrings(int)} as values, each keyed by its position in that list.
+     *
+     * @param items How big should the map be (times 5)
+     * @return The newly created map
+     */
+    public static TreeMap<Integer, String> createStringTreeMap(int items) {
+        return fillMap(new TreeMap<>(), items);
+    }
+
+    private static <M extends Map<Integer, String>> M fillMap(M map, int items) {
+        List<String> strings = createStrings(items);
+        int size = strings.size();
+        for (int i = 0; i < size; i++) {
+            map.put(i, strings.get(i));
         }
+        return map;
+    }
 
+    /**
+     * Creates a {@link String} list of exactly the given size, going through the same five literals as {@link #createStrings(int)}. All
+     * items are references to those five shared instances, so they always stay in the CPU caches.
+     *
+     * @param size How long should the list be
+     * @return The newly created list, with no spare capacity
+     */
+    public static ArrayList<String> createSharedStrings(int size) {
+        ArrayList<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(WORDS[i % WORDS.length]);
+        }
+        return list;
+    }
+
+    /**
+     * Same as {@link #createSharedStrings(int)}, but every item is its own {@link String} instance, with its own character array. They are
+     * allocated in list order, so they mostly lie next to each other on the heap.
+     *
+     * @param size How long should the list be
+     * @return The newly created list, with no spare capacity
+     */
+    public static ArrayList<String> createDistinctStrings(int size) {
+        ArrayList<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // the copy constructor would share the character array of the literal
+            list.add(new String(WORDS[i % WORDS.length].toCharArray()));
+        }
         return list;
     }
 
+    /**
+     * Same as {@link #createDistinctStrings(int)}, but the list is shuffled afterwards, so looping through it jumps around the heap instead
+     * of going through it in allocation order. A moving garbage collection may copy the strings in their new order and undo part of this.
+     *
+     * @param size How long should the list be
+     * @param seed Seed of the shuffle, so that the same seed always gives the same order
+     * @return The newly created list, with no spare capacity
+     */
+    public static ArrayList<String> createScatteredStrings(int size, long seed) {
+        ArrayList<String> list = createDistinctStrings(size);
+        Collections.shuffle(list, new Random(seed));
+        return list;
+    }
+
+    /**
+     * Creates a full flattened {@link String} dataset. This calls {@link #createFlatStrings(int)} with {@link #DEFAULT_LIST_SIZE} as
+     * parameter.
+     *
+     * @return The newly created dataset
+     */
+    public static FlatStringDataset createFlatStrings() {
+        return createFlatStrings(DEFAULT_LIST_SIZE);
+    }
+
+    /**
+     * Creates a full flattened {@link String} dataset with the same content as {@link #createStrings(int)}, but stored in a single
+     * character slab instead of a list of references.
+     *
+     * @param items How long should the dataset be (times 5)
+     * @return The newly created dataset
+     */
+    public static FlatStringDataset createFlatStrings(int items) {
+        int wordsLength = 0;
+        for (String word : WORDS) {
+            wordsLength += word.length();
+        }
+
+        int size = items * WORDS.length;
+        int[] offsets = new int[size + 1];
+        byte[] slab = new byte[Math.multiplyExact(items, wordsLength)];
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            String word = WORDS[i % WORDS.length];
+            offsets[i] = offset;
+            for (int c = 0; c < word.length(); c++) {
+                slab[offset++] = (byte) word.charAt(c);
+            }
+        }
+        offsets[size] = offset;
+        return new FlatStringDataset(slab, offsets);
+    }
+
     /**
      * Creates a full {@link Cloneable} list. This calls {@link #createCloneables(int, Class)} with {@link #DEFAULT_LIST_SIZE} as parameter.
      * 
@@ -60,7 +253,10 @@ public class ListGenerator {
     }
 
     /**
-     * Creates a full {@link Cloneable} list. <i>Note</i>: {@link Cloneable}s are created using the default (empty) constructor.
+     * Creates a full {@link Cloneable} list. <i>Note</i>: {@link Cloneable}s are created using the default (empty) constructor. When the
+     * {@code generator.cache} system property is {@code true}, this calls {@link #createCloneablesCached(int, Class, long)}, otherwise when
+     * the {@code generator.parallel} system property is {@code true}, this calls {@link #createCloneablesParallel(int, Class, long)}. Both
+     * use the seed from the {@code generator.seed} system property.
      * 
      * @param items How many items to create
      * @param clazz The exact class of the {@link Cloneable} you want to populate the list with
@@ -71,6 +267,13 @@ public class ListGenerator {
      */
     public static <T extends Cloneable> List<T> createCloneables(int items, Class<? extends T> clazz)
             throws InstantiationException, IllegalAccessException {
+        if (CACHED_GENERATION) {
+            return createCloneablesCached(items, clazz, GENERATION_SEED);
+        }
+        if (PARALLEL_GENERATION) {
+            return createCloneablesParallel(items, clazz, GENERATION_SEED);
+        }
+
         List<T> list = new ArrayList<>();
         for (int i = 0; i < items; i++) {
             list.add(clazz.newInstance());
@@ -78,6 +281,153 @@ public class ListGenerator {
         return list;
     }
 
+    /**
+     * Creates a full {@link Cloneable} list with seeded random data, so the same seed always creates the same list. The list is split into
+     * chunks, and each chunk is generated with its own random generator split off a generator seeded with the given seed. The list is
+     * filled into a presized array which is then wrapped, so it doesn't support adding or removing items.<br>
+     * <i>Note</i>: {@link Cloneable}s are created using the default (empty) constructor, and all {@link StringGenerator} calls made from
+     * it draw from the chunk's random generator.
+     *
+     * @param items How many items to create
+     * @param clazz The exact class of the {@link Cloneable} you want to populate the list with
+     * @param seed Which seed to use for random data
+     * @param <T> A class which implements the {@link Cloneable} interface
+     * @return The newly created list of {@link Cloneable}s
+     * @throws InstantiationException When creating the {@link Cloneable} via its default (empty) constructor
+     * @throws IllegalAccessException When creating the {@link Cloneable} via its default (empty) constructor
+     */
+    public static <T extends Cloneable> List<T> createCloneables(int items, Class<? extends T> clazz, long seed)
+            throws InstantiationException, IllegalAccessException {
+        return fillChunked(items, clazz, false, randomSources(items, seed));
+    }
+
+    /**
+     * Same as {@link #createCloneables(int, Class, long)}, creating the exact same list for the same seed, but on all available
+     * processors.
+     *
+     * @param items How many items to create
+     * @param clazz The exact class of the {@link Cloneable} you want to populate the list with
+     * @param seed Which seed to use for random data
+     * @param <T> A class which implements the {@link Cloneable} interface
+     * @return The newly created list of {@link Cloneable}s
+     * @throws InstantiationException When creating the {@link Cloneable} via its default (empty) constructor
+     * @throws IllegalAccessException When creating the {@link Cloneable} via its default (empty) constructor
+     */
+    public static <T extends Cloneable> List<T> createCloneablesParallel(int items, Class<? extends T> clazz, long seed)
+            throws InstantiationException, IllegalAccessException {
+        return fillChunked(items, clazz, true, randomSources(items, seed));
+    }
+
+    /**
+     * Same as {@link #createCloneables(int, Class, long)}, creating the exact same list for the same seed, but going through the default
+     * {@link DatasetCache}: the first call generates the list and stores it on disk, and later calls (even in later JVM runs) read it back
+     * instead of generating it again. When the {@code generator.parallel} system property is {@code true}, the list is generated (or read)
+     * on all available processors.
+     *
+     * @param items How many items to create
+     * @param clazz The exact class of the {@link Cloneable} you want to populate the list with
+     * @param seed Which seed to use for random data
+     * @param <T> A class which implements the {@link Cloneable} interface
+     * @return The newly created list of {@link Cloneable}s
+     * @throws InstantiationException When creating the {@link Cloneable} via its default (empty) constructor
+     * @throws IllegalAccessException When creating the {@link Cloneable} via its default (empty) constructor
+     */
+    public static <T extends Cloneable> List<T> createCloneablesCached(int items, Class<? extends T> clazz, long seed)
+            throws InstantiationException, IllegalAccessException {
+        return DatasetCache.getDefault().load(items, clazz, seed, PARALLEL_GENERATION);
+    }
+
+    /**
+     * @param items How many items will be created
+     * @return How many chunks will the items be split into
+     */
+    static int chunkCount(int items) {
+        return (items + GENERATION_CHUNK_SIZE - 1) / GENERATION_CHUNK_SIZE;
+    }
+
+    /**
+     * Creates one seeded {@link StringGenerator.Source} for each chunk. Random generators are split in order, so that chunks don't depend
+     * on scheduling.
+     *
+     * @param items How many items will be created
+     * @param seed Which seed to use for random data
+     * @return Sources for all chunks, in order
+     */
+    static StringGenerator.Source[] randomSources(int items, long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        StringGenerator.Source[] sources = new StringGenerator.Source[chunkCount(items)];
+        for (int chunk = 0; chunk < sources.length; chunk++) {
+            SplittableRandom chunkRandom = root.split();
+            sources[chunk] = length -> StringGenerator.create(length, chunkRandom);
+        }
+        return sources;
+    }
+
+    /**
+     * Fills a presized array with new {@link Cloneable}s chunk by chunk, and wraps it as a list. While a chunk is being filled, all
+     * {@link StringGenerator} calls made on that thread take their {@link String}s from the chunk's source.
+     *
+     * @param items How many items to create
+     * @param clazz The exact class of the {@link Cloneable} you want to populate the list with
+     * @param parallel Whether to fill the chunks on all available processors, or one by one on the current thread
+     * @param sources One source for each chunk, see {@link #chunkCount(int)}
+     * @param <T> A class which implements the {@link Cloneable} interface
+     * @return The newly created list of {@link Cloneable}s
+     * @throws InstantiationException When creating the {@link Cloneable} via its default (empty) constructor
+     * @throws IllegalAccessException When creating the {@link Cloneable} via its default (empty) constructor
+     */
+    static <T extends Cloneable> List<T> fillChunked(int items, Class<? extends T> clazz, boolean parallel,
+            StringGenerator.Source[] sources) throws InstantiationException, IllegalAccessException {
+        Constructor<? extends T> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new InstantiationException("No default constructor in " + clazz.getName());
+        }
+
+        @SuppressWarnings("unchecked")
+        T[] array = (T[]) new Cloneable[items];
+        List<Callable<Void>> chunks = new ArrayList<>(sources.length);
+        for (int chunk = 0; chunk < sources.length; chunk++) {
+            int chunkFrom = chunk * GENERATION_CHUNK_SIZE;
+            int chunkTo = Math.min(items, chunkFrom + GENERATION_CHUNK_SIZE);
+            StringGenerator.Source chunkSource = sources[chunk];
+            chunks.add(() -> {
+                StringGenerator.setThreadSource(chunkSource);
+                try {
+                    for (int i = chunkFrom; i < chunkTo; i++) {
+                        array[i] = constructor.newInstance();
+                    }
+                } finally {
+                    StringGenerator.setThreadSource(null);
+                }
+                return null;
+            });
+        }
+
+        try {
+            if (parallel) {
+                for (Future<Void> chunk : ForkJoinPool.commonPool().invokeAll(chunks)) {
+                    chunk.get();
+                }
+            } else {
+                for (Callable<Void> chunk : chunks) {
+                    chunk.call();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InstantiationException("Interrupted while creating " + clazz.getName());
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            if (cause instanceof IllegalAccessException) {
+                throw (IllegalAccessException) cause;
+            }
+            throw new InstantiationException("Couldn't create " + clazz.getName() + " due to " + cause);
+        }
+        return Arrays.asList(array);
+    }
+
     /**
      * Tries to clone the list of {@link Cloneable} objects. Since {@link Cloneable#clone()} IS public (interface makes it public), one
      * would think that it is accessible generically, but {@link Object#clone()} doesn't allow invoking the method as it is declared as
@@ -0,0 +1,87 @@
+
+package helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * {@link List} implementations that production code passes through the same methods. Each one has its own {@code get}, {@code size} and
+ * iterator classes, so a call site that sees several of them stops being monomorphic.
+ */
+public enum ListKind {
+
+    /**
+     * A plain {@link ArrayList}, the one all loop tests are measured with.
+     */
+    ARRAY_LIST("ArrayList") {
+        @Override
+        public List<String> copyOf(List<String> list) {
+            return new ArrayList<>(list);
+        }
+    },
+
+    /**
+     * A fixed-size list backed by an array, as returned by {@link Arrays#asList(Object[])}.
+     */
+    ARRAYS_AS_LIST("Arrays.asList") {
+        @Override
+        public List<String> copyOf(List<String> list) {
+            return Arrays.asList(list.toArray(new String[0]));
+        }
+    },
+
+    /**
+     * An immutable list, as returned by {@link List#of(Object[])} (and {@link List#copyOf(java.util.Collection)}).
+     */
+    LIST_OF("List.of") {
+        @Override
+        public List<String> copyOf(List<String> list) {
+            return List.copyOf(list);
+        }
+    },
+
+    /**
+     * A {@link LinkedList}. Its {@code get} walks the list, so only use it with short lists in index-based loops.
+     */
+    LINKED_LIST("LinkedList") {
+        @Override
+        public List<String> copyOf(List<String> list) {
+            return new LinkedList<>(list);
+        }
+    },
+
+    /**
+     * A read-only view of an {@link ArrayList}, as returned by {@link Collections#unmodifiableList(List)}.
+     */
+    UNMODIFIABLE("Unmodifiable view") {
+        @Override
+        public List<String> copyOf(List<String> list) {
+            return Collections.unmodifiableList(new ArrayList<>(list));
+        }
+    };
+
+    private final String displayName;
+
+    ListKind(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return Human-readable name of this list kind, used when logging
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Copies the given list into a new list of this kind.
+     *
+     * @param list Which list to copy
+     * @return The newly created list
+     */
+    public abstract List<String> copyOf(List<String> list);
+
+}
@@ -1,46 +1,246 @@
 
 package helpers;
 
+import helpers.report.Reporter;
+import helpers.report.ResourceProbe;
+import helpers.report.Result;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
- * Helper class for quick terminal logging only for tests performed by this project.
+ * Helper class for quick terminal logging only for tests performed by this project. Logged stats are buffered by a {@link Reporter} and
+ * only written out when {@link #flush()} is called (or when the JVM exits), so logging doesn't perturb the next measurement.
  */
 public class Log {
 
+    private static Reporter reporter;
+    private static String suite = defaultSuite();
+
+    /**
+     * Use this to change where the logged stats go. By default, the {@link Reporter#fromSystemProperties()} reporter is used.
+     *
+     * @param reporter Which reporter to use
+     */
+    public static synchronized void setReporter(Reporter reporter) {
+        Log.reporter = reporter;
+    }
+
+    /**
+     * @return The reporter receiving all logged stats
+     */
+    public static synchronized Reporter getReporter() {
+        if (reporter == null) {
+            reporter = Reporter.fromSystemProperties();
+        }
+        return reporter;
+    }
+
     /**
-     * Writes detailed info to the default output about the loop performed. With this, you should use loops that iterate over a
-     * {@link String} dataset so that you can provide a character count for the whole dataset as a parameter in this method.
+     * Groups all stats logged after this call under the given suite name. This is needed when the same test names are logged for different
+     * setups (e.g. different classes), so the results can be told apart. By default, the name of the main class is used.
+     *
+     * @param suite Which suite name to use
+     */
+    public static synchronized void setSuite(String suite) {
+        Log.suite = suite;
+    }
+
+    /**
+     * Writes out all buffered stats. Call this between measurements, never during one.
+     */
+    public static void flush() {
+        getReporter().flush();
+    }
+
+    /**
+     * Records detailed info about the loop performed, to be written out with the other buffered stats on {@link #flush()}. With this, you
+     * should use loops that iterate over a {@link String} dataset so that you can provide a character count for the whole dataset as a
+     * parameter in this method.
      *
      * @param name Which loop was performed
      * @param elapsedNano How long did it take to complete (in nanoseconds)
      * @param charCount When looping through the dataset, collect character count for it and pass it in here
-     * @see System#out
+     * @see #flush()
      * @see System#nanoTime()
      */
     public static void logLoopStats(String name, long elapsedNano, int charCount) {
-        float timePerChar = (float) elapsedNano / (float) charCount;
-        String part1 = String.format("%s: %,dns, character count: %,d. ", name, elapsedNano, charCount);
-        String part2 = String.format("Time per character is %.3fns.", timePerChar);
-        System.out.println(part1 + part2);
+        getReporter().record(Result.loop(suite, name, elapsedNano, charCount));
+    }
+
+    /**
+     * Same as {@link #logLoopStats(String, long, int)}, but with additional measurements written next to the usual stats.
+     *
+     * @param name Which loop was performed
+     * @param elapsedNano How long did it take to complete (in nanoseconds)
+     * @param charCount When looping through the dataset, collect character count for it and pass it in here
+     * @param metrics Additional named measurements (e.g. from a {@link ResourceProbe}), written in iteration order
+     * @see #flush()
+     * @see System#nanoTime()
+     */
+    public static void logLoopStats(String name, long elapsedNano, int charCount, Map<String, Long> metrics) {
+        getReporter().record(new Result(suite, name, Result.Kind.LOOP, elapsedNano, charCount, Result.NOT_APPLICABLE, metrics));
     }
 
     /**
-     * Writes detailed info to the default output about the comparison performed. With this, you should use compared lists that contain a
-     * {@link Cloneable} dataset so that you can provide a good {@link Object#equals(Object)} method. Another use case would be comparing
-     * classes of dataset objects to see how well standard class comparison and inheritance operators work.
+     * Records detailed info about the parallel loop performed, including its speedup and efficiency compared with a single-threaded loop
+     * over the same dataset. It's written out with the other buffered stats on {@link #flush()}.
+     *
+     * @param name Which loop was performed
+     * @param threads How many threads were used
+     * @param elapsedNano How long did it take to complete (in nanoseconds)
+     * @param charCount When looping through the dataset, collect character count for it and pass it in here
+     * @param baselineNano How long did the single-threaded loop take to complete (in nanoseconds)
+     * @see #flush()
+     * @see System#nanoTime()
+     */
+    public static void logScalingStats(String name, int threads, long elapsedNano, int charCount, long baselineNano) {
+        logScalingStats(name, threads, elapsedNano, charCount, baselineNano, Collections.<String, Long> emptyMap());
+    }
+
+    /**
+     * Same as {@link #logScalingStats(String, int, long, int, long)}, but with additional measurements written next to the usual stats.
+     *
+     * @param name Which loop was performed
+     * @param threads How many threads were used
+     * @param elapsedNano How long did it take to complete (in nanoseconds)
+     * @param charCount When looping through the dataset, collect character count for it and pass it in here
+     * @param baselineNano How long did the single-threaded loop take to complete (in nanoseconds)
+     * @param metrics Additional named measurements (e.g. from a {@link ResourceProbe}), written in iteration order
+     * @see #flush()
+     * @see System#nanoTime()
+     */
+    public static void logScalingStats(String name, int threads, long elapsedNano, int charCount, long baselineNano,
+            Map<String, Long> metrics) {
+        Map<String, Long> allMetrics = new LinkedHashMap<>();
+        allMetrics.put(Result.METRIC_THREADS, (long) threads);
+        allMetrics.put(Result.METRIC_BASELINE_NANOS, baselineNano);
+        allMetrics.putAll(metrics);
+        String threadsName = name + " [" + threads + " thread(s)]";
+        getReporter().record(new Result(suite, threadsName, Result.Kind.LOOP, elapsedNano, charCount, Result.NOT_APPLICABLE, allMetrics));
+    }
+
+    /**
+     * Records detailed info about the loop performed after its profile was polluted with other {@code List} classes, including its
+     * slowdown compared with the same loop when it only saw one class. It's written out with the other buffered stats on {@link #flush()}.
+     *
+     * @param name Which loop was performed
+     * @param listTypes How many {@code List} classes the loop saw before it was measured
+     * @param elapsedNano How long did it take to complete (in nanoseconds)
+     * @param charCount When looping through the dataset, collect character count for it and pass it in here
+     * @param baselineNano How long did the loop take to complete when it only saw one class (in nanoseconds)
+     * @param metrics Additional named measurements (e.g. from a {@link ResourceProbe}), written in iteration order
+     * @see helpers.PollutedLoops
+     */
+    public static void logPollutedLoopStats(String name, int listTypes, long elapsedNano, int charCount, long baselineNano,
+            Map<String, Long> metrics) {
+        Map<String, Long> allMetrics = new LinkedHashMap<>();
+        allMetrics.put(Result.METRIC_LIST_TYPES, (long) listTypes);
+        allMetrics.put(Result.METRIC_BASELINE_NANOS, baselineNano);
+        allMetrics.putAll(metrics);
+        String typesName = name + " [" + listTypes + " list type(s)]";
+        getReporter().record(new Result(suite, typesName, Result.Kind.LOOP, elapsedNano, charCount, Result.NOT_APPLICABLE, allMetrics));
+    }
+
+    /**
+     * Records detailed info about the loop performed over one dataset size of a scaling sweep, including the time per element, which is
+     * what shows where the dataset stops fitting into each cache level. It's written out with the other buffered stats on {@link #flush()}.
+     *
+     * @param name Which loop was performed
+     * @param datasetElements How many elements the dataset had
+     * @param passes How many times the loop went through the whole dataset
+     * @param elapsedNano How long did all passes take to complete (in nanoseconds)
+     * @param charCount Character count of all passes together
+     * @param metrics Additional named measurements (e.g. from a {@link ResourceProbe}), written in iteration order
+     * @see helpers.ScalingSweep
+     */
+    public static void logSizeScalingStats(String name, int datasetElements, int passes, long elapsedNano, int charCount,
+            Map<String, Long> metrics) {
+        Map<String, Long> allMetrics = new LinkedHashMap<>();
+        allMetrics.put(Result.METRIC_DATASET_ELEMENTS, (long) datasetElements);
+        allMetrics.put(Result.METRIC_PASSES, (long) passes);
+        allMetrics.putAll(metrics);
+        String sizeName = String.format("%s [%,d element(s)]", name, datasetElements);
+        getReporter().record(new Result(suite, sizeName, Result.Kind.LOOP, elapsedNano, charCount, Result.NOT_APPLICABLE, allMetrics));
+    }
+
+    /**
+     * Records detailed info about the comparison performed, to be written out with the other buffered stats on {@link #flush()}. With this,
+     * you should use compared lists that contain a {@link Cloneable} dataset so that you can provide a good {@link Object#equals(Object)}
+     * method. Another use case would be comparing classes of dataset objects to see how well standard class comparison and inheritance
+     * operators work.
      *
      * @param name Which comparison was performed
      * @param elapsedNano How long did it take to complete (in nanoseconds)
      * @param equalities How many items in the list had equal classes or data
      * @param totalElements How many items did the whole list have
-     * @see System#out
+     * @see #flush()
      * @see System#nanoTime()
      */
     public static void logComparisonStats(String name, long elapsedNano, int equalities, int totalElements) {
-        float timesPerComparison = (float) elapsedNano / (float) totalElements;
-        int percentEqual = (int) Math.floor(((float) equalities / (float) totalElements) * 100f);
-        String part1 = String.format("%s: %,dns, equalities: %,d. ", name, elapsedNano, equalities);
-        String part2 = String.format("Time per comparison is %.3fns. %d%% of the list was equal.", timesPerComparison, percentEqual);
-        System.out.println(part1 + part2);
+        getReporter().record(Result.comparison(suite, name, elapsedNano, equalities, totalElements));
+    }
+
+    /**
+     * Same as {@link #logComparisonStats(String, long, int, int)}, but with additional measurements written next to the usual stats.
+     *
+     * @param name Which comparison was performed
+     * @param elapsedNano How long did it take to complete (in nanoseconds)
+     * @param equalities How many items in the list had equal classes or data
+     * @param totalElements How many items did the whole list have
+     * @param metrics Additional named measurements, written in iteration order
+     * @see #flush()
+     * @see System#nanoTime()
+     */
+    public static void logComparisonStats(String name, long elapsedNano, int equalities, int totalElements, Map<String, Long> metrics) {
+        getReporter().record(new Result(suite, name, Result.Kind.COMPARISON, elapsedNano, totalElements, equalities, metrics));
+    }
+
+    /**
+     * Same as {@link #logComparisonStats(String, long, int, int, Map)}, but for streamed comparisons that can go past
+     * {@link Integer#MAX_VALUE} elements.
+     *
+     * @param name Which comparison was performed
+     * @param elapsedNano How long did it take to complete (in nanoseconds)
+     * @param equalities How many items in the stream had equal classes or data
+     * @param totalElements How many items did the whole stream have
+     * @param metrics Additional named measurements, written in iteration order
+     * @see #flush()
+     * @see System#nanoTime()
+     */
+    public static void logComparisonStats(String name, long elapsedNano, long equalities, long totalElements, Map<String, Long> metrics) {
+        getReporter().record(new Result(suite, name, Result.Kind.COMPARISON, elapsedNano, totalElements, equalities, metrics));
+    }
+
+    /**
+     * Records detailed info about the comparison performed on several threads, including its speedup compared with the single-threaded
+     * comparison. It's written out with the other buffered stats on {@link #flush()}.
+     *
+     * @param name Which comparison was performed
+     * @param threads How many threads were used
+     * @param elapsedNano How long did it take to complete (in nanoseconds)
+     * @param equalities How many items in the list had equal classes or data
+     * @param totalElements How many items did the whole list have
+     * @param baselineNano How long did the single-threaded comparison take to complete (in nanoseconds)
+     * @param metrics Additional named measurements (e.g. from a {@link ResourceProbe}), written in iteration order
+     */
+    public static void logComparisonScalingStats(String name, int threads, long elapsedNano, int equalities, int totalElements,
+            long baselineNano, Map<String, Long> metrics) {
+        Map<String, Long> allMetrics = new LinkedHashMap<>();
+        allMetrics.put(Result.METRIC_THREADS, (long) threads);
+        allMetrics.put(Result.METRIC_BASELINE_NANOS, baselineNano);
+        allMetrics.putAll(metrics);
+        String threadsName = name + " [" + threads + " thread(s)]";
+        getReporter().record(new Result(suite, threadsName, Result.Kind.COMPARISON, elapsedNano, totalElements, equalities, allMetrics));
+    }
+
+    private static String defaultSuite() {
+        // looks like "loops.forl.ForLoopTest arg1 arg2" when started from the command line
+        String command = System.getProperty("sun.java.command", "");
+        String mainClass = command.split(" ")[0];
+        String simpleName = mainClass.substring(mainClass.lastIndexOf('.') + 1);
+        return simpleName.isEmpty() ? "default" : simpleName;
     }
 
 }
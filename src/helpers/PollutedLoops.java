@@ -0,0 +1,108 @@
+
+package helpers;
+
+import helpers.report.ResourceProbe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Measures list loops after their type profiles were polluted with other {@link ListKind}s. The JIT inlines {@code List} calls that only
+ * ever saw one class (monomorphic), inlines both classes behind a type check when there were two (bimorphic), and falls back to a real
+ * interface call when there were more (megamorphic). Loop tests only use {@link ArrayList}s, so without this they always measure the
+ * best case.
+ * <p>
+ * Profiles can't be reset, so this has to run after all other measurements in the JVM, and each step of {@link #LIST_TYPE_STEPS} only
+ * adds list kinds to the previous one.
+ */
+public final class PollutedLoops {
+
+    /**
+     * When this system property is {@code true}, loop tests also run {@link #measure(List, Map)} after their usual measurements.
+     */
+    public static final String POLLUTION_PROPERTY = "loops.pollution";
+
+    /**
+     * How many {@link ListKind}s the loops see in each step, the first step being monomorphic, the second bimorphic.
+     */
+    public static final int[] LIST_TYPE_STEPS = { 1, 2, 3, ListKind.values().length };
+
+    /**
+     * How many items the polluting lists have. They are short, because {@link ListKind#LINKED_LIST} is slow in index-based loops.
+     */
+    private static final int POLLUTION_LIST_SIZE = 100;
+
+    /**
+     * How many times each loop runs over polluting lists, enough for the JIT to compile it with the polluted profile.
+     */
+    private static final int POLLUTION_CALLS = 20000;
+
+    /**
+     * Keeps the results of polluting loops, so that the JIT can't eliminate them.
+     */
+    private static volatile int sink;
+
+    private PollutedLoops() {
+    }
+
+    /**
+     * Returns whether the current run should measure polluted loops, see {@link #POLLUTION_PROPERTY}.
+     *
+     * @return {@code true} if polluted loops should be measured
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(POLLUTION_PROPERTY);
+    }
+
+    /**
+     * Runs the loop over short lists of the first few {@link ListKind}s, taking turns so that each kind is seen equally often. After this,
+     * no list kind is dominant in the loop's profile, so the JIT can't optimize for just one of them.
+     *
+     * @param loop Which loop to pollute
+     * @param sample Items to put into the polluting lists, only the first {@link #POLLUTION_LIST_SIZE} are used
+     * @param listTypes How many list kinds to use, from 1 to all of them
+     */
+    public static void pollute(ToIntFunction<List<String>> loop, List<String> sample, int listTypes) {
+        List<String> items = sample.subList(0, Math.min(POLLUTION_LIST_SIZE, sample.size()));
+        List<List<String>> lists = new ArrayList<>(listTypes);
+        for (int i = 0; i < listTypes; i++) {
+            lists.add(ListKind.values()[i].copyOf(items));
+        }
+        int charCount = 0;
+        for (int call = 0; call < POLLUTION_CALLS; call++) {
+            charCount += loop.applyAsInt(lists.get(call % listTypes));
+        }
+        sink = charCount;
+    }
+
+    /**
+     * Measures every loop over the given list after each step of {@link #LIST_TYPE_STEPS}, and logs the message for each loop, with the
+     * slowdown compared to the monomorphic step.
+     *
+     * @param list Which list to loop through, usually an {@link ArrayList}
+     * @param loops Loops to measure, by name
+     */
+    public static void measure(List<String> list, Map<String, ToIntFunction<List<String>>> loops) {
+        long[] baselines = new long[loops.size()];
+        for (int listTypes : LIST_TYPE_STEPS) {
+            int index = 0;
+            for (Map.Entry<String, ToIntFunction<List<String>>> loop : loops.entrySet()) {
+                pollute(loop.getValue(), list, listTypes);
+
+                ResourceProbe probe = ResourceProbe.start();
+                int count = loop.getValue().applyAsInt(list);
+                long elapsed = probe.stop();
+
+                if (listTypes == LIST_TYPE_STEPS[0]) {
+                    baselines[index] = elapsed;
+                }
+                Log.logPollutedLoopStats(loop.getKey(), listTypes, elapsed, count, baselines[index], probe.getMetrics());
+                index++;
+            }
+            Log.flush();
+        }
+    }
+
+}
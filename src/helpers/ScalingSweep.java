@@ -0,0 +1,294 @@
+
+package helpers;
+
+import helpers.footprint.LayoutEstimator;
+import helpers.report.ResourceProbe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Measures loops over datasets of growing size, doubling from {@value #MIN_ELEMENTS} elements up to the {@value #MAX_ELEMENTS_PROPERTY}
+ * system property ({@value #DEFAULT_MAX_ELEMENTS} by default). The time per element stays flat while the dataset fits into a cache level,
+ * and jumps when it stops fitting, first out of L1, then L2, L3, and finally into DRAM.
+ * <p>
+ * Every size is measured with each {@link Layout}, from a {@link FlatStringDataset} with no references at all, over a {@link String} array
+ * and an {@link ArrayList} of the five shared literals, to lists of distinct strings, in allocation order and shuffled. The difference
+ * between them is what pointer indirection costs at each size. Small datasets are looped through several times, so that every measurement
+ * visits about {@value #VISITS_PER_MEASUREMENT} elements. Sizes that don't fit into the free heap are skipped.
+ */
+public final class ScalingSweep {
+
+    /**
+     * When this system property is {@code true}, loop tests also run a scaling sweep after their usual measurements.
+     */
+    public static final String SCALING_PROPERTY = "loops.scaling";
+
+    /**
+     * System property with the biggest dataset size (in elements) of the sweep.
+     */
+    public static final String MAX_ELEMENTS_PROPERTY = "loops.scaling.maxElements";
+
+    /**
+     * Default of {@link #MAX_ELEMENTS_PROPERTY}.
+     */
+    public static final int DEFAULT_MAX_ELEMENTS = 100000000;
+
+    /**
+     * Size (in elements) of the smallest dataset, small enough for L1 in every layout.
+     */
+    public static final int MIN_ELEMENTS = 1024;
+
+    /**
+     * How many elements each measurement visits at least, going through small datasets several times.
+     */
+    private static final long VISITS_PER_MEASUREMENT = 50000000L;
+
+    /**
+     * Size of the dataset each loop is compiled with before the sweep starts.
+     */
+    private static final int WARMUP_ELEMENTS = 10000;
+
+    /**
+     * How many times each loop runs before the sweep starts, enough for the JIT to compile it.
+     */
+    private static final int WARMUP_CALLS = 20000;
+
+    /**
+     * Only this much of the free heap is used for one dataset, the rest is left for garbage that wasn't collected yet.
+     */
+    private static final double HEAP_SHARE = 0.8;
+
+    private static final long SEED = 42L;
+
+    /**
+     * Keeps the results of warmup loops, so that the JIT can't eliminate them.
+     */
+    private static volatile int sink;
+
+    /**
+     * How the dataset is stored.
+     */
+    public enum Layout {
+
+        /**
+         * A {@link FlatStringDataset}, only two arrays and no references
+         */
+        FLAT("Flat dataset", "flat"),
+
+        /**
+         * A {@link String} array of the five shared literals
+         */
+        ARRAY("String[], shared literals", "String[]"),
+
+        /**
+         * An {@link ArrayList} of the five shared literals, see {@link ListGenerator#createSharedStrings(int)}
+         */
+        SHARED("ArrayList, shared literals", "shared"),
+
+        /**
+         * An {@link ArrayList} of distinct strings in allocation order, see {@link ListGenerator#createDistinctStrings(int)}
+         */
+        DISTINCT("ArrayList, distinct strings", "distinct"),
+
+        /**
+         * An {@link ArrayList} of distinct strings in random order, see {@link ListGenerator#createScatteredStrings(int, long)}
+         */
+        SCATTERED("ArrayList, scattered strings", "scattered");
+
+        private final String description;
+        private final String shortName;
+
+        Layout(String description, String shortName) {
+            this.description = description;
+            this.shortName = shortName;
+        }
+
+        /**
+         * @return What the layout is, used when logging
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * @return A short name, used as a table column
+         */
+        public String getShortName() {
+            return shortName;
+        }
+
+    }
+
+    private ScalingSweep() {
+    }
+
+    /**
+     * Returns whether the current run should do a scaling sweep, see {@link #SCALING_PROPERTY}.
+     *
+     * @return {@code true} if the sweep should run
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(SCALING_PROPERTY);
+    }
+
+    /**
+     * @return The biggest dataset size of the sweep, see {@link #MAX_ELEMENTS_PROPERTY}
+     */
+    public static int getMaxElements() {
+        return Integer.getInteger(MAX_ELEMENTS_PROPERTY, DEFAULT_MAX_ELEMENTS);
+    }
+
+    /**
+     * @return All dataset sizes of the sweep, doubling from {@link #MIN_ELEMENTS}, and ending with {@link #getMaxElements()}
+     */
+    public static List<Integer> getSizes() {
+        int maxElements = getMaxElements();
+        List<Integer> sizes = new ArrayList<>();
+        for (long size = MIN_ELEMENTS; size < maxElements; size *= 2) {
+            sizes.add((int) size);
+        }
+        sizes.add(maxElements);
+        return sizes;
+    }
+
+    /**
+     * Measures each loop with every size from {@link #getSizes()}, logs the message for each loop performed, or why it was skipped, and
+     * writes a table of times per element at the end.
+     *
+     * @param flatLoop Loops through a {@link Layout#FLAT} dataset and returns its character count
+     * @param arrayLoop Loops through a {@link Layout#ARRAY} dataset and returns its character count
+     * @param listLoop Loops through the {@link ArrayList} layouts and returns their character count
+     */
+    public static void measure(ToIntFunction<FlatStringDataset> flatLoop, ToIntFunction<String[]> arrayLoop,
+            ToIntFunction<List<String>> listLoop) {
+        Layout[] layouts = Layout.values();
+        // warms up the passes too, not just the loops, so that the smallest sizes aren't measured while they are compiled
+        int charCount = 0;
+        for (Layout layout : layouts) {
+            IntSupplier pass = createPass(layout, WARMUP_ELEMENTS, flatLoop, arrayLoop, listLoop);
+            for (int call = 0; call < WARMUP_CALLS; call++) {
+                charCount += pass.getAsInt();
+            }
+        }
+        sink = charCount;
+
+        LayoutEstimator estimator = LayoutEstimator.forCurrentJvm();
+        List<Integer> sizes = getSizes();
+        double[][] nanosPerElement = new double[sizes.size()][layouts.length];
+        for (int sizeIndex = 0; sizeIndex < sizes.size(); sizeIndex++) {
+            int size = sizes.get(sizeIndex);
+            for (Layout layout : layouts) {
+                long estimatedBytes = estimateBytes(layout, size, estimator);
+                long freeBytes = getFreeHeapBytes();
+                if (estimatedBytes > freeBytes * HEAP_SHARE) {
+                    // the previous datasets may still be on the heap
+                    System.gc();
+                    freeBytes = getFreeHeapBytes();
+                }
+                if (estimatedBytes > freeBytes * HEAP_SHARE) {
+                    nanosPerElement[sizeIndex][layout.ordinal()] = Double.NaN;
+                    // skipped sizes are written right away, so the stats logged before them go first
+                    Log.flush();
+                    System.out.println(String.format("%s [%,d element(s)]: skipped, it needs about %,dMB, more than %.0f%% of the %,dMB of "
+                            + "free heap (start with a bigger -Xmx or a smaller -D%s).", layout.getDescription(), size,
+                            estimatedBytes / (1024 * 1024), HEAP_SHARE * 100, freeBytes / (1024 * 1024), MAX_ELEMENTS_PROPERTY));
+                    continue;
+                }
+
+                IntSupplier pass = createPass(layout, size, flatLoop, arrayLoop, listLoop);
+                int passes = (int) Math.max(1, VISITS_PER_MEASUREMENT / size);
+                ResourceProbe probe = ResourceProbe.start();
+                int count = 0;
+                for (int i = 0; i < passes; i++) {
+                    count += pass.getAsInt();
+                }
+                long elapsed = probe.stop();
+                nanosPerElement[sizeIndex][layout.ordinal()] = (double) elapsed / ((double) size * passes);
+                Log.logSizeScalingStats(layout.getDescription(), size, passes, elapsed, count, probe.getMetrics());
+            }
+            Log.flush();
+        }
+        writeTable(sizes, layouts, nanosPerElement);
+    }
+
+    /**
+     * Builds the dataset of the given layout and size, and binds it to its loop. The dataset is only referenced by the returned pass, so it
+     * can be collected as soon as the pass is dropped.
+     *
+     * @param layout How to store the dataset
+     * @param size How many elements the dataset should have
+     * @param flatLoop Loops through a {@link Layout#FLAT} dataset and returns its character count
+     * @param arrayLoop Loops through a {@link Layout#ARRAY} dataset and returns its character count
+     * @param listLoop Loops through the {@link ArrayList} layouts and returns their character count
+     * @return Loops through the whole dataset once, and returns its character count
+     */
+    public static IntSupplier createPass(Layout layout, int size, ToIntFunction<FlatStringDataset> flatLoop,
+            ToIntFunction<String[]> arrayLoop, ToIntFunction<List<String>> listLoop) {
+        switch (layout) {
+            case FLAT:
+                FlatStringDataset flat = FlatStringDataset.of(ListGenerator.createSharedStrings(size));
+                return () -> flatLoop.applyAsInt(flat);
+            case ARRAY:
+                String[] array = ListGenerator.createSharedStrings(size).toArray(new String[0]);
+                return () -> arrayLoop.applyAsInt(array);
+            case SHARED:
+                List<String> shared = ListGenerator.createSharedStrings(size);
+                return () -> listLoop.applyAsInt(shared);
+            case DISTINCT:
+                List<String> distinct = ListGenerator.createDistinctStrings(size);
+                return () -> listLoop.applyAsInt(distinct);
+            case SCATTERED:
+                List<String> scattered = ListGenerator.createScatteredStrings(size, SEED);
+                return () -> listLoop.applyAsInt(scattered);
+            default:
+                throw new IllegalArgumentException("Unknown layout: " + layout);
+        }
+    }
+
+    /**
+     * Estimates the most heap a dataset needs while it's being built, including the shared list the flat dataset and the array are copied
+     * from, and a character array for each distinct string.
+     */
+    private static long estimateBytes(Layout layout, int size, LayoutEstimator estimator) {
+        long references = estimator.estimateArray(String.class, size);
+        switch (layout) {
+            case FLAT:
+                // the longest word has five characters
+                return references + estimator.estimateArray(int.class, size + 1) + estimator.estimateArray(byte.class, size * 5);
+            case ARRAY:
+                return 2 * references;
+            case SHARED:
+                return references;
+            default:
+                long stringBytes = estimator.sizeOf("") + estimator.estimateArray(byte.class, 5);
+                return references + size * stringBytes;
+        }
+    }
+
+    private static long getFreeHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+    }
+
+    private static void writeTable(List<Integer> sizes, Layout[] layouts, double[][] nanosPerElement) {
+        System.out.println("\nTime per element (in nanoseconds):");
+        StringBuilder header = new StringBuilder(String.format("%15s", "elements"));
+        for (Layout layout : layouts) {
+            header.append(String.format(" | %10s", layout.getShortName()));
+        }
+        System.out.println(header);
+        for (int sizeIndex = 0; sizeIndex < sizes.size(); sizeIndex++) {
+            StringBuilder row = new StringBuilder(String.format("%,15d", sizes.get(sizeIndex)));
+            for (Layout layout : layouts) {
+                double nanos = nanosPerElement[sizeIndex][layout.ordinal()];
+                row.append(Double.isNaN(nanos) ? String.format(" | %10s", "skipped") : String.format(" | %10.3f", nanos));
+            }
+            System.out.println(row);
+        }
+        System.out.println();
+    }
+
+}
@@ -1,6 +1,9 @@
 
 package helpers;
 
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
 /**
  * Used to generate random sequences of characters.
  */
@@ -14,7 +17,37 @@ public class StringGenerator {
     /**
      * This is used as the default alphabet when generating Strings.
      */
-    private static String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789";
+    private static volatile String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ 0123456789";
+
+    /**
+     * Latin-1 bytes of {@link #alphabet}, used by the bulk generation methods. It's replaced (never changed) whenever the alphabet changes,
+     * so a generating thread always sees a complete alphabet. It's {@code null} when the alphabet is not Latin-1.
+     */
+    private static volatile byte[] alphabetBytes = toLatin1(alphabet);
+
+    /**
+     * How many bits of a random {@code long} are used for a single character in bulk generation, so that each {@code long} gives 4.
+     */
+    private static final int BITS_PER_CHARACTER = 16;
+
+    /**
+     * When set for the current thread, {@link #create(int)} takes its {@link String}s from this instead of generating them with the shared
+     * {@link Math#random()}. Used by the seeded generation in {@link ListGenerator} and by {@link DatasetCache}.
+     */
+    private static final ThreadLocal<Source> threadSource = new ThreadLocal<>();
+
+    /**
+     * Supplies {@link String}s to {@link #create(int)} on a single thread, see {@link #setThreadSource(Source)}.
+     */
+    interface Source {
+
+        /**
+         * @param length How long should the {@link String} be
+         * @return The next {@link String}
+         */
+        String next(int length);
+
+    }
 
     /**
      * Use this to change the default alphabet for generating Strings.
@@ -22,9 +55,17 @@ public class StringGenerator {
      * @param alphabet Which alphabet to use
      */
     public static void setAlphabet(String alphabet) {
+        StringGenerator.alphabetBytes = toLatin1(alphabet);
         StringGenerator.alphabet = alphabet;
     }
 
+    /**
+     * @return The alphabet currently used for generating Strings
+     */
+    public static String getAlphabet() {
+        return alphabet;
+    }
+
     /**
      * Creates a new {@link String} from the default alphabet. This calls {@link #create(int)} with {@link #DEFAULT_STRING_LENGTH} as
      * parameter.
@@ -42,6 +83,11 @@ public class StringGenerator {
      * @return The newly created {@link String}
      */
     public static String create(int length) {
+        Source source = threadSource.get();
+        if (source != null) {
+            return source.next(length);
+        }
+
         StringBuilder builder = new StringBuilder(length);
         for (int i = 0; i < length; i++) {
             char c = alphabet.charAt((int) Math.floor(Math.random() * alphabet.length()));
@@ -50,4 +96,104 @@ public class StringGenerator {
         return builder.toString();
     }
 
+    /**
+     * Creates a new {@link String} from the default alphabet, drawing characters from the given random generator. Using the same seeded
+     * generator always creates the same {@link String}s, and using a separate generator per thread avoids contention on the shared
+     * {@link Math#random()}.
+     *
+     * @param length How long should the {@link String} be
+     * @param random Which random generator to draw from
+     * @return The newly created {@link String}
+     */
+    public static String create(int length, SplittableRandom random) {
+        String letters = alphabet;
+        int lettersLength = letters.length();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = letters.charAt(random.nextInt(lettersLength));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Creates many {@link String}s from the default alphabet at once. All characters are generated into one Latin-1 buffer first (see
+     * {@link #fill(byte[], int, int, SplittableRandom)}), and each {@link String} is then created directly from its part of the buffer,
+     * without any {@link StringBuilder} or {@code char[]} copies.
+     *
+     * @param count How many {@link String}s to create
+     * @param length How long should each {@link String} be
+     * @param random Which random generator to draw from
+     * @return The newly created {@link String}s
+     * @throws IllegalStateException When the current alphabet is not Latin-1
+     */
+    public static String[] createBulk(int count, int length, SplittableRandom random) {
+        byte[] buffer = new byte[Math.multiplyExact(count, length)];
+        fill(buffer, 0, buffer.length, random);
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = new String(buffer, i * length, length, StandardCharsets.ISO_8859_1);
+        }
+        return strings;
+    }
+
+    /**
+     * Fills a part of the given buffer with random Latin-1 characters from the default alphabet, without creating any objects. Each random
+     * {@code long} gives 4 characters, picked by scaling {@value #BITS_PER_CHARACTER} random bits to the alphabet size. With an alphabet of
+     * {@code n} characters, some characters are more likely than others by at most {@code n / 65536}, which is fine for test data.
+     *
+     * @param buffer Where to write the characters
+     * @param offset Where to start writing
+     * @param length How many characters to write
+     * @param random Which random generator to draw from
+     * @throws IllegalStateException When the current alphabet is not Latin-1
+     */
+    public static void fill(byte[] buffer, int offset, int length, SplittableRandom random) {
+        byte[] letters = alphabetBytes;
+        if (letters == null) {
+            throw new IllegalStateException("Bulk generation needs a Latin-1 alphabet");
+        }
+        int lettersLength = letters.length;
+        int end = offset + length;
+        int i = offset;
+        for (; i + 4 <= end; i += 4) {
+            long bits = random.nextLong();
+            buffer[i] = letters[(int) (((bits & 0xFFFF) * lettersLength) >>> BITS_PER_CHARACTER)];
+            buffer[i + 1] = letters[(int) ((((bits >>> 16) & 0xFFFF) * lettersLength) >>> BITS_PER_CHARACTER)];
+            buffer[i + 2] = letters[(int) ((((bits >>> 32) & 0xFFFF) * lettersLength) >>> BITS_PER_CHARACTER)];
+            buffer[i + 3] = letters[(int) (((bits >>> 48) * lettersLength) >>> BITS_PER_CHARACTER)];
+        }
+        if (i < end) {
+            long bits = random.nextLong();
+            for (; i < end; i++, bits >>>= BITS_PER_CHARACTER) {
+                buffer[i] = letters[(int) (((bits & 0xFFFF) * lettersLength) >>> BITS_PER_CHARACTER)];
+            }
+        }
+    }
+
+    /**
+     * Makes {@link #create()} and {@link #create(int)} take their {@link String}s from the given source on the current thread, until this
+     * is called again with {@code null}.
+     *
+     * @param source Which source to use, or {@code null} to go back to {@link Math#random()}
+     */
+    static void setThreadSource(Source source) {
+        if (source == null) {
+            threadSource.remove();
+        } else {
+            threadSource.set(source);
+        }
+    }
+
+    private static byte[] toLatin1(String s) {
+        byte[] bytes = new byte[s.length()];
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c > 0xFF) {
+                return null;
+            }
+            bytes[i] = (byte) c;
+        }
+        return bytes;
+    }
+
 }
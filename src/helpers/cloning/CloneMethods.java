@@ -0,0 +1,52 @@
+
+package helpers.cloning;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+/**
+ * Lookup helpers shared by the {@link CloneStrategy} implementations.
+ */
+final class CloneMethods {
+
+    private CloneMethods() {
+    }
+
+    /**
+     * Finds the most specific {@code clone()} declared by the given class or its superclasses, not counting {@link Object#clone()}.
+     *
+     * @param type Which class to look in
+     * @return The found method
+     * @throws IllegalArgumentException When the class doesn't implement {@link Cloneable} or doesn't override {@link Object#clone()}
+     */
+    static Method find(Class<?> type) {
+        if (!Cloneable.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException(type.getName() + " is not Cloneable");
+        }
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Method method = c.getDeclaredMethod("clone");
+                if (!method.isBridge()) {
+                    return method;
+                }
+            } catch (NoSuchMethodException ignored) {
+                // keep looking in the superclass
+            }
+        }
+        throw new IllegalArgumentException(type.getName() + " doesn't override clone()");
+    }
+
+    /**
+     * @param type Which class to look into
+     * @return A lookup with full access to the given class, so that protected and private members can be used
+     * @throws IllegalArgumentException When the class isn't open to this module
+     */
+    static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Can't access " + type.getName(), e);
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+
+package helpers.cloning;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * A way of copying objects, used by {@link Cloner}. Strategies hand out one copying function per class, and are expected to cache them,
+ * because {@link Cloner} asks again whenever the class changes between consecutive list elements.
+ */
+public interface CloneStrategy {
+
+    /**
+     * @return Human-readable name of this strategy, used when logging
+     */
+    String getName();
+
+    /**
+     * Returns a function that copies instances of exactly the given class.
+     *
+     * @param clazz Which class the function will be copying
+     * @return The copying function
+     * @throws IllegalArgumentException When instances of the given class can't be copied with this strategy
+     */
+    UnaryOperator<Object> forClass(Class<?> clazz);
+
+}
@@ -0,0 +1,121 @@
+
+package helpers.cloning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Clones lists of {@link Cloneable} objects with a given {@link CloneStrategy}. Unlike {@link helpers.ListGenerator#deepCloneList(List)},
+ * lists may hold a mix of subclasses: each element is copied with the function for its own class.
+ */
+public final class Cloner {
+
+    /**
+     * Parallel cloning stops splitting the list when a part has this many items or less.
+     */
+    private static final int PARALLEL_THRESHOLD = 16384;
+
+    private Cloner() {
+    }
+
+    /**
+     * Clones the list on the current thread. The clones are collected into a presized array which is then wrapped, so the returned list
+     * doesn't support adding or removing items.
+     *
+     * @param original Which list to clone
+     * @param strategy How to copy the elements
+     * @param <T> A class which implements the {@link Cloneable} interface
+     * @return A fully cloned list, or an empty list if something goes wrong
+     */
+    public static <T extends Cloneable> List<T> cloneList(List<T> original, CloneStrategy strategy) {
+        if (original == null || original.size() < 1) {
+            return new ArrayList<>();
+        }
+        try {
+            Object[] clones = new Object[original.size()];
+            cloneRange(original, clones, 0, clones.length, strategy);
+            return wrap(clones);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Couldn't clone list due to " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Same as {@link #cloneList(List, CloneStrategy)}, but splits the list across all available processors. Only worth it for big lists of
+     * {@link java.util.RandomAccess} type.
+     *
+     * @param original Which list to clone
+     * @param strategy How to copy the elements
+     * @param <T> A class which implements the {@link Cloneable} interface
+     * @return A fully cloned list, or an empty list if something goes wrong
+     */
+    public static <T extends Cloneable> List<T> cloneListParallel(List<T> original, CloneStrategy strategy) {
+        if (original == null || original.size() < 1) {
+            return new ArrayList<>();
+        }
+        try {
+            Object[] clones = new Object[original.size()];
+            ForkJoinPool.commonPool().invoke(new CloneTask(original, clones, 0, clones.length, strategy));
+            return wrap(clones);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Couldn't clone list due to " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static void cloneRange(List<?> original, Object[] clones, int from, int to, CloneStrategy strategy) {
+        // asking the strategy only when the class changes keeps homogeneous lists on a single copying function
+        Class<?> lastClass = null;
+        UnaryOperator<Object> cloner = null;
+        for (int i = from; i < to; i++) {
+            Object item = original.get(i);
+            Class<?> itemClass = item.getClass();
+            if (itemClass != lastClass) {
+                cloner = strategy.forClass(itemClass);
+                lastClass = itemClass;
+            }
+            clones[i] = cloner.apply(item);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> wrap(Object[] clones) {
+        return (List<T>) Arrays.asList(clones);
+    }
+
+    private static class CloneTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<?> original;
+        private final Object[] clones;
+        private final int from;
+        private final int to;
+        private final CloneStrategy strategy;
+
+        CloneTask(List<?> original, Object[] clones, int from, int to, CloneStrategy strategy) {
+            this.original = original;
+            this.clones = clones;
+            this.from = from;
+            this.to = to;
+            this.strategy = strategy;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                cloneRange(original, clones, from, to, strategy);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CloneTask(original, clones, from, middle, strategy), new CloneTask(original, clones, middle, to, strategy));
+        }
+
+    }
+
+}
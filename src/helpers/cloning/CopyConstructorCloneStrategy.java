@@ -0,0 +1,37 @@
+
+package helpers.cloning;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copies objects through their copy constructor, i.e. a constructor taking a single parameter of the object's own class. A generated
+ * {@link UnaryOperator} calls the constructor directly (see {@link LambdaCloneStrategy}), so this shows the cost of a plain {@code new}
+ * compared with {@link Object#clone()}.
+ */
+public class CopyConstructorCloneStrategy implements CloneStrategy {
+
+    private final ClassValue<UnaryOperator<Object>> cloners = new ClassValue<UnaryOperator<Object>>() {
+        @Override
+        protected UnaryOperator<Object> computeValue(Class<?> type) {
+            MethodHandles.Lookup lookup = CloneMethods.privateLookup(type);
+            try {
+                return LambdaCloneStrategy.metafactory(lookup, lookup.findConstructor(type, MethodType.methodType(void.class, type)));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalArgumentException("No copy constructor in " + type.getName(), e);
+            }
+        }
+    };
+
+    @Override
+    public String getName() {
+        return "Copy constructor";
+    }
+
+    @Override
+    public UnaryOperator<Object> forClass(Class<?> clazz) {
+        return cloners.get(clazz);
+    }
+
+}
@@ -0,0 +1,60 @@
+
+package helpers.cloning;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.UnaryOperator;
+
+/**
+ * Uses {@link LambdaMetafactory} to generate one {@link UnaryOperator} class per cloned class, whose {@code apply} calls {@code clone()}
+ * directly, exactly like a hand-written {@code original -> original.clone()} lambda would. There is no reflection or method handle
+ * invocation left on the copying path.
+ */
+public class LambdaCloneStrategy implements CloneStrategy {
+
+    private final ClassValue<UnaryOperator<Object>> cloners = new ClassValue<UnaryOperator<Object>>() {
+        @Override
+        protected UnaryOperator<Object> computeValue(Class<?> type) {
+            MethodHandles.Lookup lookup = CloneMethods.privateLookup(type);
+            try {
+                return metafactory(lookup, lookup.unreflect(CloneMethods.find(type)));
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Can't access clone() of " + type.getName(), e);
+            }
+        }
+    };
+
+    @Override
+    public String getName() {
+        return "Generated lambda";
+    }
+
+    @Override
+    public UnaryOperator<Object> forClass(Class<?> clazz) {
+        return cloners.get(clazz);
+    }
+
+    /**
+     * Spins a {@link UnaryOperator} implementation calling the given method.
+     *
+     * @param lookup A lookup with full access to the class declaring the method
+     * @param implementation A direct handle to a method taking one argument (the receiver, or a constructor parameter) and returning the
+     *            copy
+     * @return The newly generated function
+     * @throws IllegalArgumentException When the function can't be generated
+     */
+    @SuppressWarnings("unchecked")
+    static UnaryOperator<Object> metafactory(MethodHandles.Lookup lookup, MethodHandle implementation) {
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(UnaryOperator.class),
+                    MethodType.methodType(Object.class, Object.class), implementation, implementation.type());
+            return (UnaryOperator<Object>) site.getTarget().invoke();
+        } catch (Throwable t) {
+            throw new IllegalArgumentException("Can't generate a copying function for " + lookup.lookupClass().getName(), t);
+        }
+    }
+
+}
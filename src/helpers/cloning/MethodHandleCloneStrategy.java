@@ -0,0 +1,47 @@
+
+package helpers.cloning;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.function.UnaryOperator;
+
+/**
+ * Calls {@link Object#clone()} through a {@link MethodHandle} looked up once per class. Unlike reflection, invoking the handle doesn't box
+ * arguments into an array or repeat access checks.
+ */
+public class MethodHandleCloneStrategy implements CloneStrategy {
+
+    private static final MethodType CLONE_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final ClassValue<UnaryOperator<Object>> cloners = new ClassValue<UnaryOperator<Object>>() {
+        @Override
+        protected UnaryOperator<Object> computeValue(Class<?> type) {
+            MethodHandle handle;
+            try {
+                handle = CloneMethods.privateLookup(type).unreflect(CloneMethods.find(type)).asType(CLONE_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Can't access clone() of " + type.getName(), e);
+            }
+            return original -> {
+                try {
+                    return (Object) handle.invokeExact(original);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException("Can't clone " + type.getName(), t);
+                }
+            };
+        }
+    };
+
+    @Override
+    public String getName() {
+        return "Method handle";
+    }
+
+    @Override
+    public UnaryOperator<Object> forClass(Class<?> clazz) {
+        return cloners.get(clazz);
+    }
+
+}
@@ -0,0 +1,39 @@
+
+package helpers.cloning;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.UnaryOperator;
+
+/**
+ * Calls {@link Object#clone()} through {@link Method#invoke(Object, Object...)}, like
+ * {@link helpers.ListGenerator#deepCloneList(java.util.List)} does, but looks the method up only once per class.
+ */
+public class ReflectionCloneStrategy implements CloneStrategy {
+
+    private final ClassValue<UnaryOperator<Object>> cloners = new ClassValue<UnaryOperator<Object>>() {
+        @Override
+        protected UnaryOperator<Object> computeValue(Class<?> type) {
+            Method cloneMethod = CloneMethods.find(type);
+            cloneMethod.setAccessible(true);
+            return original -> {
+                try {
+                    return cloneMethod.invoke(original);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException("Can't clone " + type.getName(), e);
+                }
+            };
+        }
+    };
+
+    @Override
+    public String getName() {
+        return "Cached reflection";
+    }
+
+    @Override
+    public UnaryOperator<Object> forClass(Class<?> clazz) {
+        return cloners.get(clazz);
+    }
+
+}
@@ -0,0 +1,54 @@
+
+package helpers.counters;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Every worker increments the same two {@link AtomicInteger}s, so every count is a compare-and-swap on a cache line all workers write to.
+ */
+public class AtomicIntegerTally implements SharedTally {
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    @Override
+    public String getName() {
+        return "Shared AtomicInteger";
+    }
+
+    @Override
+    public Recorder newRecorder(int worker) {
+        return new Recorder() {
+            @Override
+            public void hit() {
+                hits.incrementAndGet();
+            }
+
+            @Override
+            public void miss() {
+                misses.incrementAndGet();
+            }
+
+            @Override
+            public void finish() {
+            }
+        };
+    }
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public void reset() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+}
@@ -0,0 +1,55 @@
+
+package helpers.counters;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Every worker adds to the same two {@link LongAdder}s, which spread contended updates over padded cells, one per contending thread at
+ * most. Reading the totals sums up all cells.
+ */
+public class LongAdderTally implements SharedTally {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    public String getName() {
+        return "Shared LongAdder";
+    }
+
+    @Override
+    public Recorder newRecorder(int worker) {
+        return new Recorder() {
+            @Override
+            public void hit() {
+                hits.increment();
+            }
+
+            @Override
+            public void miss() {
+                misses.increment();
+            }
+
+            @Override
+            public void finish() {
+            }
+        };
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public void reset() {
+        hits.reset();
+        misses.reset();
+    }
+
+}
@@ -0,0 +1,32 @@
+
+package helpers.counters;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates all {@link SharedTally} implementations.
+ */
+public final class SharedTallies {
+
+    private SharedTallies() {
+    }
+
+    /**
+     * Creates all tallies, keyed by a short name that can be used in benchmark parameters.
+     *
+     * @param workers How many workers will record at most
+     * @return Unmodifiable map of tallies in a stable order
+     */
+    public static Map<String, SharedTally> all(int workers) {
+        Map<String, SharedTally> tallies = new LinkedHashMap<>();
+        tallies.put("atomicInteger", new AtomicIntegerTally());
+        tallies.put("longAdder", new LongAdderTally());
+        tallies.put("packedSlots", new SlotTally(workers, false));
+        tallies.put("paddedSlots", new SlotTally(workers, true));
+        tallies.put("workerLocal", new WorkerLocalTally());
+        return Collections.unmodifiableMap(tallies);
+    }
+
+}
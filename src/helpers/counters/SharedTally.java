@@ -0,0 +1,58 @@
+
+package helpers.counters;
+
+/**
+ * Hit and miss counts shared by several worker threads. Each worker gets its own {@link Recorder} and records only through it, so
+ * implementations are free to keep per-worker state. See {@link SharedTallies} for all available implementations.
+ */
+public interface SharedTally {
+
+    /**
+     * Records the results of one worker. Only the worker it was created for may use it, and it has to call {@link #finish()} when done.
+     */
+    interface Recorder {
+
+        /**
+         * Counts one hit.
+         */
+        void hit();
+
+        /**
+         * Counts one miss.
+         */
+        void miss();
+
+        /**
+         * Makes all recorded counts part of the totals, call this once when the worker is done.
+         */
+        void finish();
+
+    }
+
+    /**
+     * @return Human-readable name of this tally, used when logging
+     */
+    String getName();
+
+    /**
+     * @param worker Index of the worker, from 0 to the worker count given to {@link SharedTallies#all(int)} (exclusive)
+     * @return A new recorder for the given worker
+     */
+    Recorder newRecorder(int worker);
+
+    /**
+     * @return How many hits were counted, exact only once all recorders are finished
+     */
+    long getHits();
+
+    /**
+     * @return How many misses were counted, exact only once all recorders are finished
+     */
+    long getMisses();
+
+    /**
+     * Sets all counts back to zero. Only call this while no worker is recording.
+     */
+    void reset();
+
+}
@@ -0,0 +1,91 @@
+
+package helpers.counters;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Every worker has its own hit and miss slot in one shared array, and is the only one writing to them, so no update needs a
+ * compare-and-swap. Reading the totals sums up all slots.
+ * <p>
+ * Packed slots sit right next to each other, so several workers write to the same cache line and keep taking it away from each other
+ * (false sharing). Padded slots are {@value #PADDED_STRIDE} longs (128 bytes) apart, which also keeps them apart when the CPU prefetches
+ * cache lines in pairs.
+ */
+public class SlotTally implements SharedTally {
+
+    private static final int PACKED_STRIDE = 2;
+    private static final int PADDED_STRIDE = 16;
+
+    private final int workers;
+    private final boolean padded;
+    private final int stride;
+    private final AtomicLongArray slots;
+
+    /**
+     * @param workers How many workers will record at most
+     * @param padded Whether to keep the slots of each worker on their own cache lines
+     */
+    public SlotTally(int workers, boolean padded) {
+        this.workers = workers;
+        this.padded = padded;
+        this.stride = padded ? PADDED_STRIDE : PACKED_STRIDE;
+        // padded slots start one stride in, away from the array header and whatever is allocated before it
+        this.slots = new AtomicLongArray((workers + (padded ? 2 : 0)) * stride);
+    }
+
+    @Override
+    public String getName() {
+        return padded ? "Padded per-worker slots" : "Packed per-worker slots";
+    }
+
+    @Override
+    public Recorder newRecorder(int worker) {
+        if (worker < 0 || worker >= workers) {
+            throw new IllegalArgumentException("No slot for worker " + worker + ", there are only " + workers);
+        }
+        int hitSlot = (worker + (padded ? 1 : 0)) * stride;
+        int missSlot = hitSlot + 1;
+        return new Recorder() {
+            @Override
+            public void hit() {
+                // only this worker writes here, an opaque write is enough to keep every update in memory
+                slots.setOpaque(hitSlot, slots.getPlain(hitSlot) + 1);
+            }
+
+            @Override
+            public void miss() {
+                slots.setOpaque(missSlot, slots.getPlain(missSlot) + 1);
+            }
+
+            @Override
+            public void finish() {
+            }
+        };
+    }
+
+    @Override
+    public long getHits() {
+        return sum(0);
+    }
+
+    @Override
+    public long getMisses() {
+        return sum(1);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0);
+        }
+    }
+
+    private long sum(int offset) {
+        long sum = 0;
+        for (int i = offset; i < slots.length(); i += stride) {
+            sum += slots.get(i);
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,63 @@
+
+package helpers.counters;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Every worker counts in plain fields of its own recorder, which the JIT compiler can keep in registers, and adds them to the shared totals
+ * once, when it finishes. The totals don't include anything until then.
+ */
+public class WorkerLocalTally implements SharedTally {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Override
+    public String getName() {
+        return "Worker-local counts, merged at the end";
+    }
+
+    @Override
+    public Recorder newRecorder(int worker) {
+        return new Recorder() {
+
+            private long localHits;
+            private long localMisses;
+
+            @Override
+            public void hit() {
+                localHits++;
+            }
+
+            @Override
+            public void miss() {
+                localMisses++;
+            }
+
+            @Override
+            public void finish() {
+                hits.addAndGet(localHits);
+                misses.addAndGet(localMisses);
+                localHits = 0;
+                localMisses = 0;
+            }
+        };
+    }
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public void reset() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+}
@@ -0,0 +1,38 @@
+
+package helpers.dispatch;
+
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps the handler of each dispatched class in a {@link ClassValue}, so each class is resolved only once, including subclasses that
+ * weren't registered. This is what the JDK itself uses for per-class caches.
+ */
+public class ClassValueDispatcher implements TypeDispatcher {
+
+    private final ClassValue<ToIntFunction<Object>> handlers;
+
+    /**
+     * @param handlers Which handler to call for which class
+     */
+    public ClassValueDispatcher(Map<Class<?>, ToIntFunction<Object>> handlers) {
+        Map<Class<?>, ToIntFunction<Object>> registered = Map.copyOf(handlers);
+        this.handlers = new ClassValue<ToIntFunction<Object>>() {
+            @Override
+            protected ToIntFunction<Object> computeValue(Class<?> type) {
+                return TypeDispatchers.find(registered, type);
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return "ClassValue";
+    }
+
+    @Override
+    public int dispatch(Object value) {
+        return handlers.get(value.getClass()).applyAsInt(value);
+    }
+
+}
@@ -0,0 +1,39 @@
+
+package helpers.dispatch;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Looks the handler up in an {@link IdentityHashMap}, which compares classes with {@code ==} and never calls
+ * {@link Object#hashCode()} or {@link Object#equals(Object)} on them. The map is never changed after construction, so subclasses that
+ * weren't registered are resolved again on every dispatch.
+ */
+public class IdentityMapDispatcher implements TypeDispatcher {
+
+    private final Map<Class<?>, ToIntFunction<Object>> handlers;
+
+    /**
+     * @param handlers Which handler to call for which class
+     */
+    public IdentityMapDispatcher(Map<Class<?>, ToIntFunction<Object>> handlers) {
+        this.handlers = new IdentityHashMap<>(handlers);
+    }
+
+    @Override
+    public String getName() {
+        return "IdentityHashMap";
+    }
+
+    @Override
+    public int dispatch(Object value) {
+        Class<?> type = value.getClass();
+        ToIntFunction<Object> handler = handlers.get(type);
+        if (handler == null) {
+            handler = TypeDispatchers.find(handlers, type);
+        }
+        return handler.applyAsInt(value);
+    }
+
+}
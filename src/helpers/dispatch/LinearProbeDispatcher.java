@@ -0,0 +1,64 @@
+
+package helpers.dispatch;
+
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Looks the handler up in a small open-addressing table with linear probing, kept in two plain arrays. Unlike
+ * {@link IdentityMapDispatcher}, there's no map interface in between, and the table is at most half full, so a lookup usually checks one
+ * slot. The table is never changed after construction, so subclasses that weren't registered are resolved again on every dispatch.
+ */
+public class LinearProbeDispatcher implements TypeDispatcher {
+
+    private final Map<Class<?>, ToIntFunction<Object>> registered;
+    private final Class<?>[] keys;
+    private final ToIntFunction<Object>[] values;
+    private final int mask;
+
+    /**
+     * @param handlers Which handler to call for which class
+     */
+    @SuppressWarnings("unchecked")
+    public LinearProbeDispatcher(Map<Class<?>, ToIntFunction<Object>> handlers) {
+        registered = Map.copyOf(handlers);
+        int capacity = 2;
+        while (capacity < handlers.size() * 2) {
+            capacity <<= 1;
+        }
+        keys = new Class<?>[capacity];
+        values = (ToIntFunction<Object>[]) new ToIntFunction<?>[capacity];
+        mask = capacity - 1;
+        for (Map.Entry<Class<?>, ToIntFunction<Object>> entry : handlers.entrySet()) {
+            int slot = System.identityHashCode(entry.getKey()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Linear probe table";
+    }
+
+    @Override
+    public int dispatch(Object value) {
+        Class<?> type = value.getClass();
+        int slot = System.identityHashCode(type) & mask;
+        // at least half of the slots are empty, so this always stops
+        while (true) {
+            Class<?> key = keys[slot];
+            if (key == type) {
+                return values[slot].applyAsInt(value);
+            }
+            if (key == null) {
+                return TypeDispatchers.find(registered, type).applyAsInt(value);
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+}
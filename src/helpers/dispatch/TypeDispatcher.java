@@ -0,0 +1,24 @@
+
+package helpers.dispatch;
+
+/**
+ * Finds the handler registered for the class of a value, and calls it. When there's no handler for the exact class, the handler of the
+ * nearest superclass is used. Implementations differ only in how they look the handler up.
+ */
+public interface TypeDispatcher {
+
+    /**
+     * @return Human-readable name of this dispatcher, used when logging
+     */
+    String getName();
+
+    /**
+     * Calls the handler for the given value's class.
+     *
+     * @param value What to dispatch, never {@code null}
+     * @return Whatever the handler returned
+     * @throws IllegalArgumentException When there's no handler for the value's class or any of its superclasses
+     */
+    int dispatch(Object value);
+
+}
@@ -0,0 +1,49 @@
+
+package helpers.dispatch;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Creates the {@link TypeDispatcher}s that work with any class hierarchy, all from the same handlers.
+ */
+public final class TypeDispatchers {
+
+    private TypeDispatchers() {
+    }
+
+    /**
+     * Creates all general dispatchers, keyed by a short name that can be used in benchmark parameters.
+     *
+     * @param handlers Which handler to call for which class
+     * @return Unmodifiable map of dispatchers in a stable order
+     */
+    public static Map<String, TypeDispatcher> all(Map<Class<?>, ToIntFunction<Object>> handlers) {
+        Map<String, TypeDispatcher> dispatchers = new LinkedHashMap<>();
+        dispatchers.put("classValue", new ClassValueDispatcher(handlers));
+        dispatchers.put("identityMap", new IdentityMapDispatcher(handlers));
+        dispatchers.put("linearProbe", new LinearProbeDispatcher(handlers));
+        return Collections.unmodifiableMap(dispatchers);
+    }
+
+    /**
+     * The slow path shared by all dispatchers: walks up from the given class until it finds a registered one.
+     *
+     * @param handlers Which handler to call for which class
+     * @param type Class of the dispatched value
+     * @return The handler for the given class or its nearest registered superclass
+     * @throws IllegalArgumentException When neither the class nor any of its superclasses is registered
+     */
+    static ToIntFunction<Object> find(Map<Class<?>, ToIntFunction<Object>> handlers, Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            ToIntFunction<Object> handler = handlers.get(current);
+            if (handler != null) {
+                return handler;
+            }
+        }
+        throw new IllegalArgumentException("No handler for " + type.getName());
+    }
+
+}
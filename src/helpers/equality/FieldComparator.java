@@ -0,0 +1,249 @@
+
+package helpers.equality;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Field-by-field equality and hash code for a single class. The class is introspected only once: a getter {@link MethodHandle} is created
+ * for each instance field (including inherited ones), and all getters are composed into a single {@code (Object, Object) -> boolean}
+ * equality handle and a single {@code (Object) -> int} hash code handle. Comparing two objects then doesn't walk the hierarchy, allocate
+ * field lists or check access again. Use {@link FieldEquality} to get cached instances.
+ * <p>
+ * A method handle held in an instance field isn't a constant to the JIT, so calling the composed handles from here would go through
+ * generic lambda forms. Instead, both are handed to a new hidden class spun from {@link SpecializedComparator} for each compared class,
+ * where they are constants and get inlined into one specialized comparator.
+ */
+public final class FieldComparator {
+
+    private static final MethodHandle OBJECTS_EQUALS;
+    private static final MethodHandle EQUALS_LONG;
+    private static final MethodHandle EQUALS_DOUBLE;
+    private static final MethodHandle EQUALS_BOOLEAN;
+    private static final MethodHandle OBJECTS_HASH_CODE;
+    private static final MethodHandle HASH_LONG;
+    private static final MethodHandle HASH_DOUBLE;
+    private static final MethodHandle HASH_BOOLEAN;
+    private static final MethodHandle COMBINE_HASH;
+
+    /**
+     * Class file bytes of {@link SpecializedComparator}, defined again as a hidden class for each compared class.
+     */
+    private static final byte[] TEMPLATE;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            OBJECTS_EQUALS = lookup.findStatic(Objects.class, "equals", MethodType.methodType(boolean.class, Object.class, Object.class));
+            EQUALS_LONG = lookup.findStatic(FieldComparator.class, "equalsLong",
+                    MethodType.methodType(boolean.class, long.class, long.class));
+            EQUALS_DOUBLE = lookup.findStatic(FieldComparator.class, "equalsDouble",
+                    MethodType.methodType(boolean.class, double.class, double.class));
+            EQUALS_BOOLEAN = lookup.findStatic(FieldComparator.class, "equalsBoolean",
+                    MethodType.methodType(boolean.class, boolean.class, boolean.class));
+            OBJECTS_HASH_CODE = lookup.findStatic(Objects.class, "hashCode", MethodType.methodType(int.class, Object.class));
+            HASH_LONG = lookup.findStatic(Long.class, "hashCode", MethodType.methodType(int.class, long.class));
+            HASH_DOUBLE = lookup.findStatic(Double.class, "hashCode", MethodType.methodType(int.class, double.class));
+            HASH_BOOLEAN = lookup.findStatic(Boolean.class, "hashCode", MethodType.methodType(int.class, boolean.class));
+            COMBINE_HASH = lookup.findStatic(FieldComparator.class, "combineHash",
+                    MethodType.methodType(int.class, int.class, int.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        try (InputStream template = FieldComparator.class.getResourceAsStream("SpecializedComparator.class")) {
+            if (template == null) {
+                throw new ExceptionInInitializerError("Can't find the SpecializedComparator class file");
+            }
+            TEMPLATE = template.readAllBytes();
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * What the hidden classes spun from {@link SpecializedComparator} implement.
+     */
+    interface Specialized {
+
+        boolean areEqual(Object a, Object b) throws Throwable;
+
+        int hash(Object o) throws Throwable;
+
+    }
+
+    private final Class<?> type;
+    private final int fieldCount;
+    private final Specialized specialized;
+
+    private FieldComparator(Class<?> type, int fieldCount, Specialized specialized) {
+        this.type = type;
+        this.fieldCount = fieldCount;
+        this.specialized = specialized;
+    }
+
+    /**
+     * Introspects the given class and composes its comparator. This is slow, see {@link FieldEquality#comparatorFor(Class)} for the cached
+     * version.
+     *
+     * @param type Which class to introspect
+     * @return The newly created comparator
+     * @throws IllegalArgumentException When the fields of the class can't be accessed
+     */
+    static FieldComparator of(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    fields.add(field);
+                }
+            }
+        }
+
+        // equal until one of the fields isn't, going backwards so that the first field is checked first
+        MethodHandle equals = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, Object.class, Object.class);
+        MethodHandle notEqual = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, Object.class, Object.class);
+        MethodHandle hash = MethodHandles.dropArguments(MethodHandles.constant(int.class, 1), 0, Object.class);
+        for (int i = fields.size() - 1; i >= 0; i--) {
+            MethodHandle getter = getter(fields.get(i));
+            equals = MethodHandles.guardWithTest(fieldEquals(getter), equals, notEqual);
+        }
+        for (Field field : fields) {
+            MethodHandle combined = MethodHandles.filterArguments(COMBINE_HASH, 0, hash, fieldHash(getter(field)));
+            hash = MethodHandles.permuteArguments(combined, MethodType.methodType(int.class, Object.class), 0, 0);
+        }
+        return new FieldComparator(type, fields.size(), specialize(type, equals, hash));
+    }
+
+    /**
+     * Compares all fields of the given objects. Objects of different classes are never equal.
+     *
+     * @param a First object, must be an instance of exactly the class of this comparator
+     * @param b Second object
+     * @return Whether all fields are equal
+     */
+    public boolean areEqual(Object a, Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (b == null || b.getClass() != type) {
+            return false;
+        }
+        try {
+            return specialized.areEqual(a, b);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Can't compare " + type.getName(), t);
+        }
+    }
+
+    /**
+     * Combines hash codes of all fields, consistent with {@link #areEqual(Object, Object)}.
+     *
+     * @param o Which object to hash, must be an instance of exactly the class of this comparator
+     * @return The hash code
+     */
+    public int hash(Object o) {
+        try {
+            return specialized.hash(o);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Can't hash " + type.getName(), t);
+        }
+    }
+
+    /**
+     * @return How many fields are compared
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Spins a new hidden class from {@link SpecializedComparator}, holding the given handles as constants.
+     *
+     * @return An instance of the new class
+     * @throws IllegalArgumentException When the class can't be defined
+     */
+    private static Specialized specialize(Class<?> type, MethodHandle equals, MethodHandle hash) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClassWithClassData(TEMPLATE, List.of(equals, hash), true);
+            return (Specialized) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable t) {
+            throw new IllegalArgumentException("Can't specialize the comparator for " + type.getName(), t);
+        }
+    }
+
+    private static MethodHandle getter(Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+            return lookup.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Can't access " + field, e);
+        }
+    }
+
+    /**
+     * @return {@code (Object, Object) -> boolean}, comparing the field read by the getter
+     */
+    private static MethodHandle fieldEquals(MethodHandle getter) {
+        Class<?> fieldType = getter.type().returnType();
+        MethodHandle equals;
+        if (!fieldType.isPrimitive()) {
+            equals = OBJECTS_EQUALS;
+        } else if (fieldType == boolean.class) {
+            equals = EQUALS_BOOLEAN;
+        } else if (fieldType == float.class || fieldType == double.class) {
+            equals = EQUALS_DOUBLE;
+        } else {
+            equals = EQUALS_LONG;
+        }
+        MethodHandle read = getter.asType(MethodType.methodType(equals.type().parameterType(0), Object.class));
+        return MethodHandles.filterArguments(equals, 0, read, read);
+    }
+
+    /**
+     * @return {@code (Object) -> int}, hashing the field read by the getter
+     */
+    private static MethodHandle fieldHash(MethodHandle getter) {
+        Class<?> fieldType = getter.type().returnType();
+        MethodHandle hash;
+        if (!fieldType.isPrimitive()) {
+            hash = OBJECTS_HASH_CODE;
+        } else if (fieldType == boolean.class) {
+            hash = HASH_BOOLEAN;
+        } else if (fieldType == float.class || fieldType == double.class) {
+            hash = HASH_DOUBLE;
+        } else {
+            hash = HASH_LONG;
+        }
+        MethodHandle read = getter.asType(MethodType.methodType(hash.type().parameterType(0), Object.class));
+        return MethodHandles.filterReturnValue(read, hash);
+    }
+
+    private static boolean equalsLong(long a, long b) {
+        return a == b;
+    }
+
+    private static boolean equalsDouble(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    private static boolean equalsBoolean(boolean a, boolean b) {
+        return a == b;
+    }
+
+    private static int combineHash(int hash, int fieldHash) {
+        return 31 * hash + fieldHash;
+    }
+
+}
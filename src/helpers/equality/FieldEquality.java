@@ -0,0 +1,52 @@
+
+package helpers.equality;
+
+/**
+ * Reflective, field-by-field equality with per-class caching. Each class is introspected only once, the first time one of its instances is
+ * compared, and its {@link FieldComparator} is kept in a {@link ClassValue} from then on.
+ */
+public final class FieldEquality {
+
+    private static final ClassValue<FieldComparator> comparators = new ClassValue<FieldComparator>() {
+        @Override
+        protected FieldComparator computeValue(Class<?> type) {
+            return FieldComparator.of(type);
+        }
+    };
+
+    private FieldEquality() {
+    }
+
+    /**
+     * @param type Which class to compare
+     * @return The cached comparator for the given class
+     */
+    public static FieldComparator comparatorFor(Class<?> type) {
+        return comparators.get(type);
+    }
+
+    /**
+     * Compares all fields (including inherited ones) of the given objects. Objects of different classes are never equal.
+     *
+     * @param a First object
+     * @param b Second object
+     * @return Whether both are {@code null}, or all fields are equal
+     */
+    public static boolean equals(Object a, Object b) {
+        if (a == null) {
+            return b == null;
+        }
+        return comparators.get(a.getClass()).areEqual(a, b);
+    }
+
+    /**
+     * Combines hash codes of all fields (including inherited ones) of the given object, consistent with {@link #equals(Object, Object)}.
+     *
+     * @param o Which object to hash
+     * @return The hash code, {@code 0} for {@code null}
+     */
+    public static int hashCode(Object o) {
+        return o == null ? 0 : comparators.get(o.getClass()).hash(o);
+    }
+
+}
@@ -0,0 +1,40 @@
+
+package helpers.equality;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+/**
+ * Template of the classes {@link FieldComparator} spins for each compared class. It's never loaded on its own: its bytes are defined as a
+ * new hidden class for every compared class, with the composed equality and hash code handles as class data. Each such class holds its
+ * handles in {@code static final} fields, which the JIT treats as constants, so it can inline the whole composition (field getters,
+ * comparisons and hash combining) into {@link #areEqual(Object, Object)} and {@link #hash(Object)}.
+ */
+final class SpecializedComparator implements FieldComparator.Specialized {
+
+    private static final MethodHandle EQUALS;
+    private static final MethodHandle HASH;
+
+    static {
+        try {
+            List<?> handles = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, List.class);
+            EQUALS = (MethodHandle) handles.get(0);
+            HASH = (MethodHandle) handles.get(1);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public boolean areEqual(Object a, Object b) throws Throwable {
+        return (boolean) EQUALS.invokeExact(a, b);
+    }
+
+    @Override
+    public int hash(Object o) throws Throwable {
+        return (int) HASH.invokeExact(o);
+    }
+
+}
@@ -0,0 +1,126 @@
+
+package helpers.footprint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What {@link FootprintAnalyzer} found in one object graph: per class, how many objects there were, and their shallow and retained sizes
+ * according to each {@link ObjectSizer}.
+ */
+public final class Footprint {
+
+    /**
+     * Sizes of all objects of one class.
+     */
+    public static final class TypeFootprint {
+
+        private final String typeName;
+        private final long count;
+        private final long[] shallowBytes;
+        private final long[] retainedBytes;
+
+        TypeFootprint(String typeName, long count, long[] shallowBytes, long[] retainedBytes) {
+            this.typeName = typeName;
+            this.count = count;
+            this.shallowBytes = shallowBytes;
+            this.retainedBytes = retainedBytes;
+        }
+
+        /**
+         * @return Name of the class, as returned by {@link Class#getName()}
+         */
+        public String getTypeName() {
+            return typeName;
+        }
+
+        /**
+         * @return How many objects of this class were found
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @param sizer Index of the sizer, in the order they were given to {@link FootprintAnalyzer#analyze(Object, List)}
+         * @return Sum of the objects' own sizes (in bytes)
+         */
+        public long getShallowBytes(int sizer) {
+            return shallowBytes[sizer];
+        }
+
+        /**
+         * @param sizer Index of the sizer, in the order they were given to {@link FootprintAnalyzer#analyze(Object, List)}
+         * @return Sum of the objects' sizes, including everything that was reached through them (in bytes)
+         */
+        public long getRetainedBytes(int sizer) {
+            return retainedBytes[sizer];
+        }
+
+    }
+
+    private final List<String> sizerNames;
+    private final List<TypeFootprint> types;
+    private final Set<String> opaqueTypes;
+    private final long[] totalBytes;
+
+    Footprint(List<String> sizerNames, List<TypeFootprint> types, Set<String> opaqueTypes) {
+        this.sizerNames = Collections.unmodifiableList(new ArrayList<>(sizerNames));
+        List<TypeFootprint> sorted = new ArrayList<>(types);
+        sorted.sort(Comparator.comparingLong((TypeFootprint type) -> type.getShallowBytes(0)).reversed());
+        this.types = Collections.unmodifiableList(sorted);
+        this.opaqueTypes = Collections.unmodifiableSet(opaqueTypes);
+        this.totalBytes = new long[sizerNames.size()];
+        for (TypeFootprint type : types) {
+            for (int sizer = 0; sizer < totalBytes.length; sizer++) {
+                totalBytes[sizer] += type.getShallowBytes(sizer);
+            }
+        }
+    }
+
+    /**
+     * @return Names of the sizers, in the order they were given to {@link FootprintAnalyzer#analyze(Object, List)}
+     */
+    public List<String> getSizerNames() {
+        return sizerNames;
+    }
+
+    /**
+     * @return Footprints of all found classes, biggest shallow size (by the first sizer) first
+     */
+    public List<TypeFootprint> getTypes() {
+        return types;
+    }
+
+    /**
+     * @param typeName Name of the class, as returned by {@link Class#getName()}
+     * @return Footprint of the given class, or {@code null} if there were no objects of that class
+     */
+    public TypeFootprint getType(String typeName) {
+        for (TypeFootprint type : types) {
+            if (type.getTypeName().equals(typeName)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Names of the classes whose fields couldn't be read, so nothing they reference was counted
+     */
+    public Set<String> getOpaqueTypes() {
+        return opaqueTypes;
+    }
+
+    /**
+     * @param sizer Index of the sizer, in the order they were given to {@link FootprintAnalyzer#analyze(Object, List)}
+     * @return Size of the whole object graph (in bytes)
+     */
+    public long getTotalBytes(int sizer) {
+        return totalBytes[sizer];
+    }
+
+}
@@ -0,0 +1,44 @@
+
+package helpers.footprint;
+
+import java.lang.instrument.Instrumentation;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A Java agent that hands its {@link Instrumentation} to {@link InstrumentationSizer}. The benchmark jar declares it as its agent, so it's
+ * loaded with {@code -javaagent:target/benchmarks.jar}. It also opens all {@code java.base} packages to the class path, so that
+ * {@link FootprintAnalyzer} can walk through JDK objects like {@link String} and {@link java.util.ArrayList} without any
+ * {@code --add-opens} options.
+ */
+public final class FootprintAgent {
+
+    private static volatile Instrumentation instrumentation;
+
+    private FootprintAgent() {
+    }
+
+    public static void premain(String args, Instrumentation instrumentation) {
+        agentmain(args, instrumentation);
+    }
+
+    public static void agentmain(String args, Instrumentation instrumentation) {
+        FootprintAgent.instrumentation = instrumentation;
+        Module javaBase = Object.class.getModule();
+        Set<Module> classPath = Set.of(FootprintAgent.class.getModule());
+        Map<String, Set<Module>> opens = new HashMap<>();
+        for (String packageName : javaBase.getPackages()) {
+            opens.put(packageName, classPath);
+        }
+        instrumentation.redefineModule(javaBase, Set.of(), Map.of(), opens, Set.of(), Map.of());
+    }
+
+    /**
+     * @return The agent's instrumentation, or {@code null} when the JVM wasn't started with the agent
+     */
+    public static Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+}
@@ -0,0 +1,170 @@
+
+package helpers.footprint;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Walks the object graph reachable from a root object, and sizes every object in it with each given {@link ObjectSizer}.
+ * <p>
+ * The graph is walked breadth-first, and each object is retained by the object it was first reached from. The retained size of an object
+ * is its own size plus the retained sizes of all objects it retains, so it's exact when nothing in the graph is shared, and shared objects
+ * are counted only once, under whoever reached them first. {@link Class} objects are never entered or counted, they belong to the JVM.
+ * <p>
+ * Fields of JDK classes can only be read when their packages are open, either with the {@link FootprintAgent} or with options like
+ * {@code --add-opens java.base/java.lang=ALL-UNNAMED}. Classes whose fields can't be read are still counted, but nothing they reference.
+ */
+public final class FootprintAnalyzer {
+
+    private static final Field[] NO_FIELDS = new Field[0];
+
+    /**
+     * Reference fields of each class and its superclasses, or {@code null} when they can't be read.
+     */
+    private static final ClassValue<Field[]> referenceFields = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                    } catch (InaccessibleObjectException | SecurityException e) {
+                        return null;
+                    }
+                    fields.add(field);
+                }
+            }
+            return fields.toArray(NO_FIELDS);
+        }
+    };
+
+    private FootprintAnalyzer() {
+    }
+
+    /**
+     * Walks and sizes the whole object graph. This needs a few dozen bytes per found object, so big graphs need a big heap.
+     *
+     * @param root Where to start walking
+     * @param sizers How to size the objects, at least one
+     * @return Sizes of all found objects, per class
+     */
+    public static Footprint analyze(Object root, List<? extends ObjectSizer> sizers) {
+        int sizerCount = sizers.size();
+        Map<Object, Boolean> visited = new IdentityHashMap<>();
+        Map<Class<?>, Integer> typeIndexes = new IdentityHashMap<>();
+        List<Class<?>> types = new ArrayList<>();
+        Set<String> opaqueTypes = new LinkedHashSet<>();
+
+        // objects in the order they were found, with the index of the object they were found from
+        List<Object> objects = new ArrayList<>();
+        int[] parents = new int[1024];
+        int[] typeIds = new int[1024];
+        int[][] shallow = new int[sizerCount][1024];
+
+        objects.add(root);
+        parents[0] = -1;
+        visited.put(root, Boolean.TRUE);
+        for (int index = 0; index < objects.size(); index++) {
+            Object object = objects.get(index);
+            Class<?> type = object.getClass();
+            Integer typeId = typeIndexes.get(type);
+            if (typeId == null) {
+                typeId = types.size();
+                typeIndexes.put(type, typeId);
+                types.add(type);
+            }
+            typeIds[index] = typeId;
+            for (int sizer = 0; sizer < sizerCount; sizer++) {
+                shallow[sizer][index] = Math.toIntExact(sizers.get(sizer).sizeOf(object));
+            }
+
+            int firstChild = objects.size();
+            if (object instanceof Object[]) {
+                for (Object element : (Object[]) object) {
+                    visit(element, visited, objects);
+                }
+            } else if (!type.isArray()) {
+                Field[] fields = referenceFields.get(type);
+                if (fields == null) {
+                    opaqueTypes.add(type.getName());
+                    continue;
+                }
+                for (Field field : fields) {
+                    try {
+                        visit(field.get(object), visited, objects);
+                    } catch (IllegalAccessException e) {
+                        opaqueTypes.add(type.getName());
+                    }
+                }
+            }
+            if (objects.size() > parents.length) {
+                int capacity = Math.max(objects.size(), parents.length * 2);
+                parents = Arrays.copyOf(parents, capacity);
+                typeIds = Arrays.copyOf(typeIds, capacity);
+                for (int sizer = 0; sizer < sizerCount; sizer++) {
+                    shallow[sizer] = Arrays.copyOf(shallow[sizer], capacity);
+                }
+            }
+            for (int child = firstChild; child < objects.size(); child++) {
+                parents[child] = index;
+            }
+        }
+
+        int objectCount = objects.size();
+        // the walk's bookkeeping can be collected before the results are allocated
+        objects = null;
+        visited = null;
+
+        long[] counts = new long[types.size()];
+        for (int index = 0; index < objectCount; index++) {
+            counts[typeIds[index]]++;
+        }
+        long[][] typeShallow = new long[types.size()][sizerCount];
+        long[][] typeRetained = new long[types.size()][sizerCount];
+        long[] retained = new long[objectCount];
+        for (int sizer = 0; sizer < sizerCount; sizer++) {
+            Arrays.fill(retained, 0);
+            // every object was found after its parent, so going backwards adds up the children before their parents
+            for (int index = objectCount - 1; index >= 0; index--) {
+                int typeId = typeIds[index];
+                retained[index] += shallow[sizer][index];
+                typeShallow[typeId][sizer] += shallow[sizer][index];
+                typeRetained[typeId][sizer] += retained[index];
+                if (parents[index] >= 0) {
+                    retained[parents[index]] += retained[index];
+                }
+            }
+        }
+
+        List<Footprint.TypeFootprint> footprints = new ArrayList<>(types.size());
+        for (int typeId = 0; typeId < types.size(); typeId++) {
+            footprints.add(new Footprint.TypeFootprint(types.get(typeId).getName(), counts[typeId], typeShallow[typeId],
+                    typeRetained[typeId]));
+        }
+        List<String> sizerNames = new ArrayList<>(sizerCount);
+        for (ObjectSizer sizer : sizers) {
+            sizerNames.add(sizer.getName());
+        }
+        return new Footprint(sizerNames, footprints, opaqueTypes);
+    }
+
+    private static void visit(Object object, Map<Object, Boolean> visited, List<Object> objects) {
+        if (object == null || object instanceof Class || visited.put(object, Boolean.TRUE) != null) {
+            return;
+        }
+        objects.add(object);
+    }
+
+}
@@ -0,0 +1,36 @@
+
+package helpers.footprint;
+
+import java.lang.instrument.Instrumentation;
+
+/**
+ * Sizes objects with {@link Instrumentation#getObjectSize(Object)}, which asks the running JVM itself, so the sizes are exact for its
+ * current settings. Only available when the JVM was started with the {@link FootprintAgent}.
+ */
+public class InstrumentationSizer implements ObjectSizer {
+
+    private final Instrumentation instrumentation;
+
+    private InstrumentationSizer(Instrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * @return A sizer using the {@link FootprintAgent}'s instrumentation, or {@code null} when the agent isn't loaded
+     */
+    public static InstrumentationSizer fromAgent() {
+        Instrumentation instrumentation = FootprintAgent.getInstrumentation();
+        return instrumentation == null ? null : new InstrumentationSizer(instrumentation);
+    }
+
+    @Override
+    public String getName() {
+        return "Instrumentation";
+    }
+
+    @Override
+    public long sizeOf(Object object) {
+        return instrumentation.getObjectSize(object);
+    }
+
+}
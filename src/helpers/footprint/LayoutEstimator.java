@@ -0,0 +1,182 @@
+
+package helpers.footprint;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Estimates object sizes from their fields, the way HotSpot lays objects out: a mark word, a class pointer (4 bytes with compressed class
+ * pointers, 8 without), then all instance fields, with references taking 4 bytes with compressed oops and 8 without, and the whole object
+ * aligned to {@code ObjectAlignmentInBytes}. Arrays have their length after the class pointer, and 8-byte elements start at an 8-byte
+ * boundary.
+ * <p>
+ * Fields are assumed to be packed without gaps, except for the one after a 12-byte header when there are too few small fields to fill it
+ * before an 8-byte field. That's how Java 15 and newer lay out most classes, but gaps between superclass and subclass fields are ignored.
+ * Unlike {@link InstrumentationSizer}, this works without an agent, and for any JVM settings, not just the running ones.
+ */
+public class LayoutEstimator implements ObjectSizer {
+
+    private static final int MARK_WORD_BYTES = 8;
+    private static final int ARRAY_LENGTH_BYTES = 4;
+
+    private final boolean compressedOops;
+    private final boolean compressedClassPointers;
+    private final int alignment;
+    private final int referenceBytes;
+    private final int headerBytes;
+
+    private final ClassValue<Long> instanceSizes = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            return estimateInstance(type);
+        }
+    };
+
+    /**
+     * @param compressedOops Whether references take 4 bytes instead of 8, like with {@code -XX:+UseCompressedOops}
+     * @param compressedClassPointers Whether class pointers take 4 bytes instead of 8, like with {@code -XX:+UseCompressedClassPointers}
+     * @param alignment Object alignment (in bytes), like {@code -XX:ObjectAlignmentInBytes}
+     */
+    public LayoutEstimator(boolean compressedOops, boolean compressedClassPointers, int alignment) {
+        this.compressedOops = compressedOops;
+        this.compressedClassPointers = compressedClassPointers;
+        this.alignment = alignment;
+        this.referenceBytes = compressedOops ? 4 : 8;
+        this.headerBytes = MARK_WORD_BYTES + (compressedClassPointers ? 4 : 8);
+    }
+
+    /**
+     * @return An estimator with the running JVM's settings, or HotSpot's defaults when they can't be read
+     */
+    public static LayoutEstimator forCurrentJvm() {
+        return withCompressedOops(readBooleanOption("UseCompressedOops", true));
+    }
+
+    /**
+     * @param compressedOops Whether references take 4 bytes instead of 8
+     * @return An estimator with the running JVM's class pointer and alignment settings, and the given oop setting
+     */
+    public static LayoutEstimator withCompressedOops(boolean compressedOops) {
+        boolean compressedClassPointers = readBooleanOption("UseCompressedClassPointers", true);
+        int alignment = Integer.parseInt(readOption("ObjectAlignmentInBytes", "8"));
+        return new LayoutEstimator(compressedOops, compressedClassPointers, alignment);
+    }
+
+    @Override
+    public String getName() {
+        return "Estimate, " + (compressedOops ? "compressed" : "uncompressed") + " oops";
+    }
+
+    /**
+     * @return Whether references take 4 bytes instead of 8
+     */
+    public boolean isCompressedOops() {
+        return compressedOops;
+    }
+
+    /**
+     * @return Whether class pointers take 4 bytes instead of 8
+     */
+    public boolean isCompressedClassPointers() {
+        return compressedClassPointers;
+    }
+
+    /**
+     * @return Object alignment (in bytes)
+     */
+    public int getAlignment() {
+        return alignment;
+    }
+
+    /**
+     * @return How many bytes a reference takes
+     */
+    public int getReferenceBytes() {
+        return referenceBytes;
+    }
+
+    @Override
+    public long sizeOf(Object object) {
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return estimateArray(type.getComponentType(), Array.getLength(object));
+        }
+        return instanceSizes.get(type);
+    }
+
+    /**
+     * @param componentType Class of the array elements
+     * @param length How many elements the array has
+     * @return Estimated size of such an array (in bytes)
+     */
+    public long estimateArray(Class<?> componentType, int length) {
+        int elementBytes = fieldBytes(componentType);
+        long base = headerBytes + ARRAY_LENGTH_BYTES;
+        if (elementBytes == 8) {
+            base = align(base, 8);
+        }
+        return align(base + (long) length * elementBytes, alignment);
+    }
+
+    private long estimateInstance(Class<?> type) {
+        long fieldBytes = 0;
+        long smallFieldBytes = 0;
+        boolean hasWideFields = false;
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                int bytes = fieldBytes(field.getType());
+                fieldBytes += bytes;
+                if (bytes == 8) {
+                    hasWideFields = true;
+                } else {
+                    smallFieldBytes += bytes;
+                }
+            }
+        }
+        long gap = headerBytes % 8;
+        long padding = hasWideFields && gap != 0 ? Math.max(0, (8 - gap) - smallFieldBytes) : 0;
+        return align(headerBytes + fieldBytes + padding, alignment);
+    }
+
+    private int fieldBytes(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return referenceBytes;
+        }
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long bytes, int alignment) {
+        return (bytes + alignment - 1) / alignment * alignment;
+    }
+
+    private static boolean readBooleanOption(String name, boolean defaultValue) {
+        return Boolean.parseBoolean(readOption(name, Boolean.toString(defaultValue)));
+    }
+
+    private static String readOption(String name, String defaultValue) {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return bean == null ? defaultValue : bean.getVMOption(name).getValue();
+        } catch (RuntimeException e) {
+            // not a HotSpot JVM, or an option it doesn't have
+            return defaultValue;
+        }
+    }
+
+}
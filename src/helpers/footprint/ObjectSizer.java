@@ -0,0 +1,20 @@
+
+package helpers.footprint;
+
+/**
+ * A way of telling how many bytes a single object takes on the heap, not counting the objects it references (its shallow size).
+ */
+public interface ObjectSizer {
+
+    /**
+     * @return Human-readable name of this sizer, used when logging
+     */
+    String getName();
+
+    /**
+     * @param object Which object to size, never {@code null}
+     * @return Shallow size of the object (in bytes)
+     */
+    long sizeOf(Object object);
+
+}
@@ -0,0 +1,46 @@
+
+package helpers.hashing;
+
+/**
+ * One way of combining the {@link String} fields of an object into a hash code, for objects with two or three fields. See
+ * {@link HashCombiners} for all available combiners.
+ */
+public interface HashCombiner {
+
+    /**
+     * @return Human-readable name of this combiner, used when logging
+     */
+    String getName();
+
+    /**
+     * @param s1 The first field
+     * @param s2 The second field
+     * @return Hash code of both fields
+     */
+    int hash(String s1, String s2);
+
+    /**
+     * @param s1 The first field
+     * @param s2 The second field
+     * @param s3 The third field
+     * @return Hash code of all three fields
+     */
+    int hash(String s1, String s2, String s3);
+
+    /**
+     * @param fields Two or three fields
+     * @return Hash code of all fields
+     * @throws IllegalArgumentException When there are less than two or more than three fields
+     */
+    default int hash(String[] fields) {
+        switch (fields.length) {
+            case 2:
+                return hash(fields[0], fields[1]);
+            case 3:
+                return hash(fields[0], fields[1], fields[2]);
+            default:
+                throw new IllegalArgumentException("Can't hash " + fields.length + " fields");
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+
+package helpers.hashing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Registry of all {@link HashCombiner} implementations, keyed by a short name that can be used in benchmark parameters.
+ */
+public final class HashCombiners {
+
+    /**
+     * All combiners, in the order the tests run them.
+     */
+    public static final Map<String, HashCombiner> ALL;
+
+    static {
+        Map<String, HashCombiner> combiners = new LinkedHashMap<>();
+        combiners.put("product", new Product());
+        combiners.put("multiply31", new Multiply31());
+        combiners.put("objectsHash", new ObjectsHash());
+        combiners.put("murmur3", new Murmur3());
+        combiners.put("xxHash32", new XxHash32());
+        ALL = Collections.unmodifiableMap(combiners);
+    }
+
+    private HashCombiners() {
+    }
+
+    /**
+     * Multiplies the {@link String#hashCode()}s and takes the remainder of {@link Integer#MAX_VALUE}, the same as
+     * {@code LevelOneClass.hashCode()} and {@code LevelTwoClass.hashCode()} do. A zero hash in any field makes the whole hash zero, and
+     * every even factor adds a zero to the low bits, which is where {@link java.util.HashMap} picks the bucket.
+     */
+    static final class Product implements HashCombiner {
+
+        @Override
+        public String getName() {
+            return "Product of String hashes";
+        }
+
+        @Override
+        public int hash(String s1, String s2) {
+            return (s1.hashCode() * s2.hashCode()) % Integer.MAX_VALUE;
+        }
+
+        @Override
+        public int hash(String s1, String s2, String s3) {
+            return (hash(s1, s2) * s3.hashCode()) % Integer.MAX_VALUE;
+        }
+
+    }
+
+    /**
+     * Adds the {@link String#hashCode()}s the way generated {@code hashCode()} methods do, multiplying the sum by 31 before each field.
+     */
+    static final class Multiply31 implements HashCombiner {
+
+        @Override
+        public String getName() {
+            return "31-multiply of String hashes";
+        }
+
+        @Override
+        public int hash(String s1, String s2) {
+            return 31 * (31 + s1.hashCode()) + s2.hashCode();
+        }
+
+        @Override
+        public int hash(String s1, String s2, String s3) {
+            return 31 * hash(s1, s2) + s3.hashCode();
+        }
+
+    }
+
+    /**
+     * Same as {@link Multiply31}, but through {@link Objects#hash(Object...)}, which allocates an array for each call (unless the JIT
+     * compiler removes it).
+     */
+    static final class ObjectsHash implements HashCombiner {
+
+        @Override
+        public String getName() {
+            return "Objects.hash()";
+        }
+
+        @Override
+        public int hash(String s1, String s2) {
+            return Objects.hash(s1, s2);
+        }
+
+        @Override
+        public int hash(String s1, String s2, String s3) {
+            return Objects.hash(s1, s2, s3);
+        }
+
+    }
+
+    /**
+     * MurmurHash3 (32-bit) over the UTF-16 code units of all fields, two characters per block. The length of each field is mixed in after
+     * it, so moving characters from one field to the next changes the hash. It doesn't use {@link String#hashCode()} at all.
+     */
+    static final class Murmur3 implements HashCombiner {
+
+        private static final int SEED = 0x9747b28c;
+        private static final int C1 = 0xcc9e2d51;
+        private static final int C2 = 0x1b873593;
+
+        @Override
+        public String getName() {
+            return "MurmurHash3 over characters";
+        }
+
+        @Override
+        public int hash(String s1, String s2) {
+            int h = mix(mix(SEED, s1), s2);
+            return finish(h, s1.length() + s2.length());
+        }
+
+        @Override
+        public int hash(String s1, String s2, String s3) {
+            int h = mix(mix(mix(SEED, s1), s2), s3);
+            return finish(h, s1.length() + s2.length() + s3.length());
+        }
+
+        private static int mix(int h, String s) {
+            int length = s.length();
+            int i = 0;
+            for (; i + 1 < length; i += 2) {
+                h = mixBlock(h, s.charAt(i) | (s.charAt(i + 1) << 16));
+            }
+            if (i < length) {
+                h ^= mixKey(s.charAt(i));
+            }
+            return mixBlock(h, length);
+        }
+
+        private static int mixKey(int k) {
+            return Integer.rotateLeft(k * C1, 15) * C2;
+        }
+
+        private static int mixBlock(int h, int k) {
+            return Integer.rotateLeft(h ^ mixKey(k), 13) * 5 + 0xe6546b64;
+        }
+
+        private static int finish(int h, int characters) {
+            h ^= characters * 2;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            return h ^ (h >>> 16);
+        }
+
+    }
+
+    /**
+     * The short-input path of xxHash32 over the UTF-16 code units of all fields, two characters per word. The 16-byte stripes of the full
+     * algorithm only pay off for longer inputs. Like {@link Murmur3}, the length of each field is mixed in after it.
+     */
+    static final class XxHash32 implements HashCombiner {
+
+        private static final int PRIME1 = 0x9e3779b1;
+        private static final int PRIME2 = 0x85ebca77;
+        private static final int PRIME3 = 0xc2b2ae3d;
+        private static final int PRIME4 = 0x27d4eb2f;
+        private static final int PRIME5 = 0x165667b1;
+
+        @Override
+        public String getName() {
+            return "xxHash32 over characters";
+        }
+
+        @Override
+        public int hash(String s1, String s2) {
+            int h = PRIME5 + (s1.length() + s2.length()) * 2;
+            return finish(mix(mix(h, s1), s2));
+        }
+
+        @Override
+        public int hash(String s1, String s2, String s3) {
+            int h = PRIME5 + (s1.length() + s2.length() + s3.length()) * 2;
+            return finish(mix(mix(mix(h, s1), s2), s3));
+        }
+
+        private static int mix(int h, String s) {
+            int length = s.length();
+            int i = 0;
+            for (; i + 1 < length; i += 2) {
+                h = mixWord(h, s.charAt(i) | (s.charAt(i + 1) << 16));
+            }
+            if (i < length) {
+                h = Integer.rotateLeft(h + s.charAt(i) * PRIME5, 11) * PRIME1;
+            }
+            return mixWord(h, length);
+        }
+
+        private static int mixWord(int h, int word) {
+            return Integer.rotateLeft(h + word * PRIME3, 17) * PRIME4;
+        }
+
+        private static int finish(int h) {
+            h ^= h >>> 15;
+            h *= PRIME2;
+            h ^= h >>> 13;
+            h *= PRIME3;
+            return h ^ (h >>> 16);
+        }
+
+    }
+
+}
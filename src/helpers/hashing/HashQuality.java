@@ -0,0 +1,104 @@
+
+package helpers.hashing;
+
+/**
+ * How well one {@link HashCombiner} did on one dataset, as measured by {@link HashQualityAnalyzer}.
+ */
+public final class HashQuality {
+
+    private final String combinerName;
+    private final int elements;
+    private final int distinctHashes;
+    private final int collidingElements;
+    private final int zeroHashes;
+    private final int largestBucket;
+    private final double bucketChiSquared;
+    private final double avalancheMean;
+    private final double avalancheWorstBias;
+
+    HashQuality(String combinerName, int elements, int distinctHashes, int collidingElements, int zeroHashes, int largestBucket,
+            double bucketChiSquared, double avalancheMean, double avalancheWorstBias) {
+        this.combinerName = combinerName;
+        this.elements = elements;
+        this.distinctHashes = distinctHashes;
+        this.collidingElements = collidingElements;
+        this.zeroHashes = zeroHashes;
+        this.largestBucket = largestBucket;
+        this.bucketChiSquared = bucketChiSquared;
+        this.avalancheMean = avalancheMean;
+        this.avalancheWorstBias = avalancheWorstBias;
+    }
+
+    /**
+     * @return Name of the analyzed combiner
+     */
+    public String getCombinerName() {
+        return combinerName;
+    }
+
+    /**
+     * @return How many elements were hashed
+     */
+    public int getElements() {
+        return elements;
+    }
+
+    /**
+     * @return How many different hash codes there were
+     */
+    public int getDistinctHashes() {
+        return distinctHashes;
+    }
+
+    /**
+     * @return How many elements share their hash code with another element
+     */
+    public int getCollidingElements() {
+        return collidingElements;
+    }
+
+    /**
+     * @return Share of elements that share their hash code with another element, from 0 to 1
+     */
+    public double getCollisionRate() {
+        return elements == 0 ? 0d : (double) collidingElements / elements;
+    }
+
+    /**
+     * @return How many elements hashed to zero
+     */
+    public int getZeroHashes() {
+        return zeroHashes;
+    }
+
+    /**
+     * @return How many elements the fullest bucket of a {@link java.util.HashMap}-sized table has
+     */
+    public int getLargestBucket() {
+        return largestBucket;
+    }
+
+    /**
+     * @return Chi-squared statistic of the bucket sizes divided by its degrees of freedom, around 1 for uniformly spread hash codes and
+     *         growing with the skew
+     */
+    public double getBucketChiSquared() {
+        return bucketChiSquared;
+    }
+
+    /**
+     * @return Average share of output bits that change when one input bit changes, 0.5 for a perfect avalanche
+     */
+    public double getAvalancheMean() {
+        return avalancheMean;
+    }
+
+    /**
+     * @return The worst input to output bit dependency, from 0 (the output bit changes in half of the cases) to 1 (it always or never
+     *         changes)
+     */
+    public double getAvalancheWorstBias() {
+        return avalancheWorstBias;
+    }
+
+}
@@ -0,0 +1,111 @@
+
+package helpers.hashing;
+
+import helpers.index.HashStats;
+
+import java.util.List;
+
+/**
+ * Measures how well a {@link HashCombiner} spreads a dataset: collisions and zero hashes over all elements, how evenly the elements fill
+ * the buckets of a {@link java.util.HashMap}-sized table (with the same bit spreading {@link java.util.HashMap} does), and how many output
+ * bits change when a single input bit changes (the avalanche effect).
+ * <p>
+ * The avalanche is measured by flipping each of the 16 bits of the first {@value #AVALANCHE_CHARACTERS} characters of every field, one at a
+ * time, on a sample of the elements.
+ */
+public final class HashQualityAnalyzer {
+
+    /**
+     * How many characters from the start of each field get their bits flipped when measuring the avalanche.
+     */
+    static final int AVALANCHE_CHARACTERS = 2;
+
+    private static final int OUTPUT_BITS = Integer.SIZE;
+    private static final int CHARACTER_BITS = Character.SIZE;
+
+    private HashQualityAnalyzer() {
+    }
+
+    /**
+     * @param combiner Which combiner to analyze
+     * @param rows Fields of each element, two or three per element
+     * @param avalancheSamples How many elements (from the start of the list) to flip bits in
+     * @return What was measured
+     */
+    public static HashQuality analyze(HashCombiner combiner, List<String[]> rows, int avalancheSamples) {
+        int size = rows.size();
+        int[] hashes = new int[size];
+        int zeroHashes = 0;
+        for (int i = 0; i < size; i++) {
+            hashes[i] = combiner.hash(rows.get(i));
+            zeroHashes += hashes[i] == 0 ? 1 : 0;
+        }
+        HashStats stats = HashStats.ofHashes(hashes);
+
+        // same capacity and spreading as HashStats
+        int capacity = Math.max(1, Integer.highestOneBit(Math.max(1, (int) (size / 0.75f)) * 2 - 1));
+        int[] buckets = new int[capacity];
+        for (int hash : hashes) {
+            buckets[(hash ^ (hash >>> 16)) & (capacity - 1)]++;
+        }
+        double expected = (double) size / capacity;
+        double chiSquared = 0;
+        for (int bucket : buckets) {
+            chiSquared += (bucket - expected) * (bucket - expected) / expected;
+        }
+        double normalizedChiSquared = capacity > 1 && size > 0 ? chiSquared / (capacity - 1) : 0d;
+
+        int fields = size == 0 ? 0 : rows.get(0).length;
+        long[][] flips = new long[fields * AVALANCHE_CHARACTERS * CHARACTER_BITS][OUTPUT_BITS];
+        long[] trials = new long[flips.length];
+        int samples = Math.min(avalancheSamples, size);
+        for (int i = 0; i < samples; i++) {
+            measureAvalanche(combiner, rows.get(i), hashes[i], flips, trials);
+        }
+
+        long flippedBits = 0;
+        long totalTrials = 0;
+        double worstBias = 0;
+        for (int input = 0; input < flips.length; input++) {
+            if (trials[input] == 0) {
+                continue;
+            }
+            totalTrials += trials[input];
+            for (int output = 0; output < OUTPUT_BITS; output++) {
+                flippedBits += flips[input][output];
+                double probability = (double) flips[input][output] / trials[input];
+                worstBias = Math.max(worstBias, Math.abs(probability - 0.5d) * 2d);
+            }
+        }
+        double avalancheMean = totalTrials == 0 ? 0d : (double) flippedBits / (totalTrials * OUTPUT_BITS);
+
+        return new HashQuality(combiner.getName(), size, stats.getDistinctHashes(), stats.getCollidingElements(), zeroHashes,
+                stats.getLargestBucket(), normalizedChiSquared, avalancheMean, worstBias);
+    }
+
+    /**
+     * Flips each input bit of the given element, and counts which output bits changed.
+     */
+    private static void measureAvalanche(HashCombiner combiner, String[] row, int hash, long[][] flips, long[] trials) {
+        String[] mutated = row.clone();
+        for (int field = 0; field < row.length && field * AVALANCHE_CHARACTERS * CHARACTER_BITS < flips.length; field++) {
+            char[] characters = row[field].toCharArray();
+            for (int index = 0; index < Math.min(AVALANCHE_CHARACTERS, characters.length); index++) {
+                char original = characters[index];
+                for (int bit = 0; bit < CHARACTER_BITS; bit++) {
+                    characters[index] = (char) (original ^ (1 << bit));
+                    mutated[field] = new String(characters);
+                    int changed = hash ^ combiner.hash(mutated);
+                    int input = (field * AVALANCHE_CHARACTERS + index) * CHARACTER_BITS + bit;
+                    trials[input]++;
+                    for (int output = 0; output < OUTPUT_BITS; output++) {
+                        flips[input][output] += (changed >>> output) & 1;
+                    }
+                }
+                characters[index] = original;
+            }
+            mutated[field] = row[field];
+        }
+    }
+
+}
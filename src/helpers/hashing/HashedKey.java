@@ -0,0 +1,48 @@
+
+package helpers.hashing;
+
+/**
+ * A map key with a hash code computed up front, e.g. by a {@link HashCombiner}, so that a {@link java.util.HashMap} spreads its keys with
+ * that hash code instead of the value's own {@link Object#hashCode()}. Keys are equal when their values are equal.
+ *
+ * @param <T> Type of the wrapped value
+ */
+public final class HashedKey<T> {
+
+    private final T value;
+    private final int hash;
+
+    /**
+     * @param value The wrapped value
+     * @param hash Hash code of the value, equal values must have equal hash codes
+     */
+    public HashedKey(T value, int hash) {
+        this.value = value;
+        this.hash = hash;
+    }
+
+    /**
+     * @return The wrapped value
+     */
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof HashedKey)) {
+            return false;
+        }
+        HashedKey<?> other = (HashedKey<?>) obj;
+        return hash == other.hash && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+}
@@ -0,0 +1,98 @@
+
+package helpers.index;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Describes how well {@link Object#hashCode()} spreads over a dataset: how many distinct hash codes there are, how many elements share a
+ * hash code with some other element, and how long the longest bucket gets in a {@link java.util.HashMap}-sized table.
+ */
+public final class HashStats {
+
+    private final int elements;
+    private final int distinctHashes;
+    private final int collidingElements;
+    private final int largestBucket;
+
+    private HashStats(int elements, int distinctHashes, int collidingElements, int largestBucket) {
+        this.elements = elements;
+        this.distinctHashes = distinctHashes;
+        this.collidingElements = collidingElements;
+        this.largestBucket = largestBucket;
+    }
+
+    /**
+     * Hashes all elements of the list and collects the stats. Equal elements are counted as colliding too, so this is best used on lists
+     * without duplicates.
+     *
+     * @param items Which elements to hash
+     * @return The collected stats
+     */
+    public static HashStats of(List<?> items) {
+        int size = items.size();
+        int[] hashes = new int[size];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = items.get(i).hashCode();
+        }
+        return collect(hashes);
+    }
+
+    /**
+     * Same as {@link #of(List)}, but for hash codes that were already computed, e.g. by a different hash function.
+     *
+     * @param hashes Hash codes of all elements, not changed by this
+     * @return The collected stats
+     */
+    public static HashStats ofHashes(int[] hashes) {
+        return collect(hashes.clone());
+    }
+
+    /**
+     * Sorts the given hash codes while collecting the stats.
+     */
+    private static HashStats collect(int[] hashes) {
+        int size = hashes.length;
+        // bucket sizes, as a HashMap with default load factor and the same spreading would have them
+        int capacity = Integer.highestOneBit(Math.max(1, (int) (size / 0.75f)) * 2 - 1);
+        int[] buckets = new int[Math.max(1, capacity)];
+        int largestBucket = 0;
+        for (int hash : hashes) {
+            int bucket = (hash ^ (hash >>> 16)) & (buckets.length - 1);
+            largestBucket = Math.max(largestBucket, ++buckets[bucket]);
+        }
+
+        Arrays.sort(hashes);
+        int distinct = 0;
+        int colliding = 0;
+        for (int i = 0; i < size; ) {
+            int run = 1;
+            while (i + run < size && hashes[i + run] == hashes[i]) {
+                run++;
+            }
+            distinct++;
+            if (run > 1) {
+                colliding += run;
+            }
+            i += run;
+        }
+        return new HashStats(size, distinct, colliding, largestBucket);
+    }
+
+    public int getElements() {
+        return elements;
+    }
+
+    public int getDistinctHashes() {
+        return distinctHashes;
+    }
+
+    public int getCollidingElements() {
+        return collidingElements;
+    }
+
+    public int getLargestBucket() {
+        return largestBucket;
+    }
+
+}
@@ -0,0 +1,123 @@
+
+package helpers.index;
+
+import java.util.List;
+
+/**
+ * A read-only hash set over a list, built with open addressing on primitive arrays. The table keeps each element's
+ * {@link Object#hashCode()} in an {@code int[]} next to the element's position in the list, so probing compares plain {@code int}s and only
+ * calls {@link Object#equals(Object)} when the hash codes match. Collisions are resolved with linear probing, and probe lengths are counted
+ * while building so that the quality of the hash function shows up in the results.
+ *
+ * @param <T> Type of the indexed elements
+ */
+public class OpenHashIndex<T> {
+
+    /**
+     * Marks an empty slot in {@link #positions}, because positions are stored plus one.
+     */
+    private static final int EMPTY = 0;
+
+    private final List<T> items;
+    private final int[] hashes;
+    private final int[] positions;
+    private final int mask;
+    private final int shift;
+    private int size;
+    private long totalProbes;
+    private int maxProbes;
+    private long hashCollisions;
+
+    /**
+     * Indexes all elements of the given list. Elements equal to an already indexed one are skipped.
+     *
+     * @param items Which elements to index, the list must not change afterwards
+     */
+    public OpenHashIndex(List<T> items) {
+        this.items = items;
+        // keep the load factor at or below 0.5
+        int capacity = Integer.highestOneBit(Math.max(2, items.size()) * 2 - 1) << 1;
+        this.hashes = new int[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+        this.shift = 32 - Integer.numberOfTrailingZeros(capacity);
+
+        int itemCount = items.size();
+        for (int i = 0; i < itemCount; i++) {
+            insert(i);
+        }
+    }
+
+    private void insert(int position) {
+        T item = items.get(position);
+        int hash = item.hashCode();
+        int slot = slotOf(hash);
+        int probes = 1;
+        while (positions[slot] != EMPTY) {
+            if (hashes[slot] == hash) {
+                if (item.equals(items.get(positions[slot] - 1))) {
+                    return; // already indexed
+                }
+                hashCollisions++;
+            }
+            slot = (slot + 1) & mask;
+            probes++;
+        }
+        hashes[slot] = hash;
+        positions[slot] = position + 1;
+        size++;
+        totalProbes += probes;
+        maxProbes = Math.max(maxProbes, probes);
+    }
+
+    /**
+     * @param item Which element to look for
+     * @return Whether an equal element is indexed
+     */
+    public boolean contains(T item) {
+        int hash = item.hashCode();
+        int slot = slotOf(hash);
+        int position;
+        while ((position = positions[slot]) != EMPTY) {
+            if (hashes[slot] == hash && item.equals(items.get(position - 1))) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private int slotOf(int hash) {
+        // Fibonacci hashing, takes the top bits so that poorly spread low bits don't cluster
+        return (hash * 0x9E3779B9) >>> shift & mask;
+    }
+
+    /**
+     * @return How many distinct elements are indexed
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Average number of slots looked at when inserting an element, {@code 1} being ideal
+     */
+    public double getAverageProbes() {
+        return size == 0 ? 0d : (double) totalProbes / size;
+    }
+
+    /**
+     * @return Most slots looked at when inserting a single element
+     */
+    public int getMaxProbes() {
+        return maxProbes;
+    }
+
+    /**
+     * @return How many times an inserted element met a different element with the same hash code
+     */
+    public long getHashCollisions() {
+        return hashCollisions;
+    }
+
+}
@@ -0,0 +1,174 @@
+
+package helpers.report;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares results of the current run against a baseline file written earlier by {@link CsvResultWriter} or
+ * {@link JsonLinesResultWriter}. Results are matched by {@link Result#getKey()}, and repeated results (e.g. from several test rounds) are
+ * averaged on both sides. A result is flagged as a regression when its average time per element is slower than the baseline by more than
+ * the configured threshold. The report is printed when the comparator is closed.
+ */
+public class BaselineComparator implements ResultWriter {
+
+    private final Map<String, double[]> baseline;
+    private final Map<String, double[]> current = new LinkedHashMap<>();
+    private final double threshold;
+    private final PrintStream out;
+    private final List<String> regressions = new ArrayList<>();
+
+    /**
+     * @param baselinePath Which file to compare with. Files ending with {@code .csv} are read as CSV, everything else as JSON-lines
+     * @param threshold How much slower (as a fraction, {@code 0.1} being 10%) a result can be before it's flagged
+     * @param out Where to print the comparison report
+     * @throws IOException When the baseline can't be read
+     */
+    public BaselineComparator(String baselinePath, double threshold, PrintStream out) throws IOException {
+        this.baseline = baselinePath.endsWith(".csv") ? readCsv(baselinePath) : readJsonLines(baselinePath);
+        this.threshold = threshold;
+        this.out = out;
+    }
+
+    @Override
+    public void write(Result result, RuntimeInfo runtime) {
+        accumulate(current, result.getKey(), result.getNanosPerElement());
+    }
+
+    @Override
+    public void flush() {
+        // nothing to do, the report is printed on close
+    }
+
+    @Override
+    public void close() {
+        regressions.clear();
+        out.println(String.format("Baseline comparison (threshold %.1f%%):", threshold * 100d));
+        for (Map.Entry<String, double[]> entry : current.entrySet()) {
+            double[] base = baseline.get(entry.getKey());
+            double now = average(entry.getValue());
+            if (base == null) {
+                out.println(String.format("  NEW         %s: %.3fns per element", entry.getKey(), now));
+                continue;
+            }
+
+            double before = average(base);
+            double change = before == 0d ? 0d : (now - before) / before;
+            String verdict;
+            if (change > threshold) {
+                verdict = "REGRESSION ";
+                regressions.add(entry.getKey());
+            } else if (change < -threshold) {
+                verdict = "IMPROVEMENT";
+            } else {
+                verdict = "OK         ";
+            }
+            out.println(String.format("  %s %s: %.3fns -> %.3fns per element (%+.1f%%)", verdict, entry.getKey(), before, now,
+                    change * 100d));
+        }
+        out.println(String.format("%d regression(s) found.", regressions.size()));
+        out.flush();
+    }
+
+    /**
+     * @return Keys of all results that regressed, filled in when the comparator is closed
+     */
+    public List<String> getRegressions() {
+        return Collections.unmodifiableList(regressions);
+    }
+
+    private static void accumulate(Map<String, double[]> target, String key, double nanosPerElement) {
+        double[] sumAndCount = target.get(key);
+        if (sumAndCount == null) {
+            sumAndCount = new double[2];
+            target.put(key, sumAndCount);
+        }
+        sumAndCount[0] += nanosPerElement;
+        sumAndCount[1]++;
+    }
+
+    private static double average(double[] sumAndCount) {
+        return sumAndCount[0] / sumAndCount[1];
+    }
+
+    private static Map<String, double[]> readCsv(String path) throws IOException {
+        Map<String, double[]> results = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith(CsvResultWriter.COLUMNS[0] + ",")) {
+                    continue; // skip headers, appended files can have several
+                }
+                List<String> values = CsvResultWriter.parseLine(line);
+                String key = values.get(1) + "/" + values.get(2);
+                accumulate(results, key, Double.parseDouble(values.get(7)));
+            }
+        }
+        return results;
+    }
+
+    private static Map<String, double[]> readJsonLines(String path) throws IOException {
+        Map<String, double[]> results = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String key = readJsonString(line, "suite") + "/" + readJsonString(line, "name");
+                accumulate(results, key, Double.parseDouble(readJsonNumber(line, "nanosPerElement")));
+            }
+        }
+        return results;
+    }
+
+    private static String readJsonString(String json, String field) {
+        int start = json.indexOf("\"" + field + "\":\"") + field.length() + 4;
+        StringBuilder value = new StringBuilder();
+        for (int i = start; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                char escaped = json.charAt(++i);
+                switch (escaped) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        value.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+                        i += 4;
+                        break;
+                    default:
+                        value.append(escaped);
+                }
+            } else if (c == '"') {
+                break;
+            } else {
+                value.append(c);
+            }
+        }
+        return value.toString();
+    }
+
+    private static String readJsonNumber(String json, String field) {
+        int start = json.indexOf("\"" + field + "\":") + field.length() + 3;
+        int end = start;
+        while (end < json.length() && json.charAt(end) != ',' && json.charAt(end) != '}') {
+            end++;
+        }
+        return json.substring(start, end);
+    }
+
+}
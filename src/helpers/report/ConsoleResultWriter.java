@@ -0,0 +1,105 @@
+
+package helpers.report;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes human-readable results to a {@link PrintStream}, in the same format the tests always used.
+ */
+public class ConsoleResultWriter implements ResultWriter {
+
+    /**
+     * Metrics written in their own sentences, all others are written as they are.
+     */
+    private static final Set<String> FORMATTED_METRICS = new HashSet<>(Arrays.asList(Result.METRIC_THREADS, Result.METRIC_BASELINE_NANOS,
+            Result.METRIC_LIST_TYPES, Result.METRIC_DATASET_ELEMENTS, Result.METRIC_PASSES, Result.METRIC_CPU_NANOS,
+            Result.METRIC_ALLOCATED_BYTES, Result.METRIC_GC_COUNT, Result.METRIC_GC_MILLIS, Result.METRIC_HEAP_BEFORE_BYTES,
+            Result.METRIC_HEAP_AFTER_BYTES));
+
+    private final PrintStream out;
+
+    public ConsoleResultWriter(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(Result result, RuntimeInfo runtime) {
+        String name = result.getName();
+        long elapsedNano = result.getElapsedNanos();
+        String line;
+        if (result.getKind() == Result.Kind.LOOP) {
+            String part1 = String.format("%s: %,dns, character count: %,d. ", name, elapsedNano, result.getElements());
+            String part2 = String.format("Time per character is %.3fns.", result.getNanosPerElement());
+            line = part1 + part2;
+        } else {
+            int percentEqual = (int) Math.floor(((float) result.getEqualities() / (float) result.getElements()) * 100f);
+            String part1 = String.format("%s: %,dns, equalities: %,d. ", name, elapsedNano, result.getEqualities());
+            String part2 = String.format("Time per comparison is %.3fns. %d%% of the list was equal.", result.getNanosPerElement(),
+                    percentEqual);
+            line = part1 + part2;
+        }
+
+        StringBuilder builder = new StringBuilder(line);
+        Map<String, Long> metrics = result.getMetrics();
+        Long threads = metrics.get(Result.METRIC_THREADS);
+        Long baselineNanos = metrics.get(Result.METRIC_BASELINE_NANOS);
+        if (threads != null && baselineNanos != null) {
+            double speedup = (double) baselineNanos / (double) elapsedNano;
+            builder.append(String.format(" Speedup on %d thread(s) is %.2fx, efficiency %.0f%%.", threads, speedup,
+                    speedup / threads * 100d));
+        }
+        Long listTypes = metrics.get(Result.METRIC_LIST_TYPES);
+        if (listTypes != null && listTypes > 1 && baselineNanos != null) {
+            builder.append(String.format(" With %d list type(s) in the profile, it's %.2fx as slow as with one.", listTypes,
+                    baselineNanos == 0 ? 0d : (double) elapsedNano / (double) baselineNanos));
+        }
+        Long datasetElements = metrics.get(Result.METRIC_DATASET_ELEMENTS);
+        Long passes = metrics.get(Result.METRIC_PASSES);
+        if (datasetElements != null && passes != null) {
+            builder.append(String.format(" Time per element is %.3fns, looping %,d time(s) through %,d element(s).",
+                    datasetElements * passes == 0 ? 0d : (double) elapsedNano / (double) (datasetElements * passes), passes,
+                    datasetElements));
+        }
+        Long cpuNanos = metrics.get(Result.METRIC_CPU_NANOS);
+        if (cpuNanos != null) {
+            builder.append(String.format(" CPU time is %,dns (%.0f%% of wall time).", cpuNanos,
+                    elapsedNano == 0 ? 0d : (double) cpuNanos / (double) elapsedNano * 100d));
+        }
+        Long allocatedBytes = metrics.get(Result.METRIC_ALLOCATED_BYTES);
+        if (allocatedBytes != null) {
+            builder.append(String.format(" Allocated %,d bytes (%.3f per element).", allocatedBytes,
+                    result.getElements() <= 0 ? 0d : (double) allocatedBytes / (double) result.getElements()));
+        }
+        Long gcCount = metrics.get(Result.METRIC_GC_COUNT);
+        Long gcMillis = metrics.get(Result.METRIC_GC_MILLIS);
+        if (gcCount != null && gcMillis != null) {
+            builder.append(String.format(" GC ran %d time(s) for %,dms.", gcCount, gcMillis));
+        }
+        Long heapBefore = metrics.get(Result.METRIC_HEAP_BEFORE_BYTES);
+        Long heapAfter = metrics.get(Result.METRIC_HEAP_AFTER_BYTES);
+        if (heapBefore != null && heapAfter != null) {
+            builder.append(String.format(" Heap went from %,dKB to %,dKB.", heapBefore / 1024, heapAfter / 1024));
+        }
+        for (Map.Entry<String, Long> metric : metrics.entrySet()) {
+            if (!FORMATTED_METRICS.contains(metric.getKey())) {
+                builder.append(String.format(" %s: %,d.", metric.getKey(), metric.getValue()));
+            }
+        }
+        out.println(builder);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        out.flush();
+    }
+
+}
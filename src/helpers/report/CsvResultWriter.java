@@ -0,0 +1,126 @@
+
+package helpers.report;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes results as CSV rows (RFC 4180 quoting), appending to the given file. The header is written only when the file is new. Additional
+ * metrics go into a single {@code metrics} column as {@code key=value} pairs separated by {@code ;}, so that the column layout stays the
+ * same no matter which test produced the rows.
+ */
+public class CsvResultWriter implements ResultWriter {
+
+    /**
+     * Column names, in order. Also used by {@link BaselineComparator} when reading CSV baselines.
+     */
+    static final String[] COLUMNS = { "timestamp", "suite", "name", "kind", "elapsedNanos", "elements", "equalities", "nanosPerElement",
+            "metrics", "javaVersion", "vmName", "vmVersion", "gc", "osArch", "cpuModel", "cpus", "maxHeapBytes" };
+
+    private final Writer writer;
+    private boolean headerPending;
+
+    /**
+     * @param path Which file to append to, created (with a header) if missing
+     * @throws IOException When the file can't be opened
+     */
+    public CsvResultWriter(String path) throws IOException {
+        this(new BufferedWriter(new FileWriter(path, true)), !new File(path).exists() || new File(path).length() == 0);
+    }
+
+    public CsvResultWriter(Writer writer, boolean writeHeader) {
+        this.writer = writer;
+        this.headerPending = writeHeader;
+    }
+
+    @Override
+    public void write(Result result, RuntimeInfo runtime) throws IOException {
+        if (headerPending) {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\n");
+            headerPending = false;
+        }
+
+        StringBuilder metrics = new StringBuilder();
+        for (Map.Entry<String, Long> metric : result.getMetrics().entrySet()) {
+            if (metrics.length() > 0) {
+                metrics.append(';');
+            }
+            metrics.append(metric.getKey()).append('=').append(metric.getValue());
+        }
+
+        String equalities = result.getEqualities() == Result.NOT_APPLICABLE ? "" : String.valueOf(result.getEqualities());
+        String[] row = { String.valueOf(result.getTimestamp()), result.getSuite(), result.getName(), result.getKind().name(),
+                String.valueOf(result.getElapsedNanos()), String.valueOf(result.getElements()), equalities,
+                String.valueOf(result.getNanosPerElement()), metrics.toString(), runtime.getJavaVersion(), runtime.getVmName(),
+                runtime.getVmVersion(), runtime.getGarbageCollectors(), runtime.getOsArch(), runtime.getCpuModel(),
+                String.valueOf(runtime.getAvailableProcessors()), String.valueOf(runtime.getMaxHeapBytes()) };
+
+        StringBuilder line = new StringBuilder(256);
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(quote(row[i]));
+        }
+        writer.write(line.append('\n').toString());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Splits a single CSV line written by this class back into its values.
+     *
+     * @param line Which line to split
+     * @return All values from the line, unquoted
+     */
+    static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+}
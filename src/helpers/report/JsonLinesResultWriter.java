@@ -0,0 +1,120 @@
+
+package helpers.report;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes one JSON object per line (JSON-lines), appending to the given file. Each line is self-contained: it carries the runtime metadata
+ * next to the measurement, so files from different runs can simply be concatenated.
+ */
+public class JsonLinesResultWriter implements ResultWriter {
+
+    private final Writer writer;
+
+    /**
+     * @param path Which file to append to, created if missing
+     * @throws IOException When the file can't be opened
+     */
+    public JsonLinesResultWriter(String path) throws IOException {
+        this(new BufferedWriter(new FileWriter(path, true)));
+    }
+
+    public JsonLinesResultWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(Result result, RuntimeInfo runtime) throws IOException {
+        StringBuilder json = new StringBuilder(512);
+        json.append('{');
+        appendField(json, "timestamp", result.getTimestamp()).append(',');
+        appendField(json, "suite", result.getSuite()).append(',');
+        appendField(json, "name", result.getName()).append(',');
+        appendField(json, "kind", result.getKind().name()).append(',');
+        appendField(json, "elapsedNanos", result.getElapsedNanos()).append(',');
+        appendField(json, "elements", result.getElements()).append(',');
+        if (result.getEqualities() != Result.NOT_APPLICABLE) {
+            appendField(json, "equalities", result.getEqualities()).append(',');
+        }
+        json.append("\"nanosPerElement\":").append(result.getNanosPerElement()).append(',');
+
+        json.append("\"metrics\":{");
+        boolean first = true;
+        for (Map.Entry<String, Long> metric : result.getMetrics().entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            appendField(json, metric.getKey(), metric.getValue());
+            first = false;
+        }
+        json.append("},");
+
+        json.append("\"runtime\":{");
+        appendField(json, "javaVersion", runtime.getJavaVersion()).append(',');
+        appendField(json, "vmName", runtime.getVmName()).append(',');
+        appendField(json, "vmVersion", runtime.getVmVersion()).append(',');
+        appendField(json, "gc", runtime.getGarbageCollectors()).append(',');
+        appendField(json, "jvmArguments", runtime.getJvmArguments()).append(',');
+        appendField(json, "osArch", runtime.getOsArch()).append(',');
+        appendField(json, "cpuModel", runtime.getCpuModel()).append(',');
+        appendField(json, "cpus", runtime.getAvailableProcessors()).append(',');
+        appendField(json, "maxHeapBytes", runtime.getMaxHeapBytes());
+        json.append("}}\n");
+
+        writer.write(json.toString());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static StringBuilder appendField(StringBuilder json, String key, long value) {
+        return appendString(json, key).append(':').append(value);
+    }
+
+    private static StringBuilder appendField(StringBuilder json, String key, String value) {
+        return appendString(appendString(json, key).append(':'), value);
+    }
+
+    private static StringBuilder appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"');
+    }
+
+}
@@ -0,0 +1,125 @@
+
+package helpers.report;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects {@link Result}s in memory while the tests are measuring, and hands them over to all registered {@link ResultWriter}s only when
+ * {@link #flush()} is called. That keeps formatting and I/O off the measured path, so that logging one measurement doesn't perturb the
+ * next one. Anything still buffered is flushed when the JVM shuts down.
+ * <p>
+ * The default reporter, see {@link #fromSystemProperties()}, is configured with these system properties:
+ * <ul>
+ * <li>{@code report.console} - print results to the standard output, {@code true} by default</li>
+ * <li>{@code report.jsonl} - path of a JSON-lines file to append results to</li>
+ * <li>{@code report.csv} - path of a CSV file to append results to</li>
+ * <li>{@code report.baseline} - path of a previous CSV or JSON-lines file to compare the results with</li>
+ * <li>{@code report.threshold} - regression threshold for the baseline comparison, {@code 0.1} (10%) by default</li>
+ * </ul>
+ */
+public class Reporter {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final List<ResultWriter> writers = new ArrayList<>();
+    private List<Result> buffer = new ArrayList<>(INITIAL_CAPACITY);
+    private boolean closed;
+
+    public Reporter() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "reporter-shutdown"));
+    }
+
+    /**
+     * Creates a reporter configured from system properties, as described in the class documentation.
+     *
+     * @return The newly created reporter
+     */
+    public static Reporter fromSystemProperties() {
+        Reporter reporter = new Reporter();
+        try {
+            if (Boolean.parseBoolean(System.getProperty("report.console", "true"))) {
+                reporter.addWriter(new ConsoleResultWriter(System.out));
+            }
+            String jsonPath = System.getProperty("report.jsonl");
+            if (jsonPath != null) {
+                reporter.addWriter(new JsonLinesResultWriter(jsonPath));
+            }
+            String csvPath = System.getProperty("report.csv");
+            if (csvPath != null) {
+                reporter.addWriter(new CsvResultWriter(csvPath));
+            }
+            String baselinePath = System.getProperty("report.baseline");
+            if (baselinePath != null) {
+                double threshold = Double.parseDouble(System.getProperty("report.threshold", "0.1"));
+                reporter.addWriter(new BaselineComparator(baselinePath, threshold, System.out));
+            }
+        } catch (IOException e) {
+            System.err.println("Couldn't set up result writers due to " + e.getMessage());
+        }
+        return reporter;
+    }
+
+    /**
+     * Registers another writer. All results flushed after this call will be written to it.
+     *
+     * @param writer Which writer to add
+     */
+    public synchronized void addWriter(ResultWriter writer) {
+        writers.add(writer);
+    }
+
+    /**
+     * Buffers the result until the next {@link #flush()}. This is the only thing that happens on the measured path, so it must stay cheap.
+     *
+     * @param result Which result to buffer
+     */
+    public synchronized void record(Result result) {
+        if (!closed) {
+            buffer.add(result);
+        }
+    }
+
+    /**
+     * Writes all buffered results to all writers, and empties the buffer.
+     */
+    public synchronized void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        List<Result> results = buffer;
+        buffer = new ArrayList<>(INITIAL_CAPACITY);
+        RuntimeInfo runtime = RuntimeInfo.get();
+        for (ResultWriter writer : writers) {
+            try {
+                for (Result result : results) {
+                    writer.write(result, runtime);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                System.err.println("Couldn't write results due to " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes all writers. Results recorded after this are ignored.
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        for (ResultWriter writer : writers) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("Couldn't close result writer due to " + e.getMessage());
+            }
+        }
+    }
+
+}
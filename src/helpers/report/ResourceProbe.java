@@ -0,0 +1,214 @@
+
+package helpers.report;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures what a section of code costs besides wall time: CPU time, allocated bytes, garbage collections and heap usage. Use it instead of
+ * a pair of {@link System#nanoTime()} calls around the measured section:
+ *
+ * <pre>
+ * ResourceProbe probe = ResourceProbe.start();
+ * int count = loop(list);
+ * long elapsed = probe.stop();
+ * Log.logLoopStats("Loop", elapsed, count, probe.getMetrics());
+ * </pre>
+ *
+ * CPU time and allocated bytes come from {@link com.sun.management.ThreadMXBean} and only count the current thread, unless the probe is
+ * started with {@link #startAllThreads()}. Metrics the running JVM can't provide are simply left out.
+ * <p>
+ * Starting the first probe also runs the callback registered with {@link #setFirstStartListener(Runnable)}, if there is one.
+ */
+public final class ResourceProbe {
+
+    private static final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private static final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final com.sun.management.ThreadMXBean threadBean = sunThreadBean();
+
+    /**
+     * Runs right before the first probe starts, then it's cleared.
+     */
+    private static volatile Runnable firstStartListener;
+
+    private final boolean allThreads;
+
+    private final long startCpuNanos;
+    private final long startAllocatedBytes;
+    private final long startGcCount;
+    private final long startGcMillis;
+    private final long startHeapBytes;
+    private final long startNanos;
+
+    private long elapsedNanos = Result.NOT_APPLICABLE;
+    private Map<String, Long> metrics;
+
+    private ResourceProbe(boolean allThreads) {
+        if (firstStartListener != null) {
+            notifyFirstStart();
+        }
+        this.allThreads = allThreads;
+        this.startCpuNanos = cpuNanos();
+        this.startAllocatedBytes = allocatedBytes();
+        this.startGcCount = gcCount();
+        this.startGcMillis = gcMillis();
+        this.startHeapBytes = memoryBean.getHeapMemoryUsage().getUsed();
+        // the clock is read last, so that reading all the other values is not measured
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Registers a callback that runs once, right before the next probe starts, e.g. to report how long it took the JVM to get to its first
+     * measurement. The callback may also exit the JVM.
+     *
+     * @param listener What to run, or {@code null} to remove the registered callback
+     */
+    public static synchronized void setFirstStartListener(Runnable listener) {
+        firstStartListener = listener;
+    }
+
+    private static synchronized void notifyFirstStart() {
+        Runnable listener = firstStartListener;
+        if (listener != null) {
+            firstStartListener = null;
+            listener.run();
+        }
+    }
+
+    /**
+     * @return A started probe, measuring CPU time and allocations of the current thread only
+     */
+    public static ResourceProbe start() {
+        return new ResourceProbe(false);
+    }
+
+    /**
+     * Same as {@link #start()}, but CPU time and allocations of all live threads are summed up. Use this when the measured section runs on
+     * a thread pool, and keep the pool alive until the probe is stopped: threads that die in between are not counted.
+     *
+     * @return A started probe, measuring CPU time and allocations of all threads
+     */
+    public static ResourceProbe startAllThreads() {
+        return new ResourceProbe(true);
+    }
+
+    /**
+     * Stops measuring. Call this only once.
+     *
+     * @return How long the measured section took (in nanoseconds)
+     */
+    public long stop() {
+        elapsedNanos = System.nanoTime() - startNanos;
+        long cpuNanos = cpuNanos();
+        long allocatedBytes = allocatedBytes();
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        long heapBytes = memoryBean.getHeapMemoryUsage().getUsed();
+
+        metrics = new LinkedHashMap<>();
+        if (cpuNanos != Result.NOT_APPLICABLE && startCpuNanos != Result.NOT_APPLICABLE) {
+            metrics.put(Result.METRIC_CPU_NANOS, cpuNanos - startCpuNanos);
+        }
+        if (allocatedBytes != Result.NOT_APPLICABLE && startAllocatedBytes != Result.NOT_APPLICABLE) {
+            metrics.put(Result.METRIC_ALLOCATED_BYTES, allocatedBytes - startAllocatedBytes);
+        }
+        if (gcCount != Result.NOT_APPLICABLE && startGcCount != Result.NOT_APPLICABLE) {
+            metrics.put(Result.METRIC_GC_COUNT, gcCount - startGcCount);
+            metrics.put(Result.METRIC_GC_MILLIS, gcMillis - startGcMillis);
+        }
+        metrics.put(Result.METRIC_HEAP_BEFORE_BYTES, startHeapBytes);
+        metrics.put(Result.METRIC_HEAP_AFTER_BYTES, heapBytes);
+        return elapsedNanos;
+    }
+
+    /**
+     * @return How long the measured section took (in nanoseconds), or {@link Result#NOT_APPLICABLE} if the probe wasn't stopped yet
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return All measurements taken by {@link #stop()}, keyed by the {@code METRIC_*} names from {@link Result}, in a new mutable map
+     */
+    public Map<String, Long> getMetrics() {
+        if (metrics == null) {
+            throw new IllegalStateException("Probe not stopped yet");
+        }
+        return new LinkedHashMap<>(metrics);
+    }
+
+    /**
+     * Asks the JVM to collect garbage a few times, and then checks how much heap is still used. This is only a rough estimate of how much
+     * memory the live objects take, so never call it while measuring.
+     *
+     * @return Used heap (in bytes) after garbage collection
+     */
+    public static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+
+    private long cpuNanos() {
+        if (threadBean == null || !threadBean.isThreadCpuTimeSupported() || !threadBean.isThreadCpuTimeEnabled()) {
+            return Result.NOT_APPLICABLE;
+        }
+        if (!allThreads) {
+            return threadBean.getCurrentThreadCpuTime();
+        }
+        long sum = 0;
+        for (long time : threadBean.getThreadCpuTime(threadBean.getAllThreadIds())) {
+            // threads which died in the meantime are reported as -1
+            sum += Math.max(time, 0);
+        }
+        return sum;
+    }
+
+    private long allocatedBytes() {
+        if (threadBean == null || !threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) {
+            return Result.NOT_APPLICABLE;
+        }
+        if (!allThreads) {
+            return threadBean.getCurrentThreadAllocatedBytes();
+        }
+        long sum = 0;
+        for (long bytes : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+            sum += Math.max(bytes, 0);
+        }
+        return sum;
+    }
+
+    private static long gcCount() {
+        long sum = 0;
+        for (GarbageCollectorMXBean gcBean : gcBeans) {
+            long count = gcBean.getCollectionCount();
+            if (count < 0) {
+                return Result.NOT_APPLICABLE;
+            }
+            sum += count;
+        }
+        return sum;
+    }
+
+    private static long gcMillis() {
+        long sum = 0;
+        for (GarbageCollectorMXBean gcBean : gcBeans) {
+            // not reported by all collectors, so a missing time only counts as zero
+            sum += Math.max(gcBean.getCollectionTime(), 0);
+        }
+        return sum;
+    }
+
+    private static com.sun.management.ThreadMXBean sunThreadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+
+}
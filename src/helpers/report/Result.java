@@ -0,0 +1,289 @@
+
+package helpers.report;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single measurement, as reported by the tests through {@link helpers.Log}. Results are immutable and cheap to create, so they can be
+ * buffered while the tests run and written out later by {@link ResultWriter}s.
+ */
+public final class Result {
+
+    /**
+     * Used for numeric values that don't apply to the given result kind, e.g. equalities of a loop.
+     */
+    public static final long NOT_APPLICABLE = -1;
+
+    /**
+     * Metric holding the number of threads a parallel test used.
+     */
+    public static final String METRIC_THREADS = "threads";
+
+    /**
+     * Metric holding the elapsed time (in nanoseconds) of the single-threaded baseline a parallel test is compared with.
+     */
+    public static final String METRIC_BASELINE_NANOS = "baselineNanos";
+
+    /**
+     * Metric holding the number of {@code List} classes a loop saw before it was measured, see {@link helpers.PollutedLoops}.
+     */
+    public static final String METRIC_LIST_TYPES = "listTypes";
+
+    /**
+     * Metric holding how many elements the dataset of a scaling sweep had, see {@link helpers.ScalingSweep}.
+     */
+    public static final String METRIC_DATASET_ELEMENTS = "datasetElements";
+
+    /**
+     * Metric holding how many times a scaling sweep looped through its dataset in one measurement.
+     */
+    public static final String METRIC_PASSES = "passes";
+
+    /**
+     * Metric holding the CPU time (in nanoseconds) the measured threads spent in the test, see {@link ResourceProbe}.
+     */
+    public static final String METRIC_CPU_NANOS = "cpuNanos";
+
+    /**
+     * Metric holding how many bytes the measured threads allocated during the test.
+     */
+    public static final String METRIC_ALLOCATED_BYTES = "allocatedBytes";
+
+    /**
+     * Metric holding how many garbage collections happened during the test.
+     */
+    public static final String METRIC_GC_COUNT = "gcCount";
+
+    /**
+     * Metric holding how long (in milliseconds) the garbage collections during the test took.
+     */
+    public static final String METRIC_GC_MILLIS = "gcMillis";
+
+    /**
+     * Metric holding the used heap (in bytes) right before the test.
+     */
+    public static final String METRIC_HEAP_BEFORE_BYTES = "heapBeforeBytes";
+
+    /**
+     * Metric holding the used heap (in bytes) right after the test.
+     */
+    public static final String METRIC_HEAP_AFTER_BYTES = "heapAfterBytes";
+
+    /**
+     * Metric holding how long (in nanoseconds) it took to build an index before it was used.
+     */
+    public static final String METRIC_BUILD_NANOS = "buildNanos";
+
+    /**
+     * Metric holding how many elements of an index landed in an occupied slot.
+     */
+    public static final String METRIC_HASH_COLLISIONS = "hashCollisions";
+
+    /**
+     * Metric holding the average number of slots an index lookup probed, times 1000.
+     */
+    public static final String METRIC_AVERAGE_PROBES_X1000 = "averageProbesX1000";
+
+    /**
+     * Metric holding the most slots one index lookup probed.
+     */
+    public static final String METRIC_MAX_PROBES = "maxProbes";
+
+    /**
+     * Metric holding how many different hash codes a dataset has.
+     */
+    public static final String METRIC_DISTINCT_HASHES = "distinctHashes";
+
+    /**
+     * Metric holding how many elements of a dataset share their hash code with another element.
+     */
+    public static final String METRIC_COLLIDING_ELEMENTS = "collidingElements";
+
+    /**
+     * Metric holding how many elements the largest {@link java.util.HashMap} bucket would have.
+     */
+    public static final String METRIC_LARGEST_BUCKET = "largestBucket";
+
+    /**
+     * Metric holding how many batches a batched comparison was split into.
+     */
+    public static final String METRIC_BATCHES = "batches";
+
+    /**
+     * Metric holding the median latency (in nanoseconds) of one batch, from submitting it to its result.
+     */
+    public static final String METRIC_P50_LATENCY_NANOS = "p50LatencyNanos";
+
+    /**
+     * Metric holding the 99th percentile latency (in nanoseconds) of one batch.
+     */
+    public static final String METRIC_P99_LATENCY_NANOS = "p99LatencyNanos";
+
+    /**
+     * Metric holding the longest latency (in nanoseconds) of one batch.
+     */
+    public static final String METRIC_MAX_LATENCY_NANOS = "maxLatencyNanos";
+
+    /**
+     * Metric holding how many times a virtual thread was pinned to its carrier thread.
+     */
+    public static final String METRIC_PINNED = "pinned";
+
+    /**
+     * Metric holding how long (in nanoseconds) virtual threads were pinned to their carrier threads.
+     */
+    public static final String METRIC_PINNED_NANOS = "pinnedNanos";
+
+    /**
+     * Metric holding how many elements a hash comparison found equal although they are not.
+     */
+    public static final String METRIC_FALSE_POSITIVES = "falsePositives";
+
+    /**
+     * Metric holding how long (in nanoseconds) it took to intern a dataset before it was compared.
+     */
+    public static final String METRIC_INTERNING_NANOS = "interningNanos";
+
+    /**
+     * Metric holding how many distinct instances an interning pool kept.
+     */
+    public static final String METRIC_POOLED = "pooled";
+
+    /**
+     * Metric holding how many bytes of heap the compared data retains.
+     */
+    public static final String METRIC_RETAINED_HEAP_BYTES = "retainedHeapBytes";
+
+    /**
+     * Metric holding how many bytes the compared data takes outside of the heap.
+     */
+    public static final String METRIC_OFF_HEAP_BYTES = "offHeapBytes";
+
+    /**
+     * Metric holding how many times a pipeline stage waited for its next chunk.
+     */
+    public static final String METRIC_STALLS = "stalls";
+
+    /**
+     * Metric holding how long (in nanoseconds) a pipeline stage waited for its chunks in total.
+     */
+    public static final String METRIC_STALLED_NANOS = "stalledNanos";
+
+    /**
+     * Metric holding how many pairs a pipeline stage compared per second of its busy time.
+     */
+    public static final String METRIC_PAIRS_PER_SECOND = "pairsPerSecond";
+
+    /**
+     * What kind of test produced the result.
+     */
+    public enum Kind {
+        /**
+         * Looping through a {@link String} dataset, elements are characters
+         */
+        LOOP,
+        /**
+         * Comparing two lists, elements are compared pairs
+         */
+        COMPARISON
+    }
+
+    private final long timestamp;
+    private final String suite;
+    private final String name;
+    private final Kind kind;
+    private final long elapsedNanos;
+    private final long elements;
+    private final long equalities;
+    private final Map<String, Long> metrics;
+
+    /**
+     * Creates a new result. Prefer using {@link #loop(String, String, long, long)} and
+     * {@link #comparison(String, String, long, long, long)}.
+     *
+     * @param suite Which group of tests this result belongs to, used together with the name as the result key
+     * @param name Which test was performed
+     * @param kind What kind of test was performed
+     * @param elapsedNanos How long did it take to complete (in nanoseconds)
+     * @param elements How many elements were processed (characters for loops, pairs for comparisons)
+     * @param equalities How many equal pairs were found, or {@link #NOT_APPLICABLE}
+     * @param metrics Any additional named measurements, can be empty
+     */
+    public Result(String suite, String name, Kind kind, long elapsedNanos, long elements, long equalities, Map<String, Long> metrics) {
+        this.timestamp = System.currentTimeMillis();
+        this.suite = suite;
+        this.name = name;
+        this.kind = kind;
+        this.elapsedNanos = elapsedNanos;
+        this.elements = elements;
+        this.equalities = equalities;
+        this.metrics = metrics.isEmpty() ? Collections.<String, Long> emptyMap()
+                : Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+    }
+
+    public static Result loop(String suite, String name, long elapsedNanos, long charCount) {
+        return new Result(suite, name, Kind.LOOP, elapsedNanos, charCount, NOT_APPLICABLE, Collections.<String, Long> emptyMap());
+    }
+
+    public static Result comparison(String suite, String name, long elapsedNanos, long equalities, long totalElements) {
+        return new Result(suite, name, Kind.COMPARISON, elapsedNanos, totalElements, equalities, Collections.<String, Long> emptyMap());
+    }
+
+    /**
+     * @return A copy of this result with the given metric added
+     */
+    public Result withMetric(String metric, long value) {
+        Map<String, Long> copy = new LinkedHashMap<>(metrics);
+        copy.put(metric, value);
+        return new Result(suite, name, kind, elapsedNanos, elements, equalities, copy);
+    }
+
+    /**
+     * @return The key used to match this result against the same result from another run
+     */
+    public String getKey() {
+        return suite + "/" + name;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getSuite() {
+        return suite;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getElements() {
+        return elements;
+    }
+
+    public long getEqualities() {
+        return equalities;
+    }
+
+    public Map<String, Long> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return How long it took to process a single element (in nanoseconds)
+     */
+    public double getNanosPerElement() {
+        return elements == 0 ? 0d : (double) elapsedNanos / (double) elements;
+    }
+
+}
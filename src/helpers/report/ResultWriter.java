@@ -0,0 +1,35 @@
+
+package helpers.report;
+
+import java.io.IOException;
+
+/**
+ * Writes buffered {@link Result}s somewhere. Writers are only ever called by the {@link Reporter} when it's flushing, never while a test
+ * is measuring, so they are free to format and do I/O.
+ */
+public interface ResultWriter {
+
+    /**
+     * Writes a single result.
+     *
+     * @param result Which result to write
+     * @param runtime Information about the JVM that produced the result
+     * @throws IOException When writing fails
+     */
+    void write(Result result, RuntimeInfo runtime) throws IOException;
+
+    /**
+     * Called after each batch of results, writers should push everything they have buffered to the target.
+     *
+     * @throws IOException When writing fails
+     */
+    void flush() throws IOException;
+
+    /**
+     * Called once when no more results will come. Releases all resources held by the writer.
+     *
+     * @throws IOException When writing fails
+     */
+    void close() throws IOException;
+
+}
@@ -0,0 +1,110 @@
+
+package helpers.report;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Describes the JVM, GC and CPU the tests are running on, so that results from different machines and JVM versions can be told apart.
+ * Collected once per JVM, see {@link #get()}.
+ */
+public final class RuntimeInfo {
+
+    private static RuntimeInfo instance;
+
+    private final String javaVersion;
+    private final String vmName;
+    private final String vmVersion;
+    private final String garbageCollectors;
+    private final String jvmArguments;
+    private final String osArch;
+    private final String cpuModel;
+    private final int availableProcessors;
+    private final long maxHeapBytes;
+
+    private RuntimeInfo() {
+        javaVersion = System.getProperty("java.version");
+        vmName = System.getProperty("java.vm.name");
+        vmVersion = System.getProperty("java.vm.version");
+        osArch = System.getProperty("os.arch");
+        cpuModel = readCpuModel();
+        availableProcessors = Runtime.getRuntime().availableProcessors();
+        maxHeapBytes = Runtime.getRuntime().maxMemory();
+
+        StringBuilder gcNames = new StringBuilder();
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gcNames.length() > 0) {
+                gcNames.append('+');
+            }
+            gcNames.append(bean.getName());
+        }
+        garbageCollectors = gcNames.toString();
+        jvmArguments = String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments());
+    }
+
+    /**
+     * @return Information about the currently running JVM
+     */
+    public static synchronized RuntimeInfo get() {
+        if (instance == null) {
+            instance = new RuntimeInfo();
+        }
+        return instance;
+    }
+
+    private static String readCpuModel() {
+        // linux only, other systems are fine with the generic fallback
+        try (BufferedReader reader = new BufferedReader(new FileReader("/proc/cpuinfo"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("model name")) {
+                    return line.substring(line.indexOf(':') + 1).trim();
+                }
+            }
+        } catch (IOException ignored) {
+            // fall through
+        }
+        String identifier = System.getenv("PROCESSOR_IDENTIFIER");
+        return identifier == null ? "unknown" : identifier;
+    }
+
+    public String getJavaVersion() {
+        return javaVersion;
+    }
+
+    public String getVmName() {
+        return vmName;
+    }
+
+    public String getVmVersion() {
+        return vmVersion;
+    }
+
+    public String getGarbageCollectors() {
+        return garbageCollectors;
+    }
+
+    public String getJvmArguments() {
+        return jvmArguments;
+    }
+
+    public String getOsArch() {
+        return osArch;
+    }
+
+    public String getCpuModel() {
+        return cpuModel;
+    }
+
+    public int getAvailableProcessors() {
+        return availableProcessors;
+    }
+
+    public long getMaxHeapBytes() {
+        return maxHeapBytes;
+    }
+
+}
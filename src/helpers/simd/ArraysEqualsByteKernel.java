@@ -0,0 +1,31 @@
+
+package helpers.simd;
+
+import java.util.Arrays;
+
+/**
+ * Compares with {@link Arrays#equals(byte[], int, int, byte[], int, int)}, which the JIT replaces with a vectorized intrinsic. There is no
+ * such method for counting, so counting is the same as in {@link ScalarByteKernel}.
+ */
+public class ArraysEqualsByteKernel extends ScalarByteKernel {
+
+    @Override
+    public String getName() {
+        return "Arrays#equals()";
+    }
+
+    @Override
+    public boolean equals(byte[] a, int aFrom, byte[] b, int bFrom, int length) {
+        return Arrays.equals(a, aFrom, aFrom + length, b, bFrom, bFrom + length);
+    }
+
+    @Override
+    public int countEqual(byte[] a, byte[] b, int width) {
+        int equalTimes = 0;
+        for (int offset = 0; offset < a.length; offset += width) {
+            equalTimes += Arrays.equals(a, offset, offset + width, b, offset, offset + width) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+}
@@ -0,0 +1,31 @@
+
+package helpers.simd;
+
+import java.util.Arrays;
+
+/**
+ * Compares with {@link Arrays#mismatch(byte[], int, int, byte[], int, int)}, which is intrinsified just like {@link Arrays#equals}, but
+ * also finds where the ranges differ. Counting is the same as in {@link ScalarByteKernel}.
+ */
+public class ArraysMismatchByteKernel extends ScalarByteKernel {
+
+    @Override
+    public String getName() {
+        return "Arrays#mismatch()";
+    }
+
+    @Override
+    public boolean equals(byte[] a, int aFrom, byte[] b, int bFrom, int length) {
+        return Arrays.mismatch(a, aFrom, aFrom + length, b, bFrom, bFrom + length) < 0;
+    }
+
+    @Override
+    public int countEqual(byte[] a, byte[] b, int width) {
+        int equalTimes = 0;
+        for (int offset = 0; offset < a.length; offset += width) {
+            equalTimes += Arrays.mismatch(a, offset, offset + width, b, offset, offset + width) < 0 ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+}
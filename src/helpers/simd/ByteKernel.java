@@ -0,0 +1,47 @@
+
+package helpers.simd;
+
+/**
+ * Low-level operations on Latin-1 {@code byte[]} payloads, such as the slab of a {@link helpers.FixedWidthStringDataset}. Implementations
+ * differ only in how they loop, so that plain loops, the JDK's intrinsified {@link java.util.Arrays} methods and explicit SIMD code can be
+ * compared on the same data. See {@link ByteKernels} for all available kernels.
+ */
+public interface ByteKernel {
+
+    /**
+     * @return Human-readable name of this kernel, used when logging
+     */
+    String getName();
+
+    /**
+     * Counts characters in a zero-padded payload, i.e. all bytes that are not {@code 0}.
+     *
+     * @param bytes Where to count
+     * @param from First index to check (inclusive)
+     * @param to Last index to check (exclusive)
+     * @return How many non-zero bytes are there in the given range
+     */
+    int countNonZero(byte[] bytes, int from, int to);
+
+    /**
+     * @param a First array
+     * @param aFrom Where the compared range starts in the first array
+     * @param b Second array
+     * @param bFrom Where the compared range starts in the second array
+     * @param length How many bytes to compare
+     * @return Whether both ranges contain the same bytes
+     */
+    boolean equals(byte[] a, int aFrom, byte[] b, int bFrom, int length);
+
+    /**
+     * Compares two payloads slot by slot. Each kernel has its own loop here, so that the comparison of a slot is never a call shared with
+     * other kernels, and can be inlined into the loop.
+     *
+     * @param a First payload
+     * @param b Second payload, just as long as the first one
+     * @param width How many bytes each slot takes
+     * @return How many slots contain the same bytes in both payloads
+     */
+    int countEqual(byte[] a, byte[] b, int width);
+
+}
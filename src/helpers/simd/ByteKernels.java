@@ -0,0 +1,75 @@
+
+package helpers.simd;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registry of all {@link ByteKernel}s available in the running JVM, keyed by a short name.
+ * <p>
+ * The {@code vector} kernel uses the incubating Vector API, so it's only compiled with the {@code vector} Maven profile
+ * ({@code mvn -Pvector package}), and only works when the JVM is started with {@code --add-modules jdk.incubator.vector}. Otherwise it's
+ * simply left out, and {@link #best()} falls back to the scalar kernel.
+ */
+public final class ByteKernels {
+
+    /**
+     * Name of the Vector API kernel, loaded reflectively because it's not always compiled.
+     */
+    private static final String VECTOR_KERNEL_CLASS = "helpers.simd.VectorByteKernel";
+
+    private static final Map<String, ByteKernel> KERNELS;
+
+    static {
+        Map<String, ByteKernel> kernels = new LinkedHashMap<>();
+        kernels.put("scalar", new ScalarByteKernel());
+        kernels.put("arraysEquals", new ArraysEqualsByteKernel());
+        kernels.put("arraysMismatch", new ArraysMismatchByteKernel());
+        ByteKernel vector = loadVectorKernel();
+        if (vector != null) {
+            kernels.put("vector", vector);
+        }
+        KERNELS = Collections.unmodifiableMap(kernels);
+    }
+
+    private ByteKernels() {
+    }
+
+    /**
+     * @return All available kernels, in a fixed order
+     */
+    public static Map<String, ByteKernel> all() {
+        return KERNELS;
+    }
+
+    /**
+     * @param name Short name of the kernel, e.g. {@code scalar} or {@code vector}
+     * @return The kernel with the given name
+     * @throws IllegalArgumentException When there's no such kernel in the running JVM
+     */
+    public static ByteKernel get(String name) {
+        ByteKernel kernel = KERNELS.get(name);
+        if (kernel == null) {
+            throw new IllegalArgumentException("Kernel '" + name + "' not available, try one of " + KERNELS.keySet());
+        }
+        return kernel;
+    }
+
+    /**
+     * @return The Vector API kernel if available, otherwise the scalar one
+     */
+    public static ByteKernel best() {
+        return KERNELS.containsKey("vector") ? KERNELS.get("vector") : KERNELS.get("scalar");
+    }
+
+    private static ByteKernel loadVectorKernel() {
+        try {
+            return (ByteKernel) Class.forName(VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // not compiled, or the incubator module was not added
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+
+package helpers.simd;
+
+/**
+ * Plain byte-by-byte loops, and the fallback when the Vector API is not available. The JIT may still unroll or auto-vectorize these.
+ */
+public class ScalarByteKernel implements ByteKernel {
+
+    @Override
+    public String getName() {
+        return "Scalar loop";
+    }
+
+    @Override
+    public int countNonZero(byte[] bytes, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += bytes[i] != 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(byte[] a, int aFrom, byte[] b, int bFrom, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[aFrom + i] != b[bFrom + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int countEqual(byte[] a, byte[] b, int width) {
+        int equalTimes = 0;
+        for (int offset = 0; offset < a.length; offset += width) {
+            equalTimes += equals(a, offset, b, offset, width) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+}
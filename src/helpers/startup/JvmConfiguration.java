@@ -0,0 +1,63 @@
+
+package helpers.startup;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * JVM options that change how fast a JVM starts, compared by {@link StartupRunner}.
+ */
+public enum JvmConfiguration {
+
+    /**
+     * No extra options. The JDK's own class data sharing (CDS) archive is used for JDK classes.
+     */
+    DEFAULT("Default"),
+
+    /**
+     * An application class data sharing (AppCDS) archive with the test's own classes too, created by a training run of the same test
+     * (see {@link StartupRunner#createArchive(String, Path)}).
+     */
+    APP_CDS("AppCDS archive"),
+
+    /**
+     * Only the C1 compiler, which compiles faster but makes slower code.
+     */
+    C1_ONLY("C1 only"),
+
+    /**
+     * No class data sharing at all, every class is loaded and verified from its class file.
+     */
+    SHARE_OFF("CDS off");
+
+    private final String displayName;
+
+    JvmConfiguration(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return Human-readable name of this configuration, used when logging
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @param archive The AppCDS archive to use, only needed for {@link #APP_CDS}
+     * @return JVM options of this configuration
+     */
+    public List<String> getArguments(Path archive) {
+        switch (this) {
+            case APP_CDS:
+                return List.of("-XX:SharedArchiveFile=" + archive);
+            case C1_ONLY:
+                return List.of("-XX:TieredStopAtLevel=1");
+            case SHARE_OFF:
+                return List.of("-Xshare:off");
+            default:
+                return List.of();
+        }
+    }
+
+}
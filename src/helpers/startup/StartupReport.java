@@ -0,0 +1,112 @@
+
+package helpers.startup;
+
+import helpers.report.ResourceProbe;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The child JVM side of {@link StartupRunner}. Its {@link #main(String[])} starts a test's main class, and when the
+ * {@value #REPORT_PROPERTY} system property is {@code true}, the test's first measurement (see {@link ResourceProbe}) writes one line with
+ * startup metrics to the standard output, and exits the JVM, so a startup run only takes as long as the test needs to get to its first
+ * measurement. Otherwise the test just runs.
+ */
+public final class StartupReport {
+
+    /**
+     * System property that turns reporting on, set by {@link StartupRunner} for its child JVMs.
+     */
+    public static final String REPORT_PROPERTY = "startup.report";
+
+    /**
+     * The report line starts with this, followed by {@code name=value} pairs separated by spaces.
+     */
+    static final String PREFIX = "STARTUP REPORT";
+
+    static final String METRIC_UPTIME_MILLIS = "uptimeMillis";
+    static final String METRIC_CLASSES_LOADED = "classesLoaded";
+    static final String METRIC_COMPILATION_MILLIS = "compilationMillis";
+    static final String METRIC_COMPILATIONS = "compilations";
+
+    private static final boolean ENABLED = Boolean.getBoolean(REPORT_PROPERTY);
+
+    private StartupReport() {
+    }
+
+    /**
+     * Registers the report as the first measurement callback, and starts the test.
+     *
+     * @param args Fully qualified name of the test's main class, followed by the test's own arguments
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: StartupReport <main class> [arguments]");
+            return;
+        }
+        if (ENABLED) {
+            ResourceProbe.setFirstStartListener(StartupReport::report);
+        }
+        try {
+            Method main = Class.forName(args[0]).getMethod("main", String[].class);
+            main.invoke(null, (Object) Arrays.copyOfRange(args, 1, args.length));
+        } catch (InvocationTargetException e) {
+            System.err.println("Couldn't finish " + args[0] + " due to " + e.getCause());
+            System.exit(1);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("Couldn't start " + args[0] + " due to " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes the report line and exits.
+     */
+    private static void report() {
+        StringBuilder line = new StringBuilder(PREFIX);
+        for (Map.Entry<String, Long> metric : collect().entrySet()) {
+            line.append(' ').append(metric.getKey()).append('=').append(metric.getValue());
+        }
+        System.out.println(line);
+        System.out.flush();
+        // also makes -XX:ArchiveClassesAtExit dump the classes loaded so far
+        System.exit(0);
+    }
+
+    private static Map<String, Long> collect() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put(METRIC_UPTIME_MILLIS, ManagementFactory.getRuntimeMXBean().getUptime());
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        metrics.put(METRIC_CLASSES_LOADED, classLoading.getTotalLoadedClassCount());
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        if (compilation != null && compilation.isCompilationTimeMonitoringSupported()) {
+            metrics.put(METRIC_COMPILATION_MILLIS, compilation.getTotalCompilationTime());
+        }
+        long compilations = compileCount();
+        if (compilations >= 0) {
+            metrics.put(METRIC_COMPILATIONS, compilations);
+        }
+        return metrics;
+    }
+
+    /**
+     * {@link CompilationMXBean} only has the compilation time, the count comes from HotSpot's internal compilation bean. It's only
+     * accessible with {@code --add-exports java.management/sun.management=ALL-UNNAMED}, which {@link StartupRunner} adds.
+     */
+    private static long compileCount() {
+        try {
+            Object bean = Class.forName("sun.management.ManagementFactoryHelper").getMethod("getHotspotCompilationMBean").invoke(null);
+            Method count = Class.forName("sun.management.HotspotCompilationMBean").getMethod("getTotalCompileCount");
+            return ((Number) count.invoke(bean)).longValue();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+}
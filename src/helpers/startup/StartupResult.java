@@ -0,0 +1,60 @@
+
+package helpers.startup;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What one child JVM run of {@link StartupRunner} measured.
+ */
+public final class StartupResult {
+
+    private final long wallMillis;
+    private final Map<String, Long> metrics;
+
+    StartupResult(long wallMillis, Map<String, Long> metrics) {
+        this.wallMillis = wallMillis;
+        this.metrics = Collections.unmodifiableMap(new LinkedHashMap<>(metrics));
+    }
+
+    /**
+     * @return How long it took from launching the JVM to its first measurement, as seen by the launching JVM (in milliseconds)
+     */
+    public long getWallMillis() {
+        return wallMillis;
+    }
+
+    /**
+     * @return How long the child JVM was up at its first measurement, as seen by the child JVM (in milliseconds)
+     */
+    public long getUptimeMillis() {
+        return get(StartupReport.METRIC_UPTIME_MILLIS);
+    }
+
+    /**
+     * @return How many classes the child JVM loaded until its first measurement
+     */
+    public long getClassesLoaded() {
+        return get(StartupReport.METRIC_CLASSES_LOADED);
+    }
+
+    /**
+     * @return How long the JIT compilers worked until the first measurement (in milliseconds), or {@code -1} if unknown
+     */
+    public long getCompilationMillis() {
+        return get(StartupReport.METRIC_COMPILATION_MILLIS);
+    }
+
+    /**
+     * @return How many methods the JIT compilers compiled until the first measurement, or {@code -1} if unknown
+     */
+    public long getCompilations() {
+        return get(StartupReport.METRIC_COMPILATIONS);
+    }
+
+    private long get(String metric) {
+        return metrics.getOrDefault(metric, -1L);
+    }
+
+}
@@ -0,0 +1,116 @@
+
+package helpers.startup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Launches a test's main class in a child JVM with the same class path, and measures how long it takes to get to its first measurement
+ * (see {@link StartupReport}). The child's own output is discarded.
+ */
+public final class StartupRunner {
+
+    private static final String JAVA = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+    private StartupRunner() {
+    }
+
+    /**
+     * Runs the given main class once, for an AppCDS training run that dumps all classes loaded until its first measurement. AppCDS only
+     * archives classes from jar files, so the class path can't have any directories (run from {@code target/benchmarks.jar}).
+     *
+     * @param mainClass Fully qualified name of the class with the {@code main} method
+     * @param archive Where to write the archive, it's used with {@link JvmConfiguration#APP_CDS}
+     * @throws IOException If the JVM couldn't be started, or didn't get to its first measurement
+     */
+    public static void createArchive(String mainClass, Path archive) throws IOException {
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (Files.isDirectory(Paths.get(entry))) {
+                throw new IOException("the class path has a directory (" + entry + "), but AppCDS needs jar files");
+            }
+        }
+        Files.deleteIfExists(archive);
+        launch(mainClass, List.of("-XX:ArchiveClassesAtExit=" + archive));
+        if (!Files.isRegularFile(archive)) {
+            throw new IOException("no archive was written to " + archive);
+        }
+    }
+
+    /**
+     * Runs the given main class once in a child JVM.
+     *
+     * @param mainClass Fully qualified name of the class with the {@code main} method
+     * @param configuration Which JVM options to use
+     * @param archive The AppCDS archive, only needed for {@link JvmConfiguration#APP_CDS}
+     * @return What was measured
+     * @throws IOException If the JVM couldn't be started, or didn't get to its first measurement
+     */
+    public static StartupResult run(String mainClass, JvmConfiguration configuration, Path archive) throws IOException {
+        return launch(mainClass, configuration.getArguments(archive));
+    }
+
+    private static StartupResult launch(String mainClass, List<String> jvmArguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(JAVA);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        // lets StartupReport count JIT compilations
+        command.add("--add-exports");
+        command.add("java.management/sun.management=ALL-UNNAMED");
+        command.add("-D" + StartupReport.REPORT_PROPERTY + "=true");
+        command.addAll(jvmArguments);
+        command.add(StartupReport.class.getName());
+        command.add(mainClass);
+
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        long launchNanos = System.nanoTime();
+        Process process = builder.start();
+        Map<String, Long> metrics = null;
+        long wallNanos = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (metrics == null && line.startsWith(StartupReport.PREFIX)) {
+                    wallNanos = System.nanoTime() - launchNanos;
+                    metrics = parse(line);
+                }
+            }
+        }
+        try {
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException(mainClass + " exited with " + exitCode);
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for " + mainClass, e);
+        }
+        if (metrics == null) {
+            throw new IOException(mainClass + " finished without measuring anything");
+        }
+        return new StartupResult(wallNanos / 1000000, metrics);
+    }
+
+    private static Map<String, Long> parse(String line) {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        for (String pair : line.substring(StartupReport.PREFIX.length()).trim().split(" ")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                metrics.put(pair.substring(0, separator), Long.parseLong(pair.substring(separator + 1)));
+            }
+        }
+        return metrics;
+    }
+
+}
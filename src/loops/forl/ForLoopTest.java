@@ -1,38 +1,171 @@
 
 package loops.forl;
 
+import helpers.CollectionKind;
+import helpers.CollectionLoops;
+import helpers.FlatStringDataset;
 import helpers.ListGenerator;
 import helpers.Log;
+import helpers.PollutedLoops;
+import helpers.ScalingSweep;
+import helpers.report.ResourceProbe;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.StreamSupport;
 
 /**
  * Simple looping test with <i>for</i> loops. Iterating through a {@link String} dataset, counting the number of characters for the whole
  * dataset in each looping test.
+ * <p>
+ * After that, the same dataset is put into every {@link CollectionKind}, and looped through with an index, an iterator, for-each,
+ * {@code forEach} with a consumer and a stream. These loops are shared by all collection kinds, so their profiles see several classes.
+ * The benchmark runs each collection and traversal in its own fork instead.
+ * <p>
+ * With {@code -Dloops.scaling=true}, the same loops also go through datasets from a thousand to a hundred million elements, see
+ * {@link ScalingSweep}.
  */
 public class ForLoopTest {
 
     public static void main(String[] args) {
         List<String> list = ListGenerator.createStrings();
+        FlatStringDataset flat = ListGenerator.createFlatStrings();
 
-        long startTime1 = System.nanoTime();
+        ResourceProbe probe1 = ResourceProbe.start();
         int count1 = loopWithI(list);
-        long elapsed1 = System.nanoTime() - startTime1;
+        long elapsed1 = probe1.stop();
 
-        long startTime2 = System.nanoTime();
+        ResourceProbe probe2 = ResourceProbe.start();
         int count2 = loopWithISize(list);
-        long elapsed2 = System.nanoTime() - startTime2;
+        long elapsed2 = probe2.stop();
 
-        long startTime3 = System.nanoTime();
+        ResourceProbe probe3 = ResourceProbe.start();
         int count3 = loopForEach(list);
-        long elapsed3 = System.nanoTime() - startTime3;
+        long elapsed3 = probe3.stop();
 
-        Log.logLoopStats("Loop with I, counting size", elapsed1, count1);
-        Log.logLoopStats("Loop with I, not counting size", elapsed2, count2);
-        Log.logLoopStats("For-each loop", elapsed3, count3);
+        ResourceProbe probe4 = ResourceProbe.start();
+        int count4 = loopFlatWithISize(flat);
+        long elapsed4 = probe4.stop();
+
+        ResourceProbe probe5 = ResourceProbe.start();
+        int count5 = loopFlatForEach(flat);
+        long elapsed5 = probe5.stop();
+
+        ResourceProbe probe6 = ResourceProbe.start();
+        int count6 = loopFlatSpliterator(flat);
+        long elapsed6 = probe6.stop();
+
+        Log.logLoopStats("Loop with I, counting size", elapsed1, count1, probe1.getMetrics());
+        Log.logLoopStats("Loop with I, not counting size", elapsed2, count2, probe2.getMetrics());
+        Log.logLoopStats("For-each loop", elapsed3, count3, probe3.getMetrics());
+        Log.logLoopStats("Flat dataset, loop with I, not counting size", elapsed4, count4, probe4.getMetrics());
+        Log.logLoopStats("Flat dataset, forEach with consumer", elapsed5, count5, probe5.getMetrics());
+        Log.logLoopStats("Flat dataset, spliterator stream", elapsed6, count6, probe6.getMetrics());
+        Log.flush();
+
+        Log.setSuite(ForLoopTest.class.getSimpleName() + "/collections");
+        for (CollectionKind kind : CollectionKind.values()) {
+            CollectionLoops.measure(createCollectionLoops(kind, ListGenerator.DEFAULT_LIST_SIZE));
+        }
+
+        if (ScalingSweep.isEnabled()) {
+            Log.setSuite(ForLoopTest.class.getSimpleName() + "/scaling");
+            ScalingSweep.measure(ForLoopTest::loopFlatWithISize, ForLoopTest::loopArrayWithI, ForLoopTest::loopWithISize);
+        }
+
+        if (PollutedLoops.isEnabled()) {
+            // pollution can't be undone, so it goes last
+            Log.setSuite(ForLoopTest.class.getSimpleName() + "/pollution");
+            PollutedLoops.measure(list, createListLoops());
+        }
+    }
+
+    /**
+     * @return All loops over a {@link List}, by name, in the order they are logged
+     */
+    static Map<String, ToIntFunction<List<String>>> createListLoops() {
+        Map<String, ToIntFunction<List<String>>> loops = new LinkedHashMap<>();
+        loops.put("Loop with I, counting size", ForLoopTest::loopWithI);
+        loops.put("Loop with I, not counting size", ForLoopTest::loopWithISize);
+        loops.put("For-each loop", ForLoopTest::loopForEach);
+        return loops;
     }
 
-    private static int loopWithI(List<String> list) {
+    /**
+     * Builds one kind of collection, and all loops over it: index-based, with an iterator, for-each, {@code forEach} with a consumer and
+     * a stream, where the collection supports them. The loops don't share code with {@link #createListLoops()}, so they can't pollute its
+     * profiles.
+     *
+     * @param kind Which collection to build
+     * @param items How many items to pass to the {@link ListGenerator} builder
+     * @return All loops over the collection, keyed by traversal ({@code indexed}, {@code iterator}, {@code forEach},
+     *         {@code forEachConsumer} and {@code stream}), in the order they are logged
+     */
+    static Map<String, CollectionLoops.Loop> createCollectionLoops(CollectionKind kind, int items) {
+        String name = kind.getDisplayName();
+        Map<String, CollectionLoops.Loop> loops = new LinkedHashMap<>();
+        kind.create(items, new CollectionKind.Visitor<Void>() {
+            @Override
+            public Void visitArray(String[] array) {
+                int size = array.length;
+                loops.put("indexed", new CollectionLoops.Loop(name + ", loop with I", () -> loopArrayWithI(array), size, false));
+                loops.put("forEach", new CollectionLoops.Loop(name + ", for-each loop", () -> loopArrayForEach(array), size, false));
+                loops.put("stream", new CollectionLoops.Loop(name + ", stream", () -> loopArrayStream(array), size, false));
+                return null;
+            }
+
+            @Override
+            public Void visitList(List<String> list) {
+                addListLoops(loops, name, list);
+                return null;
+            }
+
+            @Override
+            public Void visitCollection(Collection<String> collection) {
+                addCollectionLoops(loops, name, collection);
+                return null;
+            }
+
+            @Override
+            public Void visitEntries(Set<Map.Entry<Integer, String>> entries) {
+                int size = entries.size();
+                loops.put("iterator", new CollectionLoops.Loop(name + ", loop with iterator", () -> loopEntriesIterator(entries), size,
+                        false));
+                loops.put("forEach", new CollectionLoops.Loop(name + ", for-each loop", () -> loopEntriesForEach(entries), size, false));
+                loops.put("forEachConsumer", new CollectionLoops.Loop(name + ", forEach with consumer", () -> loopEntriesConsumer(entries),
+                        size, false));
+                loops.put("stream", new CollectionLoops.Loop(name + ", stream", () -> loopEntriesStream(entries), size, false));
+                return null;
+            }
+        });
+        return loops;
+    }
+
+    private static void addListLoops(Map<String, CollectionLoops.Loop> loops, String name, List<String> list) {
+        // without random access, every get walks the list
+        boolean quadratic = !(list instanceof RandomAccess);
+        loops.put("indexed", new CollectionLoops.Loop(name + ", loop with I", () -> loopCollectionWithI(list), list.size(), quadratic));
+        addCollectionLoops(loops, name, list);
+    }
+
+    private static void addCollectionLoops(Map<String, CollectionLoops.Loop> loops, String name, Collection<String> collection) {
+        int size = collection.size();
+        loops.put("iterator", new CollectionLoops.Loop(name + ", loop with iterator", () -> loopCollectionIterator(collection), size,
+                false));
+        loops.put("forEach", new CollectionLoops.Loop(name + ", for-each loop", () -> loopCollectionForEach(collection), size, false));
+        loops.put("forEachConsumer", new CollectionLoops.Loop(name + ", forEach with consumer", () -> loopCollectionConsumer(collection),
+                size, false));
+        loops.put("stream", new CollectionLoops.Loop(name + ", stream", () -> loopCollectionStream(collection), size, false));
+    }
+
+    static int loopWithI(List<String> list) {
         int charCount = 0;
         // noinspection ForLoopReplaceableByForEach
         for (int i = 0; i < list.size(); i++) {
@@ -41,7 +174,7 @@ public class ForLoopTest {
         return charCount;
     }
 
-    private static int loopWithISize(List<String> list) {
+    static int loopWithISize(List<String> list) {
         int charCount = 0;
         int listCount = list.size();
         // noinspection ForLoopReplaceableByForEach
@@ -51,7 +184,7 @@ public class ForLoopTest {
         return charCount;
     }
 
-    private static int loopForEach(List<String> list) {
+    static int loopForEach(List<String> list) {
         int charCount = 0;
         for (String s : list) {
             charCount += s.length();
@@ -59,4 +192,109 @@ public class ForLoopTest {
         return charCount;
     }
 
+    static int loopArrayWithI(String[] array) {
+        int charCount = 0;
+        int length = array.length;
+        // noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < length; i++) {
+            charCount += array[i].length();
+        }
+        return charCount;
+    }
+
+    static int loopArrayForEach(String[] array) {
+        int charCount = 0;
+        for (String s : array) {
+            charCount += s.length();
+        }
+        return charCount;
+    }
+
+    static int loopArrayStream(String[] array) {
+        return Arrays.stream(array).mapToInt(String::length).sum();
+    }
+
+    static int loopCollectionWithI(List<String> list) {
+        int charCount = 0;
+        int listCount = list.size();
+        // noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < listCount; i++) {
+            charCount += list.get(i).length();
+        }
+        return charCount;
+    }
+
+    static int loopCollectionIterator(Collection<String> collection) {
+        int charCount = 0;
+        // noinspection ForLoopReplaceableByForEach
+        for (Iterator<String> iterator = collection.iterator(); iterator.hasNext();) {
+            charCount += iterator.next().length();
+        }
+        return charCount;
+    }
+
+    static int loopCollectionForEach(Collection<String> collection) {
+        int charCount = 0;
+        for (String s : collection) {
+            charCount += s.length();
+        }
+        return charCount;
+    }
+
+    static int loopCollectionConsumer(Collection<String> collection) {
+        int[] charCount = new int[1];
+        collection.forEach(s -> charCount[0] += s.length());
+        return charCount[0];
+    }
+
+    static int loopCollectionStream(Collection<String> collection) {
+        return collection.stream().mapToInt(String::length).sum();
+    }
+
+    static int loopEntriesIterator(Set<Map.Entry<Integer, String>> entries) {
+        int charCount = 0;
+        // noinspection ForLoopReplaceableByForEach
+        for (Iterator<Map.Entry<Integer, String>> iterator = entries.iterator(); iterator.hasNext();) {
+            charCount += iterator.next().getValue().length();
+        }
+        return charCount;
+    }
+
+    static int loopEntriesForEach(Set<Map.Entry<Integer, String>> entries) {
+        int charCount = 0;
+        for (Map.Entry<Integer, String> entry : entries) {
+            charCount += entry.getValue().length();
+        }
+        return charCount;
+    }
+
+    static int loopEntriesConsumer(Set<Map.Entry<Integer, String>> entries) {
+        int[] charCount = new int[1];
+        entries.forEach(entry -> charCount[0] += entry.getValue().length());
+        return charCount[0];
+    }
+
+    static int loopEntriesStream(Set<Map.Entry<Integer, String>> entries) {
+        return entries.stream().mapToInt(entry -> entry.getValue().length()).sum();
+    }
+
+    static int loopFlatWithISize(FlatStringDataset dataset) {
+        int charCount = 0;
+        int size = dataset.size();
+        for (int i = 0; i < size; i++) {
+            charCount += dataset.length(i);
+        }
+        return charCount;
+    }
+
+    static int loopFlatForEach(FlatStringDataset dataset) {
+        int[] charCount = new int[1];
+        dataset.forEachLength(length -> charCount[0] += length);
+        return charCount[0];
+    }
+
+    static int loopFlatSpliterator(FlatStringDataset dataset) {
+        return StreamSupport.intStream(dataset.lengthSpliterator(), false).sum();
+    }
+
 }
@@ -0,0 +1,265 @@
+
+package loops.parallel;
+
+import helpers.ListGenerator;
+import helpers.Log;
+import helpers.report.ResourceProbe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel looping test. Iterating through a {@link String} dataset, counting the number of characters for the whole dataset in each
+ * looping test, but splitting the work across several threads: with a parallel stream, a {@link RecursiveTask}, manually partitioned ranges
+ * on an {@link ExecutorService}, and recursively split {@link Spliterator}s. Each parallel loop is compared with a sequential loop over the
+ * same list, for several thread counts and list sizes, to show where parallelism starts to pay off.
+ * <p>
+ * The split threshold of the fork-join variants can be changed with the {@code parallel.threshold} system property.
+ */
+public class ParallelLoopTest {
+
+    /**
+     * By default, fork-join tasks stop splitting when they have this many items or less.
+     */
+    static final int DEFAULT_SPLIT_THRESHOLD = 8192;
+
+    /**
+     * How many times each loop runs before it's measured, so that thread start-up and most of the JIT compilation are not measured.
+     */
+    private static final int WARM_UP_PASSES = 5;
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int threshold = Integer.getInteger("parallel.threshold", DEFAULT_SPLIT_THRESHOLD);
+        int[] listSizes = { ListGenerator.DEFAULT_LIST_SIZE / 100, ListGenerator.DEFAULT_LIST_SIZE / 10, ListGenerator.DEFAULT_LIST_SIZE };
+
+        for (int items : listSizes) {
+            List<String> list = ListGenerator.createStrings(items);
+            System.out.println("STARTING TEST WITH " + list.size() + " ITEMS\n");
+
+            // the baseline is used for all thread counts
+            for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+                loopSequential(list);
+            }
+            ResourceProbe probe = ResourceProbe.start();
+            int count = loopSequential(list);
+            long baseline = probe.stop();
+            Log.logLoopStats("Sequential loop", baseline, count, probe.getMetrics());
+
+            for (int threads : threadCounts()) {
+                workWith(list, threads, threshold, baseline);
+            }
+            Log.flush();
+            System.out.println();
+        }
+    }
+
+    /**
+     * Does all parallel loops with the given number of threads, and logs the message for each loop performed.
+     *
+     * @param list Which list to loop through
+     * @param threads How many threads to use
+     * @param threshold Split threshold for the fork-join variants
+     * @param baseline How long the sequential loop took (in nanoseconds)
+     */
+    private static void workWith(List<String> list, int threads, int threshold, long baseline)
+            throws InterruptedException, ExecutionException {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+                loopParallelStream(list, forkJoinPool);
+                loopForkJoin(list, forkJoinPool, threshold);
+                loopExecutor(list, executor, threads);
+                loopSpliterator(list, forkJoinPool, threshold);
+            }
+
+            ResourceProbe probe1 = ResourceProbe.startAllThreads();
+            int count1 = loopParallelStream(list, forkJoinPool);
+            long elapsed1 = probe1.stop();
+
+            ResourceProbe probe2 = ResourceProbe.startAllThreads();
+            int count2 = loopForkJoin(list, forkJoinPool, threshold);
+            long elapsed2 = probe2.stop();
+
+            ResourceProbe probe3 = ResourceProbe.startAllThreads();
+            int count3 = loopExecutor(list, executor, threads);
+            long elapsed3 = probe3.stop();
+
+            ResourceProbe probe4 = ResourceProbe.startAllThreads();
+            int count4 = loopSpliterator(list, forkJoinPool, threshold);
+            long elapsed4 = probe4.stop();
+
+            Log.logScalingStats("Parallel stream", threads, elapsed1, count1, baseline, probe1.getMetrics());
+            Log.logScalingStats("Recursive task", threads, elapsed2, count2, baseline, probe2.getMetrics());
+            Log.logScalingStats("Executor with partitioned ranges", threads, elapsed3, count3, baseline, probe3.getMetrics());
+            Log.logScalingStats("Split spliterator", threads, elapsed4, count4, baseline, probe4.getMetrics());
+        } finally {
+            forkJoinPool.shutdown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return 1, 2, 4... up to the number of available processors, which is always included
+     */
+    static List<Integer> threadCounts() {
+        return threadCounts(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param maxThreads The biggest thread count
+     * @return 1, 2, 4... up to the given thread count, which is always included
+     */
+    public static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(maxThreads);
+        return counts;
+    }
+
+    static int loopSequential(List<String> list) {
+        int charCount = 0;
+        int listCount = list.size();
+        // noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < listCount; i++) {
+            charCount += list.get(i).length();
+        }
+        return charCount;
+    }
+
+    static int loopParallelStream(List<String> list, ForkJoinPool pool) throws InterruptedException, ExecutionException {
+        // parallel streams run in the pool they are started from, so this is the way to control the number of threads
+        return pool.submit(() -> list.parallelStream().mapToInt(String::length).sum()).get();
+    }
+
+    static int loopForkJoin(List<String> list, ForkJoinPool pool, int threshold) {
+        return pool.invoke(new CharCountTask(list, 0, list.size(), threshold));
+    }
+
+    static int loopExecutor(List<String> list, ExecutorService executor, int partitions) throws InterruptedException, ExecutionException {
+        int listCount = list.size();
+        List<Future<Integer>> futures = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            int from = (int) ((long) listCount * p / partitions);
+            int to = (int) ((long) listCount * (p + 1) / partitions);
+            futures.add(executor.submit(new RangeCharCount(list, from, to)));
+        }
+
+        int charCount = 0;
+        for (Future<Integer> future : futures) {
+            charCount += future.get();
+        }
+        return charCount;
+    }
+
+    static int loopSpliterator(List<String> list, ForkJoinPool pool, int threshold) {
+        return pool.invoke(new SpliteratorCharCountTask(list.spliterator(), threshold));
+    }
+
+    /**
+     * Counts characters in a range of the list, splitting the range in half until it's no bigger than the threshold.
+     */
+    static class CharCountTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> list;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        CharCountTask(List<String> list, int from, int to, int threshold) {
+            this.list = list;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= threshold) {
+                int charCount = 0;
+                for (int i = from; i < to; i++) {
+                    charCount += list.get(i).length();
+                }
+                return charCount;
+            }
+
+            int middle = (from + to) >>> 1;
+            CharCountTask left = new CharCountTask(list, from, middle, threshold);
+            left.fork();
+            int right = new CharCountTask(list, middle, to, threshold).compute();
+            return left.join() + right;
+        }
+
+    }
+
+    /**
+     * Counts characters in the elements covered by a {@link Spliterator}, splitting it until it's no bigger than the threshold.
+     */
+    static class SpliteratorCharCountTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<String> spliterator;
+        private final int threshold;
+
+        SpliteratorCharCountTask(Spliterator<String> spliterator, int threshold) {
+            this.spliterator = spliterator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Integer compute() {
+            Spliterator<String> prefix;
+            if (spliterator.estimateSize() > threshold && (prefix = spliterator.trySplit()) != null) {
+                SpliteratorCharCountTask left = new SpliteratorCharCountTask(prefix, threshold);
+                left.fork();
+                int right = compute();
+                return left.join() + right;
+            }
+
+            int[] charCount = new int[1];
+            spliterator.forEachRemaining(s -> charCount[0] += s.length());
+            return charCount[0];
+        }
+
+    }
+
+    /**
+     * Counts characters in a fixed range of the list, used as one partition on an {@link ExecutorService}.
+     */
+    private static class RangeCharCount implements Callable<Integer> {
+
+        private final List<String> list;
+        private final int from;
+        private final int to;
+
+        RangeCharCount(List<String> list, int from, int to) {
+            this.list = list;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Integer call() {
+            int charCount = 0;
+            for (int i = from; i < to; i++) {
+                charCount += list.get(i).length();
+            }
+            return charCount;
+        }
+
+    }
+
+}
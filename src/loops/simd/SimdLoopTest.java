@@ -0,0 +1,133 @@
+
+package loops.simd;
+
+import helpers.FixedWidthStringDataset;
+import helpers.ListGenerator;
+import helpers.Log;
+import helpers.StringGenerator;
+import helpers.report.ResourceProbe;
+import helpers.simd.ByteKernel;
+import helpers.simd.ByteKernels;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * SIMD looping test. Counts characters of a {@link String} dataset and compares two such datasets, once through the {@link String}s
+ * themselves and once over {@link FixedWidthStringDataset}s with each available {@link ByteKernel}, for several string lengths. Shows
+ * when explicit SIMD code beats the JDK's own intrinsics.
+ * <p>
+ * Each loop is warmed up before it's measured, and each kernel compares the slots in its own loop (see
+ * {@link ByteKernel#countEqual(byte[], byte[], int)}), so no kernel pays for a call shared with the others. They still share the JVM
+ * though, the {@code SimdBenchmark} runs each kernel in its own fork.
+ * <p>
+ * The Vector API kernel is only there when compiled with {@code mvn -Pvector compile} and run with
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+public class SimdLoopTest {
+
+    private static final int[] STRING_LENGTHS = { 8, 20, 64, 256 };
+
+    /**
+     * Each dataset has about this many characters, no matter how long its strings are.
+     */
+    private static final int CHARACTERS_PER_DATASET = ListGenerator.DEFAULT_LIST_SIZE * 20;
+
+    /**
+     * How many times each loop is run before it's measured, so that it's measured compiled and not interpreted. The Vector API kernel
+     * needs this the most, it allocates a vector object for each operation until C2 compiles it.
+     */
+    private static final int WARM_UP_PASSES = 5;
+
+    public static void main(String[] args) {
+        System.out.println("KERNELS: " + ByteKernels.all().keySet() + "\n");
+        for (int length : STRING_LENGTHS) {
+            long testTimeStart = System.currentTimeMillis();
+            System.out.println("STARTING TEST WITH " + length + " CHARACTERS PER STRING\n");
+            Log.setSuite(SimdLoopTest.class.getSimpleName() + "/" + length);
+            workWith(length, CHARACTERS_PER_DATASET / length);
+            Log.flush();
+            System.out.println("\nTEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+        }
+    }
+
+    /**
+     * Does the counting and comparison tests, and logs the message for each test performed.
+     *
+     * @param length How many characters each string has
+     * @param items How many strings each dataset has
+     */
+    private static void workWith(int length, int items) {
+        List<String> list1 = createStrings(items, length);
+        List<String> list2 = new ArrayList<>(items);
+        for (String s : list1) {
+            // copies, so that String#equals() can't take the identity shortcut
+            list2.add(new String(s.toCharArray()));
+        }
+        // shuffle only one part (30%) of the second one to make it harder to equal 100%
+        Collections.shuffle(list2.subList(0, (int) Math.floor(0.3f * list2.size())));
+        FixedWidthStringDataset flat1 = FixedWidthStringDataset.of(list1, length);
+        FixedWidthStringDataset flat2 = FixedWidthStringDataset.of(list2, length);
+
+        for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+            countLengths(list1);
+        }
+        ResourceProbe probe = ResourceProbe.start();
+        int count = countLengths(list1);
+        long elapsed = probe.stop();
+        Log.logLoopStats("String#length() sum", elapsed, count, probe.getMetrics());
+        for (ByteKernel kernel : ByteKernels.all().values()) {
+            for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+                flat1.countCharacters(kernel);
+            }
+            ResourceProbe kernelProbe = ResourceProbe.start();
+            int kernelCount = flat1.countCharacters(kernel);
+            long kernelElapsed = kernelProbe.stop();
+            Log.logLoopStats(kernel.getName() + " non-zero count", kernelElapsed, kernelCount, kernelProbe.getMetrics());
+        }
+
+        for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+            compareStrings(list1, list2);
+        }
+        probe = ResourceProbe.start();
+        int equalities = compareStrings(list1, list2);
+        elapsed = probe.stop();
+        Log.logComparisonStats("String#equals()", elapsed, equalities, items, probe.getMetrics());
+        for (ByteKernel kernel : ByteKernels.all().values()) {
+            for (int pass = 0; pass < WARM_UP_PASSES; pass++) {
+                flat1.countEqual(flat2, kernel);
+            }
+            ResourceProbe kernelProbe = ResourceProbe.start();
+            int kernelEqualities = flat1.countEqual(flat2, kernel);
+            long kernelElapsed = kernelProbe.stop();
+            Log.logComparisonStats(kernel.getName() + " slot compare", kernelElapsed, kernelEqualities, items, kernelProbe.getMetrics());
+        }
+    }
+
+    static List<String> createStrings(int items, int length) {
+        return new ArrayList<>(Arrays.asList(StringGenerator.createBulk(items, length, new SplittableRandom())));
+    }
+
+    static int countLengths(List<String> list) {
+        int charCount = 0;
+        int listCount = list.size();
+        // noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < listCount; i++) {
+            charCount += list.get(i).length();
+        }
+        return charCount;
+    }
+
+    static int compareStrings(List<String> listA, List<String> listB) {
+        int equalTimes = 0;
+        int listSize = listA.size();
+        for (int i = 0; i < listSize; i++) {
+            equalTimes += listA.get(i).equals(listB.get(i)) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+}
@@ -1,45 +1,156 @@
 
 package loops.whilel;
 
+import helpers.CollectionKind;
+import helpers.CollectionLoops;
+import helpers.FlatStringDataset;
 import helpers.ListGenerator;
 import helpers.Log;
+import helpers.PollutedLoops;
+import helpers.ScalingSweep;
+import helpers.report.ResourceProbe;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.ToIntFunction;
 
 /**
  * Simple looping test with <i>while</i> loops. Iterating through a {@link String} dataset, counting the number of characters for the whole
  * dataset in each looping test.
+ * <p>
+ * After that, the same dataset is put into every {@link CollectionKind}, and looped through with an index and with an iterator,
+ * where the collection supports them.
+ * <p>
+ * With {@code -Dloops.scaling=true}, the same loops also go through datasets from a thousand to a hundred million elements, see
+ * {@link ScalingSweep}.
  */
 public class WhileLoopTest {
 
     public static void main(String[] args) {
         List<String> list = ListGenerator.createStrings();
+        FlatStringDataset flat = ListGenerator.createFlatStrings();
 
-        long startTime1 = System.nanoTime();
+        ResourceProbe probe1 = ResourceProbe.start();
         int count1 = loopWithI(list);
-        long elapsed1 = System.nanoTime() - startTime1;
+        long elapsed1 = probe1.stop();
 
-        long startTime2 = System.nanoTime();
+        ResourceProbe probe2 = ResourceProbe.start();
         int count2 = loopWithISize(list);
-        long elapsed2 = System.nanoTime() - startTime2;
+        long elapsed2 = probe2.stop();
 
-        long startTime3 = System.nanoTime();
+        ResourceProbe probe3 = ResourceProbe.start();
         int count3 = loopWithIterator(list);
-        long elapsed3 = System.nanoTime() - startTime3;
+        long elapsed3 = probe3.stop();
 
-        long startTime4 = System.nanoTime();
+        ResourceProbe probe4 = ResourceProbe.start();
         int count4 = loopWithListIterator(list);
-        long elapsed4 = System.nanoTime() - startTime4;
+        long elapsed4 = probe4.stop();
 
-        Log.logLoopStats("Loop with I, counting size", elapsed1, count1);
-        Log.logLoopStats("Loop with I, not counting size", elapsed2, count2);
-        Log.logLoopStats("Loop with iterator", elapsed3, count3);
-        Log.logLoopStats("Loop with list iterator", elapsed4, count4);
+        ResourceProbe probe5 = ResourceProbe.start();
+        int count5 = loopFlatWithISize(flat);
+        long elapsed5 = probe5.stop();
+
+        ResourceProbe probe6 = ResourceProbe.start();
+        int count6 = loopFlatWithIterator(flat);
+        long elapsed6 = probe6.stop();
+
+        Log.logLoopStats("Loop with I, counting size", elapsed1, count1, probe1.getMetrics());
+        Log.logLoopStats("Loop with I, not counting size", elapsed2, count2, probe2.getMetrics());
+        Log.logLoopStats("Loop with iterator", elapsed3, count3, probe3.getMetrics());
+        Log.logLoopStats("Loop with list iterator", elapsed4, count4, probe4.getMetrics());
+        Log.logLoopStats("Flat dataset, loop with I, not counting size", elapsed5, count5, probe5.getMetrics());
+        Log.logLoopStats("Flat dataset, loop with primitive iterator", elapsed6, count6, probe6.getMetrics());
+        Log.flush();
+
+        Log.setSuite(WhileLoopTest.class.getSimpleName() + "/collections");
+        for (CollectionKind kind : CollectionKind.values()) {
+            CollectionLoops.measure(createCollectionLoops(kind, ListGenerator.DEFAULT_LIST_SIZE));
+        }
+
+        if (ScalingSweep.isEnabled()) {
+            Log.setSuite(WhileLoopTest.class.getSimpleName() + "/scaling");
+            ScalingSweep.measure(WhileLoopTest::loopFlatWithISize, WhileLoopTest::loopArrayWithI, WhileLoopTest::loopWithISize);
+        }
+
+        if (PollutedLoops.isEnabled()) {
+            // pollution can't be undone, so it goes last
+            Log.setSuite(WhileLoopTest.class.getSimpleName() + "/pollution");
+            PollutedLoops.measure(list, createListLoops());
+        }
+    }
+
+    /**
+     * @return All loops over a {@link List}, by name, in the order they are logged
+     */
+    static Map<String, ToIntFunction<List<String>>> createListLoops() {
+        Map<String, ToIntFunction<List<String>>> loops = new LinkedHashMap<>();
+        loops.put("Loop with I, counting size", WhileLoopTest::loopWithI);
+        loops.put("Loop with I, not counting size", WhileLoopTest::loopWithISize);
+        loops.put("Loop with iterator", WhileLoopTest::loopWithIterator);
+        loops.put("Loop with list iterator", WhileLoopTest::loopWithListIterator);
+        return loops;
+    }
+
+    /**
+     * Builds one kind of collection, and the <i>while</i> loops over it: index-based and with an iterator, where the collection supports
+     * them. The loops don't share code with {@link #createListLoops()}, so they can't pollute its profiles.
+     *
+     * @param kind Which collection to build
+     * @param items How many items to pass to the {@link ListGenerator} builder
+     * @return All loops over the collection, keyed by traversal ({@code indexed} and {@code iterator}), in the order they are logged
+     */
+    static Map<String, CollectionLoops.Loop> createCollectionLoops(CollectionKind kind, int items) {
+        String name = kind.getDisplayName();
+        Map<String, CollectionLoops.Loop> loops = new LinkedHashMap<>();
+        kind.create(items, new CollectionKind.Visitor<Void>() {
+            @Override
+            public Void visitArray(String[] array) {
+                loops.put("indexed", new CollectionLoops.Loop(name + ", loop with I", () -> loopArrayWithI(array), array.length, false));
+                return null;
+            }
+
+            @Override
+            public Void visitList(List<String> list) {
+                addListLoops(loops, name, list);
+                return null;
+            }
+
+            @Override
+            public Void visitCollection(Collection<String> collection) {
+                addIteratorLoop(loops, name, collection);
+                return null;
+            }
+
+            @Override
+            public Void visitEntries(Set<Map.Entry<Integer, String>> entries) {
+                loops.put("iterator", new CollectionLoops.Loop(name + ", loop with iterator", () -> loopEntriesIterator(entries),
+                        entries.size(), false));
+                return null;
+            }
+        });
+        return loops;
+    }
+
+    private static void addListLoops(Map<String, CollectionLoops.Loop> loops, String name, List<String> list) {
+        // without random access, every get walks the list
+        boolean quadratic = !(list instanceof RandomAccess);
+        loops.put("indexed", new CollectionLoops.Loop(name + ", loop with I", () -> loopCollectionWithI(list), list.size(), quadratic));
+        addIteratorLoop(loops, name, list);
+    }
+
+    private static void addIteratorLoop(Map<String, CollectionLoops.Loop> loops, String name, Collection<String> collection) {
+        loops.put("iterator", new CollectionLoops.Loop(name + ", loop with iterator", () -> loopCollectionIterator(collection),
+                collection.size(), false));
     }
 
-    private static int loopWithI(List<String> list) {
+    static int loopWithI(List<String> list) {
         int i = 0;
         int charCount = 0;
         while (i < list.size()) {
@@ -49,7 +160,7 @@ public class WhileLoopTest {
         return charCount;
     }
 
-    private static int loopWithISize(List<String> list) {
+    static int loopWithISize(List<String> list) {
         int i = 0;
         int charCount = 0;
         int size = list.size();
@@ -60,7 +171,7 @@ public class WhileLoopTest {
         return charCount;
     }
 
-    private static int loopWithIterator(List<String> list) {
+    static int loopWithIterator(List<String> list) {
         Iterator<String> iterator = list.iterator();
         int charCount = 0;
         while (iterator.hasNext()) {
@@ -69,7 +180,7 @@ public class WhileLoopTest {
         return charCount;
     }
 
-    private static int loopWithListIterator(List<String> list) {
+    static int loopWithListIterator(List<String> list) {
         ListIterator<String> listIterator = list.listIterator();
         int charCount = 0;
         while (listIterator.hasNext()) {
@@ -78,4 +189,64 @@ public class WhileLoopTest {
         return charCount;
     }
 
+    static int loopArrayWithI(String[] array) {
+        int i = 0;
+        int charCount = 0;
+        int length = array.length;
+        while (i < length) {
+            charCount += array[i].length();
+            i++;
+        }
+        return charCount;
+    }
+
+    static int loopCollectionWithI(List<String> list) {
+        int i = 0;
+        int charCount = 0;
+        int size = list.size();
+        while (i < size) {
+            charCount += list.get(i).length();
+            i++;
+        }
+        return charCount;
+    }
+
+    static int loopCollectionIterator(Collection<String> collection) {
+        Iterator<String> iterator = collection.iterator();
+        int charCount = 0;
+        while (iterator.hasNext()) {
+            charCount += iterator.next().length();
+        }
+        return charCount;
+    }
+
+    static int loopEntriesIterator(Set<Map.Entry<Integer, String>> entries) {
+        Iterator<Map.Entry<Integer, String>> iterator = entries.iterator();
+        int charCount = 0;
+        while (iterator.hasNext()) {
+            charCount += iterator.next().getValue().length();
+        }
+        return charCount;
+    }
+
+    static int loopFlatWithISize(FlatStringDataset dataset) {
+        int i = 0;
+        int charCount = 0;
+        int size = dataset.size();
+        while (i < size) {
+            charCount += dataset.length(i);
+            i++;
+        }
+        return charCount;
+    }
+
+    static int loopFlatWithIterator(FlatStringDataset dataset) {
+        PrimitiveIterator.OfInt iterator = dataset.lengthIterator();
+        int charCount = 0;
+        while (iterator.hasNext()) {
+            charCount += iterator.nextInt();
+        }
+        return charCount;
+    }
+
 }
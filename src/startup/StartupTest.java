@@ -0,0 +1,118 @@
+
+package startup;
+
+import comparison.ClassComparisonTest;
+import comparison.InheritanceObjectsComparisonTest;
+
+import helpers.startup.JvmConfiguration;
+import helpers.startup.StartupResult;
+import helpers.startup.StartupRunner;
+
+import loops.forl.ForLoopTest;
+import loops.whilel.WhileLoopTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A startup test. Each test class is launched in a new JVM with each {@link JvmConfiguration}, and the time until its first measurement,
+ * the number of loaded classes and the JIT compilations until then are written, each as the median of several runs. The AppCDS archive is
+ * created by a training run of the same test class first, which only works from {@code target/benchmarks.jar}.
+ * <p>
+ * Test classes can be given as arguments (fully qualified names), and only tests that measure with
+ * {@link helpers.report.ResourceProbe} can be used. The number of runs can be changed with the {@code startup.runs} system property.
+ */
+public class StartupTest {
+
+    private static final List<String> DEFAULT_TESTS = List.of(ForLoopTest.class.getName(), WhileLoopTest.class.getName(),
+            ClassComparisonTest.class.getName(), InheritanceObjectsComparisonTest.class.getName());
+
+    public static void main(String[] args) {
+        List<String> tests = args.length == 0 ? DEFAULT_TESTS : Arrays.asList(args);
+        int runs = Integer.getInteger("startup.runs", 3);
+        Path archiveDirectory;
+        try {
+            archiveDirectory = Files.createTempDirectory("startup-archives");
+        } catch (IOException e) {
+            System.err.println("Couldn't create the archive directory due to " + e.getMessage());
+            return;
+        }
+        try {
+            for (String test : tests) {
+                long testTimeStart = System.currentTimeMillis();
+                System.out.println("STARTING TEST WITH " + test + "\n");
+                workWith(test, runs, archiveDirectory.resolve(test + ".jsa"));
+                System.out.println("\nTEST FINISHED IN " + (System.currentTimeMillis() - testTimeStart) + "ms\n");
+            }
+        } finally {
+            deleteArchives(archiveDirectory);
+        }
+    }
+
+    /**
+     * Launches the given test with all configurations, and logs the median run of each.
+     *
+     * @param test Fully qualified name of the test class
+     * @param runs How many times to launch each configuration
+     * @param archive Where to keep the test's AppCDS archive
+     */
+    private static void workWith(String test, int runs, Path archive) {
+        boolean archived;
+        try {
+            StartupRunner.createArchive(test, archive);
+            archived = true;
+        } catch (IOException e) {
+            System.err.println("Couldn't create the AppCDS archive due to " + e.getMessage());
+            archived = false;
+        }
+
+        long defaultMillis = 0;
+        for (JvmConfiguration configuration : JvmConfiguration.values()) {
+            if (configuration == JvmConfiguration.APP_CDS && !archived) {
+                continue;
+            }
+            try {
+                List<StartupResult> results = new ArrayList<>(runs);
+                for (int run = 0; run < runs; run++) {
+                    results.add(StartupRunner.run(test, configuration, archive));
+                }
+                results.sort(Comparator.comparingLong(StartupResult::getWallMillis));
+                StartupResult median = results.get(results.size() / 2);
+                if (configuration == JvmConfiguration.DEFAULT) {
+                    defaultMillis = median.getWallMillis();
+                }
+                write(configuration, median, defaultMillis);
+            } catch (IOException e) {
+                System.err.println("Couldn't launch " + test + " with " + configuration.getDisplayName() + " due to " + e.getMessage());
+            }
+        }
+    }
+
+    private static void write(JvmConfiguration configuration, StartupResult result, long defaultMillis) {
+        String compilations = result.getCompilations() < 0 ? "unknown JIT compilations"
+                : String.format("%,d JIT compilations", result.getCompilations());
+        String ratio = defaultMillis > 0 && configuration != JvmConfiguration.DEFAULT
+                ? String.format(" (%.2fx the default)", (double) result.getWallMillis() / defaultMillis) : "";
+        System.out.println(String.format("%s: first measurement after %d ms%s, %d ms JVM uptime, %,d classes loaded, %s in %d ms.",
+                configuration.getDisplayName(), result.getWallMillis(), ratio, result.getUptimeMillis(), result.getClassesLoaded(),
+                compilations, result.getCompilationMillis()));
+    }
+
+    private static void deleteArchives(Path archiveDirectory) {
+        try (Stream<Path> archives = Files.list(archiveDirectory)) {
+            for (Path archive : (Iterable<Path>) archives::iterator) {
+                Files.deleteIfExists(archive);
+            }
+            Files.deleteIfExists(archiveDirectory);
+        } catch (IOException e) {
+            System.err.println("Couldn't delete " + archiveDirectory + " due to " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+
+package helpers.simd;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Explicit SIMD loops with the incubating Vector API. Each range is processed with the widest vectors the CPU supports first, then with
+ * 64-bit ones, and the last few bytes one by one, so that short payloads (like the 20-character {@link String}s the tests use) still get
+ * some vectorized work instead of falling straight through to the scalar tail.
+ * <p>
+ * Needs {@code --add-modules jdk.incubator.vector} both when compiling and when running, see {@link ByteKernels}.
+ */
+public class VectorByteKernel implements ByteKernel {
+
+    // species must be constants, otherwise the JIT can't turn vector operations into SIMD instructions
+    private static final VectorSpecies<Byte> WIDE = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> NARROW = ByteVector.SPECIES_64;
+
+    @Override
+    public String getName() {
+        return "Vector API (" + WIDE.vectorBitSize() + " bits)";
+    }
+
+    @Override
+    public int countNonZero(byte[] bytes, int from, int to) {
+        int count = 0;
+        int i = from;
+        for (; i + WIDE.length() <= to; i += WIDE.length()) {
+            count += ByteVector.fromArray(WIDE, bytes, i).compare(VectorOperators.NE, (byte) 0).trueCount();
+        }
+        for (; i + NARROW.length() <= to; i += NARROW.length()) {
+            count += ByteVector.fromArray(NARROW, bytes, i).compare(VectorOperators.NE, (byte) 0).trueCount();
+        }
+        for (; i < to; i++) {
+            count += bytes[i] != 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(byte[] a, int aFrom, byte[] b, int bFrom, int length) {
+        int i = 0;
+        for (; i + WIDE.length() <= length; i += WIDE.length()) {
+            if (ByteVector.fromArray(WIDE, a, aFrom + i).compare(VectorOperators.NE, ByteVector.fromArray(WIDE, b, bFrom + i)).anyTrue()) {
+                return false;
+            }
+        }
+        for (; i + NARROW.length() <= length; i += NARROW.length()) {
+            if (ByteVector.fromArray(NARROW, a, aFrom + i).compare(VectorOperators.NE, ByteVector.fromArray(NARROW, b, bFrom + i))
+                    .anyTrue()) {
+                return false;
+            }
+        }
+        for (; i < length; i++) {
+            if (a[aFrom + i] != b[bFrom + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int countEqual(byte[] a, byte[] b, int width) {
+        int equalTimes = 0;
+        for (int offset = 0; offset < a.length; offset += width) {
+            equalTimes += equals(a, offset, b, offset, width) ? 1 : 0;
+        }
+        return equalTimes;
+    }
+
+}